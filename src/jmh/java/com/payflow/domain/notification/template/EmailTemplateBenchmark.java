@@ -0,0 +1,67 @@
+package com.payflow.domain.notification.template;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 리마인더 이메일 렌더링 처리량 (renders/sec)
+ *
+ * ./gradlew jmh
+ *
+ * - stringFormat: 기존 방식 (매번 String.format으로 포맷 문자열 파싱)
+ * - compiledTemplate: 미리 컴파일한 템플릿 (캐시 미스, 금액이 매번 다름)
+ * - cachedRender: 같은 입력 재사용 (캐시 히트)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmailTemplateBenchmark {
+
+    private String formatSource;
+    private EmailTemplateRenderer renderer;
+    private int amount;
+
+    @Setup
+    public void setUp() throws IOException {
+        // 기존 createPaymentReminderHtml과 같은 String.format 원본
+        formatSource = new ClassPathResource("templates/email/payment-reminder.html")
+                .getContentAsString(StandardCharsets.UTF_8)
+                .replace("%", "%%")
+                .replace("{{subscriptionName}}", "%s")
+                .replace("{{dueDate}}", "%s")
+                .replace("{{daysAhead}}", "%d")
+                .replace("{{amount}}", "%,d");
+        renderer = new EmailTemplateRenderer(10_000);
+    }
+
+    @Benchmark
+    public String stringFormat() {
+        return String.format(formatSource, "Netflix", "2025-03-15", 3, 17000 + (amount++ & 1023));
+    }
+
+    @Benchmark
+    public String compiledTemplate() {
+        return renderer.renderPaymentReminder("Netflix", "2025-03-15", 3, 17000 + (amount++ & 0xFFFFF));
+    }
+
+    @Benchmark
+    public String cachedRender() {
+        return renderer.renderPaymentReminder("Netflix", "2025-03-15", 3, 17000);
+    }
+}
@@ -0,0 +1,121 @@
+package com.payflow.domain.payment.service;
+
+import com.payflow.domain.subscription.entity.Subscription;
+import com.payflow.domain.subscription.entity.Subscription.CycleType;
+import com.payflow.domain.subscription.repository.SubscriptionRepository;
+import com.payflow.payflow.PayflowApplication;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 결제 주기 대량 생성 처리량 (rows/sec, createPaymentCyclesForSubscriptions)
+ *
+ * ./gradlew jmh -Pjmh.includes=PaymentCycleBulkInsertBenchmark
+ * application.properties의 MySQL(spring.datasource.*)에 실제로 INSERT → 벤치마크 전용 userId 데이터만 만들고 지움
+ *
+ * - batchSize=1: JDBC 배치 없이 1행씩 INSERT (기존 방식과 같은 왕복 수)
+ * - batchSize=100: hibernate.jdbc.batch_size + rewriteBatchedStatements 멀티 row INSERT
+ * 결과의 rows 보조 카운터가 초당 저장한 결제 주기 수 (커밋 후 월별 집계 갱신 시간 포함)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PaymentCycleBulkInsertBenchmark {
+
+    private static final long BENCHMARK_USER_ID = 900_000_001L;
+    private static final int SUBSCRIPTIONS = 200;
+    private static final int MONTHS_AHEAD = 12;
+
+    @Param({"1", "100"})
+    public int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private PaymentCycleService paymentCycleService;
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    private List<Long> subscriptionIds;
+
+    @Setup(Level.Trial)
+    public void startContext() {
+        context = new SpringApplicationBuilder(PayflowApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(Map.of("spring.jpa.properties.hibernate.jdbc.batch_size", Integer.toString(batchSize)))
+                .run();
+        paymentCycleService = context.getBean(PaymentCycleService.class);
+        jdbcTemplate = context.getBean(NamedParameterJdbcTemplate.class);
+
+        List<Subscription> subscriptions = new ArrayList<>(SUBSCRIPTIONS);
+        for (int i = 0; i < SUBSCRIPTIONS; i++) {
+            subscriptions.add(Subscription.builder()
+                    .userId(BENCHMARK_USER_ID)
+                    .subscriptionsName("bench-" + i)
+                    .amount(10_000 + i)
+                    .cycleType(CycleType.MONTHLY)
+                    .billingDay(1 + i % 28)
+                    .build());
+        }
+        subscriptionIds = context.getBean(SubscriptionRepository.class).saveAll(subscriptions).stream()
+                .map(Subscription::getSubscriptionId)
+                .toList();
+    }
+
+    /**
+     * 매 호출 전 결제 주기 삭제 (PENDING 중복 확인에 걸리지 않도록, 측정 시간에서 제외)
+     */
+    @Setup(Level.Invocation)
+    public void deleteCycles() {
+        jdbcTemplate.update("DELETE FROM payment_cycles WHERE subscription_id IN (:ids)", Map.of("ids", subscriptionIds));
+    }
+
+    @TearDown(Level.Trial)
+    public void cleanUp() {
+        deleteCycles();
+        jdbcTemplate.update("DELETE FROM subscriptions WHERE user_id = :userId", Map.of("userId", BENCHMARK_USER_ID));
+        jdbcTemplate.update("DELETE FROM monthly_spending_rollup WHERE user_id = :userId", Map.of("userId", BENCHMARK_USER_ID));
+        context.close();
+    }
+
+    @Benchmark
+    public int createCycles(Rows rows) {
+        int created = paymentCycleService.createPaymentCyclesForSubscriptions(subscriptionIds, MONTHS_AHEAD);
+        rows.rows += created;
+        return created;
+    }
+
+    /**
+     * 저장된 결제 주기 수 (초당 값으로 출력)
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Rows {
+        public long rows;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            rows = 0;
+        }
+    }
+}
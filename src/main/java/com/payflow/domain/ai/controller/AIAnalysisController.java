@@ -6,9 +6,15 @@ import com.payflow.domain.ai.service.AIInsightService;
 import com.payflow.domain.ai.service.AIReportService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @RestController
@@ -17,41 +23,96 @@ import org.springframework.web.bind.annotation.*;
 @CrossOrigin(origins = "http://localhost:5173", allowCredentials = "true")
 public class AIAnalysisController {
 
+    /**
+     * 스트리밍 응답 타임아웃 = Gemini 전체 타임아웃 + 구독 조회/저장 여유
+     */
+    private static final long STREAM_MARGIN_MS = 5000;
+
     private final AIInsightService aiInsightService;
     private final AIReportService aiReportService;
 
+    @Value("${gemini.client.total-timeout-ms:25000}")
+    private long geminiTotalTimeoutMs;
+
     /**
      * AI 인사이트 조회
+     * CompletableFuture 반환 → 요청 스레드는 바로 반환되고, 응답은 Gemini 응답 후 비동기로 전송
      */
     @GetMapping("/insights")
-    public ResponseEntity<AIInsightResponse> getInsights(
+    public CompletableFuture<ResponseEntity<AIInsightResponse>> getInsights(
             @AuthenticationPrincipal Long userId) {
         
         log.info("AI 인사이트 요청: userId={}", userId);
-        return aiInsightService.getLatestInsight(userId)
-            .map(ResponseEntity::ok)
-            .orElseGet(() -> ResponseEntity.ok(aiInsightService.refreshInsight(userId)));
+        return aiInsightService.getInsightAsync(userId)
+            .thenApply(ResponseEntity::ok);
+    }
+
+    /**
+     * AI 인사이트 재생성 (Server-Sent Events 스트리밍)
+     * GET /api/ai/insights/stream
+     *
+     * event: chunk  → Gemini가 생성 중인 부분 텍스트 (도착하는 대로 전달)
+     * event: result → 파싱/저장이 끝난 AIInsightResponse (캐시 적중/로컬 분석이면 이것만 전송)
+     * event: error  → 분석 실패 메시지
+     * 클라이언트가 먼저 끊어도 분석은 끝까지 진행해서 저장 (다음 /insights 조회에 사용)
+     */
+    @GetMapping(value = "/insights/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamInsights(@AuthenticationPrincipal Long userId) {
+        log.info("AI 인사이트 스트리밍 요청: userId={}", userId);
+
+        // Gemini 스트림은 gemini.client.total-timeout-ms에서 끊기므로 연결도 그만큼만 유지
+        // 시간이 지나면 error 이벤트 후 종료 (분석은 끝나는 대로 저장)
+        SseEmitter emitter = new SseEmitter(geminiTotalTimeoutMs + STREAM_MARGIN_MS);
+        emitter.onTimeout(() -> {
+            log.warn("AI 인사이트 스트리밍 시간 초과: userId={}", userId);
+            send(emitter, "error", "분석 시간이 초과되었습니다");
+            emitter.complete();
+        });
+        aiInsightService.streamInsightAsync(userId, chunk -> send(emitter, "chunk", chunk))
+            .whenComplete((response, error) -> {
+                if (error != null) {
+                    log.error("AI 인사이트 스트리밍 실패: userId={}, error={}", userId, error.getMessage());
+                    send(emitter, "error", "분석 중 오류가 발생했습니다");
+                } else {
+                    send(emitter, "result", response);
+                }
+                emitter.complete();
+            });
+        return emitter;
+    }
+
+    /**
+     * 이벤트 전송 (연결이 끊겼으면 무시 → 분석/저장은 계속 진행)
+     */
+    private void send(SseEmitter emitter, String name, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data));
+        } catch (IOException | IllegalStateException e) {
+            log.debug("SSE 전송 건너뜀 (연결 종료): event={}, error={}", name, e.getMessage());
+        }
     }
 
     /**
      * AI 인사이트 재생성 및 저장
      */
     @PostMapping("/insights/refresh")
-    public ResponseEntity<AIInsightResponse> refreshInsights(
+    public CompletableFuture<ResponseEntity<AIInsightResponse>> refreshInsights(
             @AuthenticationPrincipal Long userId) {
         log.info("AI 인사이트 재생성 요청: userId={}", userId);
-        return ResponseEntity.ok(aiInsightService.refreshInsight(userId));
+        return aiInsightService.refreshInsightAsync(userId)
+            .thenApply(ResponseEntity::ok);
     }
 
     /**
      * 월간 AI 리포트 생성
      */
     @GetMapping("/report")
-    public ResponseEntity<AIReportResponse> getMonthlyReport(
+    public CompletableFuture<ResponseEntity<AIReportResponse>> getMonthlyReport(
             @AuthenticationPrincipal Long userId,
             @RequestParam int year,
             @RequestParam int month) {
         log.info("AI 월간 리포트 요청: userId={}, year={}, month={}", userId, year, month);
-        return ResponseEntity.ok(aiReportService.generateMonthlyReport(userId, year, month));
+        return aiReportService.generateMonthlyReportAsync(userId, year, month)
+            .thenApply(ResponseEntity::ok);
     }
 }
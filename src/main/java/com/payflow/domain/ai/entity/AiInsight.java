@@ -5,6 +5,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
@@ -15,7 +16,13 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "ai_insights")
+@Table(
+    name = "ai_insights",
+    indexes = {
+        // 사용자별 최신 인사이트 (user_id = ? ORDER BY created_at DESC)
+        @Index(name = "idx_ai_insights_user_created_at", columnList = "user_id, created_at")
+    }
+)
 @Getter
 @NoArgsConstructor
 @AllArgsConstructor
@@ -1,9 +1,27 @@
 package com.payflow.domain.ai.repository;
 
 import com.payflow.domain.ai.entity.AIInsight;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface AIInsightRepository extends JpaRepository<AIInsight, Long> {
   Optional<AIInsight> findTopByUserIdOrderByCreatedAtDesc(Long userId);
+
+  /**
+   * 인사이트를 다시 만들어야 하는 사용자 ID (사용자 ID 키셋 페이지)
+   * 구독이 마지막 인사이트 이후 추가/수정/삭제된 사용자 (users.subscriptions_changed_at, 마지막 구독을 삭제한 사용자 포함)
+   * 구독을 한 번도 등록하지 않은 사용자(NULL)는 제외
+   * 최신 인사이트 시각은 idx_ai_insights_user_created_at으로 사용자당 인덱스 조회 1번
+   */
+  @Query(value = "SELECT u.user_id FROM users u "
+      + "WHERE u.user_id > :lastUserId "
+      + "AND u.subscriptions_changed_at > "
+      + "COALESCE((SELECT MAX(i.created_at) FROM ai_insights i WHERE i.user_id = u.user_id), '1970-01-01') "
+      + "ORDER BY u.user_id ASC "
+      + "LIMIT :limit",
+      nativeQuery = true)
+  List<Long> findUserIdsWithStaleInsight(@Param("lastUserId") Long lastUserId, @Param("limit") int limit);
 }
@@ -1,5 +1,6 @@
 package com.payflow.domain.ai.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.payflow.domain.ai.dto.AIInsightResponse;
 import com.payflow.domain.ai.dto.DuplicateSubscription;
@@ -7,11 +8,20 @@ import com.payflow.domain.ai.dto.SavingRecommendation;
 import com.payflow.domain.subscription.entity.Subscription;
 import com.payflow.domain.subscription.repository.SubscriptionRepository;
 import com.payflow.global.gemini.GeminiClient;
+import com.payflow.global.gemini.GeminiException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -21,13 +31,19 @@ public class AIAnalysisService {
     private final SubscriptionRepository subscriptionRepository;
     private final GeminiClient geminiClient;
     private final ObjectMapper objectMapper;
+    private final Executor aiBlockingExecutor;
+    private final AIInsightCache aiInsightCache;
 
     public AIAnalysisService(SubscriptionRepository subscriptionRepository, 
                             GeminiClient geminiClient, 
-                            ObjectMapper objectMapper) {
+                            ObjectMapper objectMapper,
+                            @Qualifier("aiBlockingExecutor") Executor aiBlockingExecutor,
+                            AIInsightCache aiInsightCache) {
         this.subscriptionRepository = subscriptionRepository;
         this.geminiClient = geminiClient;
         this.objectMapper = objectMapper;
+        this.aiBlockingExecutor = aiBlockingExecutor;
+        this.aiInsightCache = aiInsightCache;
     }
 
     /**
@@ -36,8 +52,7 @@ public class AIAnalysisService {
     public AIInsightResponse analyzeSpendingPattern(Long userId) {
         try {
             // 1. 사용자의 활성 구독 조회
-            List<Subscription> subscriptions = subscriptionRepository.findByUserIdAndStatus(
-                    userId, Subscription.Status.ACTIVE);
+            List<Subscription> subscriptions = findActiveSubscriptions(userId);
 
             if (subscriptions.isEmpty()) {
                 return createEmptyResponse();
@@ -48,44 +63,27 @@ public class AIAnalysisService {
                 return analyzeLocally(subscriptions);
             }
 
-            // 2. 구독 데이터 변환
-            List<Map<String, Object>> subData = subscriptions.stream()
-                    .map(sub -> {
-                        Map<String, Object> data = new HashMap<>();
-                        data.put("name", sub.getSubscriptionsName());
-                        data.put("amount", sub.getAmount());
-                        data.put("cycle", getCycleLabel(sub.getCycleType()));
-                        data.put("category", sub.getSubscriptionsCategory() != null ? 
-                                sub.getSubscriptionsCategory() : "기타");
-                        data.put("monthlyEquivalent", toMonthlyAmount(sub));
-                        return data;
-                    })
-                    .collect(Collectors.toList());
-
-            // 3. 통계 계산
+            // 2. 통계 계산 + 프롬프트 생성
             Map<String, Object> stats = calculateStats(subscriptions);
+            String prompt = createPrompt(subscriptions, stats);
 
-            // 4. Gemini API 호출
-            String prompt = geminiClient.createAnalysisPrompt(subData, stats);
-            String geminiResponse = geminiClient.callGemini(prompt);
+            // 3. 같은 구독 구성으로 분석한 결과가 있으면 Gemini 호출 없이 반환
+            Optional<AIInsightResponse> cached = aiInsightCache.get(prompt);
+            if (cached.isPresent()) {
+                return cached.get();
+            }
 
-            // 5. JSON 파싱 (Gemini 응답에서 JSON 부분만 추출)
-            String jsonResponse = extractJSON(geminiResponse);
-            
-            // 6. DTO 변환
-            Map<String, Object> resultMap = objectMapper.readValue(jsonResponse, Map.class);
-            
-            return AIInsightResponse.builder()
-                    .title("스마트 구독 분석 리포트")
-                    .summary((String) resultMap.get("summary"))
-                    .duplicates(parseDuplicates((List<Map>) resultMap.get("duplicates")))
-                    .recommendations(parseRecommendations((List<Map>) resultMap.get("recommendations")))
-                    .spendingTrend((String) resultMap.getOrDefault("spendingTrend", "데이터가 부족합니다"))
-                    .totalMonthlySpending((Integer) stats.get("monthlyAverage"))
-                    .totalSubscriptions(subscriptions.size())
-                    .severity((String) resultMap.getOrDefault("severity", "normal"))
-                    .confidence((Double) resultMap.getOrDefault("confidence", 0.95))
-                    .build();
+            // 4. Gemini API 호출 (장애/서킷 OPEN이면 바로 로컬 분석)
+            String geminiResponse;
+            try {
+                geminiResponse = geminiClient.callGemini(prompt);
+            } catch (GeminiException e) {
+                log.warn("Gemini 호출 실패 → 로컬 분석으로 대체: userId={}, reason={}", userId, e.getReason());
+                return analyzeLocally(subscriptions);
+            }
+
+            // 5. JSON 파싱 + DTO 변환 + 캐시 저장
+            return toInsightResponse(prompt, geminiResponse, subscriptions, stats);
 
         } catch (Exception e) {
             log.error("AI 분석 실패: userId={}, error={}", userId, e.getMessage(), e);
@@ -93,6 +91,131 @@ public class AIAnalysisService {
         }
     }
 
+    /**
+     * AI 인사이트 분석 (논블로킹)
+     * 구독 조회/로컬 분석(DB)은 aiBlockingExecutor, Gemini 대기는 WebClient → 호출한 스레드는 대기하지 않음
+     */
+    public CompletableFuture<AIInsightResponse> analyzeSpendingPatternAsync(Long userId) {
+        return analyzeAsync(userId, prompt -> geminiClient.callGeminiAsync(prompt).toFuture());
+    }
+
+    /**
+     * AI 인사이트 분석 (Gemini 스트리밍)
+     * Gemini가 생성하는 부분 텍스트를 onChunk로 순서대로 전달하고, 끝나면 전체 응답을 파싱한 결과로 완료
+     * 캐시 적중/로컬 분석이면 onChunk 호출 없이 바로 완료
+     * onChunk는 aiBlockingExecutor에서 호출됨 (Netty 이벤트 루프에서 응답 쓰기를 하지 않도록)
+     */
+    public CompletableFuture<AIInsightResponse> streamSpendingPatternAsync(Long userId, Consumer<String> onChunk) {
+        return analyzeAsync(userId, prompt -> {
+            StringBuilder text = new StringBuilder();
+            return geminiClient.streamGemini(prompt)
+                    .publishOn(Schedulers.fromExecutor(aiBlockingExecutor))
+                    .doOnNext(chunk -> {
+                        text.append(chunk);
+                        onChunk.accept(chunk);
+                    })
+                    .then(Mono.fromSupplier(text::toString))
+                    .toFuture();
+        });
+    }
+
+    private CompletableFuture<AIInsightResponse> analyzeAsync(Long userId,
+                                                              Function<String, CompletableFuture<String>> callGemini) {
+        return CompletableFuture.supplyAsync(() -> findActiveSubscriptions(userId), aiBlockingExecutor)
+                .thenCompose(subscriptions -> {
+                    if (subscriptions.isEmpty()) {
+                        return CompletableFuture.completedFuture(createEmptyResponse());
+                    }
+                    if (!geminiClient.isConfigured()) {
+                        log.info("Gemini API 키 미설정: 로컬 분석으로 대체합니다.");
+                        return CompletableFuture.completedFuture(analyzeLocally(subscriptions));
+                    }
+
+                    Map<String, Object> stats = calculateStats(subscriptions);
+                    String prompt = createPrompt(subscriptions, stats);
+                    Optional<AIInsightResponse> cached = aiInsightCache.get(prompt);
+                    if (cached.isPresent()) {
+                        return CompletableFuture.completedFuture(cached.get());
+                    }
+
+                    return callGemini.apply(prompt)
+                            .thenApplyAsync(geminiResponse -> {
+                                try {
+                                    return toInsightResponse(prompt, geminiResponse, subscriptions, stats);
+                                } catch (JsonProcessingException e) {
+                                    throw new CompletionException(e);
+                                }
+                            }, aiBlockingExecutor)
+                            .exceptionally(e -> {
+                                // Gemini 장애/서킷 OPEN → 이미 조회한 구독으로 바로 로컬 분석
+                                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                                if (cause instanceof GeminiException geminiException) {
+                                    log.warn("Gemini 호출 실패 → 로컬 분석으로 대체: userId={}, reason={}", userId, geminiException.getReason());
+                                    return analyzeLocally(subscriptions);
+                                }
+                                throw e instanceof CompletionException completion ? completion : new CompletionException(e);
+                            });
+                })
+                .exceptionallyCompose(e -> {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    log.error("AI 분석 실패: userId={}, error={}", userId, cause.getMessage(), cause);
+                    return CompletableFuture.supplyAsync(
+                            () -> analyzeLocallyWithFallback(cause.getMessage(), userId), aiBlockingExecutor);
+                });
+    }
+
+    private List<Subscription> findActiveSubscriptions(Long userId) {
+        return subscriptionRepository.findByUserIdAndStatus(userId, Subscription.Status.ACTIVE);
+    }
+
+    /**
+     * 분석 프롬프트 생성
+     * 구독을 정렬해서 넣음 → 조회 순서와 무관하게 같은 구독 구성이면 같은 프롬프트 (AIInsightCache 키)
+     */
+    private String createPrompt(List<Subscription> subscriptions, Map<String, Object> stats) {
+        List<Map<String, Object>> subData = subscriptions.stream()
+                .map(sub -> {
+                    Map<String, Object> data = new HashMap<>();
+                    data.put("name", sub.getSubscriptionsName());
+                    data.put("amount", sub.getAmount());
+                    data.put("cycle", getCycleLabel(sub.getCycleType()));
+                    data.put("category", sub.getSubscriptionsCategory() != null ? 
+                            sub.getSubscriptionsCategory() : "기타");
+                    data.put("monthlyEquivalent", toMonthlyAmount(sub));
+                    return data;
+                })
+                .sorted(Comparator.comparing(data -> data.get("category") + "|" + data.get("name")
+                        + "|" + data.get("cycle") + "|" + data.get("amount")))
+                .collect(Collectors.toList());
+
+        return geminiClient.createAnalysisPrompt(subData, stats);
+    }
+
+    private AIInsightResponse toInsightResponse(String prompt, String geminiResponse, List<Subscription> subscriptions,
+                                                Map<String, Object> stats) throws JsonProcessingException {
+        // Gemini 응답에서 JSON 부분만 추출
+        String jsonResponse = extractJSON(geminiResponse);
+        Map<String, Object> resultMap = objectMapper.readValue(jsonResponse, Map.class);
+
+        AIInsightResponse response = AIInsightResponse.builder()
+                .title("스마트 구독 분석 리포트")
+                .summary((String) resultMap.get("summary"))
+                .duplicates(parseDuplicates((List<Map>) resultMap.get("duplicates")))
+                .recommendations(parseRecommendations((List<Map>) resultMap.get("recommendations")))
+                .spendingTrend((String) resultMap.getOrDefault("spendingTrend", "데이터가 부족합니다"))
+                .totalMonthlySpending((Integer) stats.get("monthlyAverage"))
+                .totalSubscriptions(subscriptions.size())
+                .severity((String) resultMap.getOrDefault("severity", "normal"))
+                .confidence((Double) resultMap.getOrDefault("confidence", 0.95))
+                .build();
+
+        // JSON이 없는 응답(기본 결과로 대체된 경우)은 캐시하지 않음
+        if (geminiResponse.contains("{")) {
+            aiInsightCache.put(prompt, response);
+        }
+        return response;
+    }
+
     private String getCycleLabel(Subscription.CycleType cycleType) {
         return switch (cycleType) {
             case MONTHLY -> "월";
@@ -116,7 +239,7 @@ public class AIAnalysisService {
         Set<String> categories = subscriptions.stream()
                 .map(sub -> sub.getSubscriptionsCategory() != null ? 
                         sub.getSubscriptionsCategory() : "기타")
-                .collect(Collectors.toSet());
+                .collect(Collectors.toCollection(TreeSet::new));
         stats.put("categories", String.join(", ", categories));
         
         return stats;
@@ -133,8 +256,7 @@ public class AIAnalysisService {
 
     private AIInsightResponse analyzeLocallyWithFallback(String error, Long userId) {
         try {
-            List<Subscription> subscriptions = subscriptionRepository.findByUserIdAndStatus(
-                    userId, Subscription.Status.ACTIVE);
+            List<Subscription> subscriptions = findActiveSubscriptions(userId);
             if (subscriptions.isEmpty()) {
                 return createEmptyResponse();
             }
@@ -0,0 +1,87 @@
+package com.payflow.domain.ai.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.payflow.domain.ai.dto.AIInsightResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Gemini 인사이트 분석 결과 캐시 (내용 주소 방식)
+ *
+ * 📌 키: ai:insight:{SHA-256(프롬프트)}
+ * - 프롬프트는 정렬된 구독 목록 + 통계로만 만들어짐 → 구독이 같으면 사용자/시점과 무관하게 같은 키
+ * - 구독이 바뀌면 프롬프트가 바뀌므로 무효화가 필요 없음, 오래된 키는 TTL로 정리
+ *   (Redis maxmemory-policy가 volatile-lru/allkeys-lru면 메모리 부족 시 먼저 제거)
+ *
+ * 메트릭: payflow.ai.cache{cache=insight, result=hit|miss}
+ * Redis 장애 시 캐시 없이 동작 (조회 실패 = miss, 저장 실패 무시)
+ */
+@Slf4j
+@Component
+public class AIInsightCache {
+
+    private static final String KEY_PREFIX = "ai:insight:";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    @Value("${payflow.ai.cache.ttl-hours:24}")
+    private long ttlHours;
+
+    public AIInsightCache(StringRedisTemplate stringRedisTemplate, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.objectMapper = objectMapper;
+        this.hitCounter = Counter.builder("payflow.ai.cache").tag("cache", "insight").tag("result", "hit").register(meterRegistry);
+        this.missCounter = Counter.builder("payflow.ai.cache").tag("cache", "insight").tag("result", "miss").register(meterRegistry);
+    }
+
+    /**
+     * 같은 프롬프트로 분석한 결과 조회
+     */
+    public Optional<AIInsightResponse> get(String prompt) {
+        try {
+            String json = stringRedisTemplate.opsForValue().get(key(prompt));
+            if (json != null) {
+                hitCounter.increment();
+                return Optional.of(objectMapper.readValue(json, AIInsightResponse.class));
+            }
+        } catch (Exception e) {
+            log.warn("AI 인사이트 캐시 조회 실패: error={}", e.getMessage());
+        }
+        missCounter.increment();
+        return Optional.empty();
+    }
+
+    /**
+     * 분석 결과 저장 (Gemini 응답을 정상적으로 파싱한 결과만 저장할 것)
+     */
+    public void put(String prompt, AIInsightResponse response) {
+        try {
+            stringRedisTemplate.opsForValue().set(key(prompt), objectMapper.writeValueAsString(response), Duration.ofHours(ttlHours));
+        } catch (Exception e) {
+            log.warn("AI 인사이트 캐시 저장 실패: error={}", e.getMessage());
+        }
+    }
+
+    static String key(String prompt) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(prompt.getBytes(StandardCharsets.UTF_8));
+            return KEY_PREFIX + HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다", e);
+        }
+    }
+}
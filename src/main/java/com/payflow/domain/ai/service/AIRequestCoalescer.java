@@ -0,0 +1,122 @@
+package com.payflow.domain.ai.service;
+
+import com.payflow.global.redis.RedisLeaseService;
+import com.payflow.global.redis.RedisLeaseService.Lease;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 같은 (사용자, 작업) AI 요청 합치기 (single-flight)
+ *
+ * 📌 흐름:
+ * 1. 인스턴스 안: 진행 중인 요청이 있으면 같은 CompletableFuture를 함께 기다림 (ConcurrentHashMap)
+ * 2. 인스턴스 간: 처음 요청한 인스턴스만 Redis 리스(ai:{key}, 짧은 TTL)를 잡고 Gemini 호출
+ *    리스를 못 잡은 인스턴스는 리스가 풀릴 때까지 기다렸다가 저장된 결과(DB)를 읽음
+ *
+ * 더블 클릭/여러 탭에서 동시에 새로고침해도 Gemini 호출과 AIInsight 저장은 1번
+ */
+@Slf4j
+@Component
+public class AIRequestCoalescer {
+
+    private static final long POLL_INTERVAL_MILLIS = 200;
+
+    private final RedisLeaseService redisLeaseService;
+    private final Executor aiBlockingExecutor;
+    private final Map<String, CompletableFuture<?>> inFlight = new ConcurrentHashMap<>();
+
+    @Value("${payflow.ai.single-flight.lock-ttl-seconds:30}")
+    private long lockTtlSeconds;
+
+    public AIRequestCoalescer(RedisLeaseService redisLeaseService,
+                              @Qualifier("aiBlockingExecutor") Executor aiBlockingExecutor) {
+        this.redisLeaseService = redisLeaseService;
+        this.aiBlockingExecutor = aiBlockingExecutor;
+    }
+
+    /**
+     * @param key 합칠 요청 단위 (예: insight-refresh:{userId})
+     * @param compute 실제 작업 (클러스터에서 1번만 실행)
+     * @param readResult 다른 인스턴스가 작업을 끝낸 뒤 저장된 결과를 읽는 작업
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> execute(String key,
+                                            Supplier<CompletableFuture<T>> compute,
+                                            Supplier<CompletableFuture<T>> readResult) {
+        CompletableFuture<T> created = new CompletableFuture<>();
+        CompletableFuture<T> existing = (CompletableFuture<T>) inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            log.info("진행 중인 AI 요청에 합류: key={}", key);
+            return existing;
+        }
+
+        runClusterWide(key, compute, readResult).whenComplete((result, error) -> {
+            inFlight.remove(key, created);
+            if (error != null) {
+                created.completeExceptionally(error);
+            } else {
+                created.complete(result);
+            }
+        });
+        return created;
+    }
+
+    private <T> CompletableFuture<T> runClusterWide(String key,
+                                                    Supplier<CompletableFuture<T>> compute,
+                                                    Supplier<CompletableFuture<T>> readResult) {
+        Duration ttl = Duration.ofSeconds(lockTtlSeconds);
+        String leaseName = "ai:" + key;
+
+        return CompletableFuture.supplyAsync(() -> redisLeaseService.tryAcquire(leaseName, "ai-single-flight", ttl), aiBlockingExecutor)
+                .thenCompose(lease -> {
+                    if (lease.isPresent()) {
+                        return computeAndRelease(lease.get(), compute);
+                    }
+                    log.info("다른 인스턴스의 AI 요청 완료 대기: key={}", key);
+                    return awaitRelease(leaseName, System.nanoTime() + ttl.toNanos())
+                            .thenCompose(released -> readResult.get());
+                });
+    }
+
+    private <T> CompletableFuture<T> computeAndRelease(Lease lease, Supplier<CompletableFuture<T>> compute) {
+        CompletableFuture<T> result;
+        try {
+            result = compute.get();
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        return result.whenCompleteAsync((value, error) -> redisLeaseService.release(lease), aiBlockingExecutor);
+    }
+
+    /**
+     * 리스가 풀릴 때까지 POLL_INTERVAL_MILLIS 간격으로 확인 (스레드를 재우지 않고 지연 실행)
+     * 리스 TTL이 지나면 결과가 없어도 진행 → readResult가 직접 계산하도록 맡김
+     */
+    private CompletableFuture<Void> awaitRelease(String leaseName, long deadlineNanos) {
+        Executor delayed = CompletableFuture.delayedExecutor(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS, aiBlockingExecutor);
+        return CompletableFuture.supplyAsync(() -> redisLeaseService.isHeld(leaseName), delayed)
+                .thenCompose(held -> held && System.nanoTime() < deadlineNanos
+                        ? awaitRelease(leaseName, deadlineNanos)
+                        : CompletableFuture.completedFuture(null));
+    }
+
+    /**
+     * 다른 인스턴스의 결과가 없을 때(실패/시간 초과) 직접 계산하도록 연결하는 헬퍼
+     */
+    public static <T> CompletableFuture<T> orCompute(CompletableFuture<Optional<T>> stored, Supplier<CompletableFuture<T>> compute) {
+        return stored.thenCompose(result -> result
+                .map(CompletableFuture::completedFuture)
+                .orElseGet(compute));
+    }
+}
@@ -2,6 +2,8 @@ package com.payflow.domain.ai.service;
 
 import com.payflow.domain.ai.dto.AIInsightResponse;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 public interface AIInsightService {
     /**
@@ -13,4 +15,20 @@ public interface AIInsightService {
      * AI 인사이트 재생성 및 저장
      */
     AIInsightResponse refreshInsight(Long userId);
+
+    /**
+     * 최신 AI 인사이트 조회, 없으면 생성 (논블로킹)
+     */
+    CompletableFuture<AIInsightResponse> getInsightAsync(Long userId);
+
+    /**
+     * AI 인사이트 재생성 및 저장 (논블로킹, Gemini 응답을 기다리는 동안 스레드를 점유하지 않음)
+     */
+    CompletableFuture<AIInsightResponse> refreshInsightAsync(Long userId);
+
+    /**
+     * AI 인사이트 재생성 및 저장 (Gemini 스트리밍)
+     * 부분 텍스트는 onChunk로 전달, 스트림이 끝나면 파싱한 결과를 저장하고 완료
+     */
+    CompletableFuture<AIInsightResponse> streamInsightAsync(Long userId, Consumer<String> onChunk);
 }
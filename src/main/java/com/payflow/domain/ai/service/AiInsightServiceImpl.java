@@ -7,24 +7,45 @@ import com.payflow.domain.ai.dto.DuplicateSubscription;
 import com.payflow.domain.ai.dto.SavingRecommendation;
 import com.payflow.domain.ai.entity.AIInsight;
 import com.payflow.domain.ai.repository.AIInsightRepository;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class AIInsightServiceImpl implements AIInsightService {
 
+    // 다른 인스턴스가 저장한 인사이트를 "이번 새로고침 결과"로 인정하는 범위
+    private static final Duration REMOTE_RESULT_WINDOW = Duration.ofMinutes(1);
+
     private final AIAnalysisService aiAnalysisService;
     private final AIInsightRepository aiInsightRepository;
     private final ObjectMapper objectMapper;
+    private final Executor aiBlockingExecutor;
+    private final AIRequestCoalescer aiRequestCoalescer;
+
+    public AIInsightServiceImpl(AIAnalysisService aiAnalysisService,
+                                AIInsightRepository aiInsightRepository,
+                                ObjectMapper objectMapper,
+                                @Qualifier("aiBlockingExecutor") Executor aiBlockingExecutor,
+                                AIRequestCoalescer aiRequestCoalescer) {
+        this.aiAnalysisService = aiAnalysisService;
+        this.aiInsightRepository = aiInsightRepository;
+        this.objectMapper = objectMapper;
+        this.aiBlockingExecutor = aiBlockingExecutor;
+        this.aiRequestCoalescer = aiRequestCoalescer;
+    }
 
     @Override
     @Transactional(readOnly = true)
@@ -41,6 +62,61 @@ public class AIInsightServiceImpl implements AIInsightService {
         return response;
     }
 
+    @Override
+    public CompletableFuture<AIInsightResponse> getInsightAsync(Long userId) {
+        return CompletableFuture.supplyAsync(
+                        () -> aiInsightRepository.findTopByUserIdOrderByCreatedAtDesc(userId).map(this::toResponse),
+                        aiBlockingExecutor)
+                .thenCompose(latest -> latest
+                        .map(CompletableFuture::completedFuture)
+                        .orElseGet(() -> refreshInsightAsync(userId)));
+    }
+
+    /**
+     * 같은 사용자의 동시 새로고침은 1번만 분석/저장 (AIRequestCoalescer)
+     * 다른 인스턴스가 먼저 시작했으면 그 결과(방금 저장된 인사이트)를 읽음, 없으면 직접 분석
+     */
+    @Override
+    public CompletableFuture<AIInsightResponse> refreshInsightAsync(Long userId) {
+        LocalDateTime requestedAt = LocalDateTime.now();
+        return aiRequestCoalescer.execute("insight-refresh:" + userId,
+                () -> analyzeAndSave(userId),
+                () -> AIRequestCoalescer.orCompute(
+                        CompletableFuture.supplyAsync(() -> findInsightCreatedAfter(userId, requestedAt.minus(REMOTE_RESULT_WINDOW)),
+                                aiBlockingExecutor),
+                        () -> analyzeAndSave(userId)));
+    }
+
+    /**
+     * 스트리밍은 부분 텍스트를 받는 쪽이 요청마다 다르므로 합치지 않음
+     * 클라이언트가 끊겨도 스트림은 끝까지 받아서 저장 → 다음 조회는 저장된 인사이트로 응답
+     */
+    @Override
+    public CompletableFuture<AIInsightResponse> streamInsightAsync(Long userId, Consumer<String> onChunk) {
+        return save(userId, aiAnalysisService.streamSpendingPatternAsync(userId, onChunk));
+    }
+
+    private Optional<AIInsightResponse> findInsightCreatedAfter(Long userId, LocalDateTime since) {
+        return aiInsightRepository.findTopByUserIdOrderByCreatedAtDesc(userId)
+                .filter(insight -> insight.getCreatedAt() != null && !insight.getCreatedAt().isBefore(since))
+                .map(this::toResponse);
+    }
+
+    /**
+     * 분석(Gemini 대기 포함)은 트랜잭션 밖에서, 저장만 aiBlockingExecutor에서 실행
+     */
+    private CompletableFuture<AIInsightResponse> analyzeAndSave(Long userId) {
+        return save(userId, aiAnalysisService.analyzeSpendingPatternAsync(userId));
+    }
+
+    private CompletableFuture<AIInsightResponse> save(Long userId, CompletableFuture<AIInsightResponse> analysis) {
+        return analysis
+                .thenApplyAsync(response -> {
+                    aiInsightRepository.save(toEntity(userId, response));
+                    return response;
+                }, aiBlockingExecutor);
+    }
+
     private AIInsight toEntity(Long userId, AIInsightResponse response) {
         return AIInsight.builder()
                 .userId(userId)
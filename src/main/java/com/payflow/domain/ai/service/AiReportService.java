@@ -2,9 +2,16 @@ package com.payflow.domain.ai.service;
 
 import com.payflow.domain.ai.dto.AIReportResponse;
 
+import java.util.concurrent.CompletableFuture;
+
 public interface AIReportService {
     /**
      * 특정 월의 AI 리포트 생성
      */
     AIReportResponse generateMonthlyReport(Long userId, int year, int month);
+
+    /**
+     * 특정 월의 AI 리포트 생성 (논블로킹, Gemini 응답을 기다리는 동안 스레드를 점유하지 않음)
+     */
+    CompletableFuture<AIReportResponse> generateMonthlyReportAsync(Long userId, int year, int month);
 }
@@ -6,30 +6,49 @@ import com.payflow.domain.ai.dto.AIReportResponse;
 import com.payflow.domain.ai.dto.SavingRecommendation;
 import com.payflow.domain.ai.entity.AIReport;
 import com.payflow.domain.ai.repository.AIReportRepository;
-import com.payflow.domain.payment.entity.PaymentCycle;
+import com.payflow.domain.payment.dto.MonthlySpendingSummaryResponse;
+import com.payflow.domain.payment.dto.PaymentCycleResponse;
 import com.payflow.domain.payment.service.PaymentCycleService;
-import com.payflow.domain.subscription.entity.Subscription;
-import com.payflow.domain.subscription.repository.SubscriptionRepository;
 import com.payflow.global.gemini.GeminiClient;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class AIReportServiceImpl implements AIReportService {
 
     private final PaymentCycleService paymentCycleService;
-    private final SubscriptionRepository subscriptionRepository;
     private final AIAnalysisService aiAnalysisService;
     private final AIReportRepository aiReportRepository;
     private final GeminiClient geminiClient;
     private final ObjectMapper objectMapper;
+    private final Executor aiBlockingExecutor;
+    private final AIRequestCoalescer aiRequestCoalescer;
+
+    public AIReportServiceImpl(PaymentCycleService paymentCycleService,
+                               AIAnalysisService aiAnalysisService,
+                               AIReportRepository aiReportRepository,
+                               GeminiClient geminiClient,
+                               ObjectMapper objectMapper,
+                               @Qualifier("aiBlockingExecutor") Executor aiBlockingExecutor,
+                               AIRequestCoalescer aiRequestCoalescer) {
+        this.paymentCycleService = paymentCycleService;
+        this.aiAnalysisService = aiAnalysisService;
+        this.aiReportRepository = aiReportRepository;
+        this.geminiClient = geminiClient;
+        this.objectMapper = objectMapper;
+        this.aiBlockingExecutor = aiBlockingExecutor;
+        this.aiRequestCoalescer = aiRequestCoalescer;
+    }
 
     @Override
     public AIReportResponse generateMonthlyReport(Long userId, int year, int month) {
@@ -39,79 +58,167 @@ public class AIReportServiceImpl implements AIReportService {
             return readJson(existingReport.get().getReportJson(), AIReportResponse.class);
         }
 
-        log.info("AI 월간 리포트 생성 중: userId={}, year={}, month={}", userId, year, month);
-
-        // 1. 해당 월 데이터 조회
-        LocalDate startDate = LocalDate.of(year, month, 1);
-        LocalDate endDate = startDate.plusMonths(1).minusDays(1);
-        List<PaymentCycle> currentMonthCycles = paymentCycleService.getPaymentHistory(userId, startDate, endDate);
-
-        // 2. 지난 달 데이터 조회 (비교용)
-        LocalDate prevMonthStart = startDate.minusMonths(1);
-        LocalDate prevMonthEnd = startDate.minusDays(1);
-        List<PaymentCycle> prevMonthCycles = paymentCycleService.getPaymentHistory(userId, prevMonthStart, prevMonthEnd);
-
-        // 3. 금액 계산
-        int totalSpending = calculateTotal(currentMonthCycles);
-        int prevSpending = calculateTotal(prevMonthCycles);
-        int difference = totalSpending - prevSpending;
-
-        // 4. 카테고리별 분석
-        Map<String, Integer> categoryBreakdown = currentMonthCycles.stream()
-                .collect(Collectors.groupingBy(
-                        cycle -> {
-                            Subscription sub = subscriptionRepository.findById(cycle.getSubscriptionId()).orElse(null);
-                            return (sub != null && sub.getSubscriptionsCategory() != null) ? sub.getSubscriptionsCategory() : "기타";
-                        },
-                        Collectors.summingInt(cycle -> {
-                            Subscription sub = subscriptionRepository.findById(cycle.getSubscriptionId()).orElse(null);
-                            return (sub != null && sub.getAmount() != null) ? sub.getAmount() : 0;
-                        })
-                ));
+        // 1~4. 이번 달/지난 달 데이터 조회 + 집계
+        ReportData data = loadReportData(userId, year, month);
 
         // 5. AI 리포트 생성 (Gemini 활용)
-        String monthStr = String.format("%d년 %d월", year, month);
-        String analysisSummary;
-        List<String> keyInsights = new ArrayList<>();
-        List<SavingRecommendation> recommendations;
-
+        ReportAnalysis analysis;
         if (geminiClient.isConfigured()) {
             try {
-                List<Map<String, Object>> currentData = currentMonthCycles.stream()
-                        .map(this::toDataMap).collect(Collectors.toList());
-                List<Map<String, Object>> prevData = prevMonthCycles.stream()
-                        .map(this::toDataMap).collect(Collectors.toList());
-
-                String prompt = geminiClient.createReportPrompt(monthStr, currentData, prevData, categoryBreakdown);
-                String aiRes = geminiClient.callGemini(prompt);
-                Map<String, Object> resultMap = objectMapper.readValue(extractJSON(aiRes), Map.class);
-
-                analysisSummary = (String) resultMap.get("analysisSummary");
-                keyInsights = (List<String>) resultMap.get("keyInsights");
-                recommendations = parseRecommendations((List<Map>) resultMap.get("topRecommendations"));
+                analysis = parseAnalysis(geminiClient.callGemini(createPrompt(data)));
             } catch (Exception e) {
                 log.warn("AI 리포트 생성 실패, 로컬 분석으로 전환: {}", e.getMessage());
-                analysisSummary = generateSummary(totalSpending, prevSpending, difference);
-                AIInsightResponse insight = aiAnalysisService.analyzeSpendingPattern(userId);
-                keyInsights.add(insight.getSpendingTrend());
-                recommendations = insight.getRecommendations().stream().limit(3).collect(Collectors.toList());
+                analysis = analyzeLocally(data, aiAnalysisService.analyzeSpendingPattern(userId));
             }
         } else {
-            analysisSummary = generateSummary(totalSpending, prevSpending, difference);
-            AIInsightResponse insight = aiAnalysisService.analyzeSpendingPattern(userId);
-            keyInsights.add(insight.getSpendingTrend());
-            recommendations = insight.getRecommendations().stream().limit(3).collect(Collectors.toList());
+            analysis = analyzeLocally(data, aiAnalysisService.analyzeSpendingPattern(userId));
         }
 
+        // 6~7. 응답 생성 + DB 저장
+        return saveReport(userId, year, month, data, analysis);
+    }
+
+    /**
+     * 월간 리포트 생성 (논블로킹)
+     * 조회/집계/저장(DB)은 aiBlockingExecutor, Gemini 대기는 WebClient → 호출한 스레드는 대기하지 않음
+     * 같은 (사용자, 연월) 동시 요청은 1번만 생성 (AIRequestCoalescer)
+     * 다른 인스턴스가 먼저 생성 중이면 끝난 뒤 저장된 리포트를 읽음 (없으면 직접 생성)
+     */
+    @Override
+    public CompletableFuture<AIReportResponse> generateMonthlyReportAsync(Long userId, int year, int month) {
+        return aiRequestCoalescer.execute("report:" + userId + ":" + year + "-" + month,
+                () -> findOrGenerateReport(userId, year, month),
+                () -> findOrGenerateReport(userId, year, month));
+    }
+
+    private CompletableFuture<AIReportResponse> findOrGenerateReport(Long userId, int year, int month) {
+        return CompletableFuture.supplyAsync(
+                        () -> aiReportRepository.findByUserIdAndYearAndMonth(userId, year, month), aiBlockingExecutor)
+                .thenCompose(existingReport -> {
+                    if (existingReport.isPresent()) {
+                        return CompletableFuture.completedFuture(
+                                readJson(existingReport.get().getReportJson(), AIReportResponse.class));
+                    }
+                    return CompletableFuture.supplyAsync(() -> loadReportData(userId, year, month), aiBlockingExecutor)
+                            .thenCompose(data -> analyzeAsync(userId, data)
+                                    .thenApplyAsync(analysis -> saveReport(userId, year, month, data, analysis),
+                                            aiBlockingExecutor));
+                });
+    }
+
+    private CompletableFuture<ReportAnalysis> analyzeAsync(Long userId, ReportData data) {
+        if (!geminiClient.isConfigured()) {
+            return aiAnalysisService.analyzeSpendingPatternAsync(userId)
+                    .thenApply(insight -> analyzeLocally(data, insight));
+        }
+
+        return geminiClient.callGeminiAsync(createPrompt(data))
+                .toFuture()
+                .thenApply(aiRes -> {
+                    try {
+                        return parseAnalysis(aiRes);
+                    } catch (Exception e) {
+                        throw new CompletionException(e);
+                    }
+                })
+                .exceptionallyCompose(e -> {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    log.warn("AI 리포트 생성 실패, 로컬 분석으로 전환: {}", cause.getMessage());
+                    return aiAnalysisService.analyzeSpendingPatternAsync(userId)
+                            .thenApply(insight -> analyzeLocally(data, insight));
+                });
+    }
+
+    /**
+     * 이번 달/지난 달 집계 (저장된 결제 주기만, 엔진이 계산한 미래 결제일(cycleId = null)은 제외)
+     * 지난 달 합계는 지난 달까지는 집계 테이블 조회 1번 (저장된 결제 주기 기준)으로,
+     * 이번 달은 프롬프트에 구독별 내역이 필요하므로 결제 주기 + 구독 JOIN 조회 1번 후 한 번 순회로 계산
+     */
+    private ReportData loadReportData(Long userId, int year, int month) {
+        log.info("AI 월간 리포트 생성 중: userId={}, year={}, month={}", userId, year, month);
+
+        // 1. 지난 달 합계 (구독 금액 기준, 모든 상태)
+        //    이번 달 이후 요약은 미래 결제일 프로젝션을 포함하므로 저장된 결제 주기만 직접 합산
+        YearMonth prevMonth = YearMonth.of(year, month).minusMonths(1);
+        int prevSpending = prevMonth.isBefore(YearMonth.now())
+                ? paymentCycleService
+                        .getMonthlySpendingSummary(userId, prevMonth.getYear(), prevMonth.getMonthValue())
+                        .getTotalScheduledAmount()
+                : storedTotal(paymentCycleService.getPaymentHistoryResponses(
+                        userId, prevMonth.atDay(1), prevMonth.atEndOfMonth()));
+
+        // 2. 이번 달 결제 이력 (구독 정보 포함)
+        LocalDate startDate = LocalDate.of(year, month, 1);
+        LocalDate endDate = startDate.plusMonths(1).minusDays(1);
+        List<PaymentCycleResponse> cycles = paymentCycleService.getPaymentHistoryResponses(userId, startDate, endDate);
+
+        // 3. 한 번 순회: 금액 합계 + 카테고리별 분석 + 프롬프트용 데이터
+        int totalSpending = 0;
+        Map<String, Integer> categoryBreakdown = new HashMap<>();
+        List<Map<String, Object>> currentData = new ArrayList<>();
+
+        for (PaymentCycleResponse cycle : cycles) {
+            if (cycle.getCycleId() == null) {
+                continue;
+            }
+            int amount = cycle.getSubscriptionAmount() != null ? cycle.getSubscriptionAmount() : 0;
+            totalSpending += amount;
+            currentData.add(Map.of(
+                "name", cycle.getSubscriptionName() != null ? cycle.getSubscriptionName() : "Unknown",
+                "amount", amount
+            ));
+            String category = cycle.getSubscriptionCategory() != null
+                    ? cycle.getSubscriptionCategory()
+                    : MonthlySpendingSummaryResponse.UNCATEGORIZED_LABEL;
+            categoryBreakdown.merge(category, amount, Integer::sum);
+        }
+
+        return new ReportData(String.format("%d년 %d월", year, month),
+                totalSpending, prevSpending, categoryBreakdown, currentData);
+    }
+
+    /**
+     * 저장된 결제 주기의 구독 금액 합계 (미래 결제일 프로젝션 제외)
+     */
+    private static int storedTotal(List<PaymentCycleResponse> cycles) {
+        return cycles.stream()
+                .filter(cycle -> cycle.getCycleId() != null)
+                .mapToInt(cycle -> cycle.getSubscriptionAmount() != null ? cycle.getSubscriptionAmount() : 0)
+                .sum();
+    }
+
+    private String createPrompt(ReportData data) {
+        return geminiClient.createReportPrompt(data.monthStr(), data.currentData(), data.prevSpending(), data.categoryBreakdown());
+    }
+
+    private ReportAnalysis parseAnalysis(String aiRes) throws Exception {
+        Map<String, Object> resultMap = objectMapper.readValue(extractJSON(aiRes), Map.class);
+
+        return new ReportAnalysis(
+                (String) resultMap.get("analysisSummary"),
+                (List<String>) resultMap.get("keyInsights"),
+                parseRecommendations((List<Map>) resultMap.get("topRecommendations")));
+    }
+
+    private ReportAnalysis analyzeLocally(ReportData data, AIInsightResponse insight) {
+        List<String> keyInsights = new ArrayList<>();
+        keyInsights.add(insight.getSpendingTrend());
+        return new ReportAnalysis(
+                generateSummary(data.totalSpending(), data.prevSpending(), data.difference()),
+                keyInsights,
+                insight.getRecommendations().stream().limit(3).collect(Collectors.toList()));
+    }
+
+    private AIReportResponse saveReport(Long userId, int year, int month, ReportData data, ReportAnalysis analysis) {
         AIReportResponse response = AIReportResponse.builder()
-                .month(monthStr)
-                .totalSpending(totalSpending)
-                .previousMonthSpending(prevSpending)
-                .spendingDifference(difference)
-                .analysisSummary(analysisSummary)
-                .categoryBreakdown(categoryBreakdown)
-                .keyInsights(keyInsights)
-                .topRecommendations(recommendations)
+                .month(data.monthStr())
+                .totalSpending(data.totalSpending())
+                .previousMonthSpending(data.prevSpending())
+                .spendingDifference(data.difference())
+                .analysisSummary(analysis.analysisSummary())
+                .categoryBreakdown(data.categoryBreakdown())
+                .keyInsights(analysis.keyInsights())
+                .topRecommendations(analysis.recommendations())
                 .build();
 
         // 7. DB 저장
@@ -119,30 +226,13 @@ public class AIReportServiceImpl implements AIReportService {
                 .userId(userId)
                 .year(year)
                 .month(month)
-                .analysisSummary(analysisSummary)
+                .analysisSummary(analysis.analysisSummary())
                 .reportJson(writeJson(response))
                 .build());
 
         return response;
     }
 
-    private int calculateTotal(List<PaymentCycle> cycles) {
-        return cycles.stream()
-                .mapToInt(cycle -> {
-                    Subscription sub = subscriptionRepository.findById(cycle.getSubscriptionId()).orElse(null);
-                    return (sub != null && sub.getAmount() != null) ? sub.getAmount() : 0;
-                })
-                .sum();
-    }
-
-    private Map<String, Object> toDataMap(PaymentCycle cycle) {
-        Subscription sub = subscriptionRepository.findById(cycle.getSubscriptionId()).orElse(null);
-        return Map.of(
-            "name", sub != null ? sub.getSubscriptionsName() : "Unknown",
-            "amount", (sub != null && sub.getAmount() != null) ? sub.getAmount() : 0
-        );
-    }
-
     private String extractJSON(String response) {
         int start = response.indexOf("{");
         int end = response.lastIndexOf("}");
@@ -188,4 +278,23 @@ public class AIReportServiceImpl implements AIReportService {
             return null;
         }
     }
+
+    /**
+     * 리포트 집계 결과 (DB 조회 단계 → AI 분석 단계로 전달)
+     */
+    private record ReportData(String monthStr, int totalSpending, int prevSpending,
+                              Map<String, Integer> categoryBreakdown,
+                              List<Map<String, Object>> currentData) {
+
+        int difference() {
+            return totalSpending - prevSpending;
+        }
+    }
+
+    /**
+     * AI(또는 로컬) 분석 결과
+     */
+    private record ReportAnalysis(String analysisSummary, List<String> keyInsights,
+                                  List<SavingRecommendation> recommendations) {
+    }
 }
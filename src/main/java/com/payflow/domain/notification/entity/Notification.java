@@ -6,7 +6,17 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "notifications")
+@Table(
+        name = "notifications",
+        uniqueConstraints = {
+                // 중복 발송 방지 최종 보호 (결제 주기 + 알림 타입당 1건), 조회 인덱스 겸용
+                @UniqueConstraint(name = "uk_notifications_payment_cycle_type", columnNames = {"payment_cycle_id", "type"})
+        },
+        indexes = {
+                // 아웃박스 발송 대상 키셋 (sent = false ORDER BY user_id, notification_id → filesort 없음)
+                @Index(name = "idx_notifications_sent_user_notification", columnList = "sent, user_id, notification_id")
+        }
+)
 @Getter
 @NoArgsConstructor
 @AllArgsConstructor
@@ -39,6 +49,18 @@ public class Notification {
     @Column(nullable = false, columnDefinition = "datetime default CURRENT_TIMESTAMP")
     private LocalDateTime createdAt;
 
+    /**
+     * 아웃박스 재시도 정보
+     */
+    @Column(name = "attempt_count", nullable = false)
+    private int attemptCount;
+
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
     @PrePersist
     void prePersist() {
         this.createdAt = LocalDateTime.now();
@@ -50,6 +72,32 @@ public class Notification {
     public void markAsSent() {
         this.sent = true;
         this.sentAt = LocalDateTime.now();
+        this.nextAttemptAt = null;
+    }
+
+    /**
+     * 발송 실패 처리 (nextAttemptAt 이후 재시도)
+     */
+    public void markAsFailed(String error, LocalDateTime nextAttemptAt) {
+        this.attemptCount++;
+        this.lastError = truncate(error);
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    /**
+     * 발송 포기 처리 (결제 완료 등으로 더 이상 보낼 필요가 없는 알림)
+     */
+    public void markAsAbandoned(String reason, int maxAttempts) {
+        this.attemptCount = maxAttempts;
+        this.lastError = truncate(reason);
+        this.nextAttemptAt = null;
+    }
+
+    private static String truncate(String text) {
+        if (text == null || text.length() <= 500) {
+            return text;
+        }
+        return text.substring(0, 500);
     }
 
     public enum NotificationType {
@@ -2,14 +2,18 @@ package com.payflow.domain.notification.repository;
 
 import com.payflow.domain.notification.entity.Notification;
 import com.payflow.domain.notification.entity.Notification.NotificationType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface NotificationRepository extends JpaRepository<Notification, Long> {
+public interface NotificationRepository extends JpaRepository<Notification, Long>, NotificationRepositoryCustom {
 
     /**
      * 특정 사용자의 모든 알림 조회
@@ -21,11 +25,45 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
      */
     Optional<Notification> findByPaymentCycleIdAndType(Long paymentCycleId, NotificationType type);
 
+    /**
+     * 주어진 결제 주기 중 특정 타입 알림이 이미 있는 결제 주기 ID 조회 (Redis 장애 시 중복 확인 DB fallback)
+     */
+    @Query("SELECT n.paymentCycleId FROM Notification n " +
+           "WHERE n.type = :type " +
+           "AND n.paymentCycleId IN :paymentCycleIds")
+    List<Long> findPaymentCycleIdsByTypeAndPaymentCycleIdIn(
+        @Param("type") NotificationType type,
+        @Param("paymentCycleIds") List<Long> paymentCycleIds
+    );
+
     /**
      * 발송되지 않은 알림 조회
      */
     List<Notification> findBySentFalse();
 
+    /**
+     * 아웃박스 발송 대상 조회 (미발송 + 재시도 시각 도래 + 재시도 한도 미만)
+     * (userId, notificationId) 키셋 → 같은 사용자의 알림이 한 배치에 모임 (다이제스트 발송용)
+     * idx_notifications_sent_user_notification 순서대로 읽고 LIMIT에서 멈춤 (배치마다 미발송 전체를 정렬하지 않음)
+     * reminderCutoff 이후 등록된 리마인더는 제외 (리마인더 등록 작업이 끝날 때까지 다이제스트 보류)
+     */
+    @Query("SELECT n FROM Notification n " +
+           "WHERE n.sent = false " +
+           "AND (n.nextAttemptAt IS NULL OR n.nextAttemptAt <= :now) " +
+           "AND n.attemptCount < :maxAttempts " +
+           "AND (n.type = 'OVERDUE' OR n.createdAt < :reminderCutoff) " +
+           "AND (n.userId > :lastUserId " +
+           "     OR (n.userId = :lastUserId AND n.notificationId > :lastNotificationId)) " +
+           "ORDER BY n.userId ASC, n.notificationId ASC")
+    List<Notification> findOutboxBatch(
+        @Param("now") LocalDateTime now,
+        @Param("maxAttempts") int maxAttempts,
+        @Param("reminderCutoff") LocalDateTime reminderCutoff,
+        @Param("lastUserId") Long lastUserId,
+        @Param("lastNotificationId") Long lastNotificationId,
+        Pageable pageable
+    );
+
     /**
      * 특정 사용자의 발송된 알림 조회
      */
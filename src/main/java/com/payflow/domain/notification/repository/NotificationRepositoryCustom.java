@@ -0,0 +1,16 @@
+package com.payflow.domain.notification.repository;
+
+import com.payflow.domain.notification.entity.Notification;
+
+import java.util.List;
+
+public interface NotificationRepositoryCustom {
+
+    /**
+     * 알림 일괄 등록 (INSERT 1번), 같은 (payment_cycle_id, type) 알림이 이미 있으면 그 행만 건너뜀
+     * 중복 판정은 uk_notifications_payment_cycle_type → 저장 전 조회 없이 Redis 키 유실에도 안전
+     * 등록된 알림은 영속성 컨텍스트에 올라가지 않음 (ID 없음)
+     * @return 새로 등록된 건수
+     */
+    int insertIgnoringDuplicates(List<Notification> notifications);
+}
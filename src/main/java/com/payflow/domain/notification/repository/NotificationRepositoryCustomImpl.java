@@ -0,0 +1,48 @@
+package com.payflow.domain.notification.repository;
+
+import com.payflow.domain.notification.entity.Notification;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class NotificationRepositoryCustomImpl implements NotificationRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * INSERT IGNORE ... VALUES (...), (...) → UNIQUE 충돌 행만 건너뛰고 영향받은 행 수 = 새로 등록된 건수
+     * (IDENTITY 키라 saveAll은 행마다 INSERT → 여러 행 VALUES 1번으로 대체)
+     */
+    @Override
+    public int insertIgnoringDuplicates(List<Notification> notifications) {
+        if (notifications.isEmpty()) {
+            return 0;
+        }
+
+        StringBuilder sql = new StringBuilder(
+                "INSERT IGNORE INTO notifications (user_id, payment_cycle_id, type, message, sent, created_at, attempt_count) VALUES ");
+        for (int i = 0; i < notifications.size(); i++) {
+            sql.append(i == 0 ? "" : ", ")
+                    .append("(:userId").append(i)
+                    .append(", :paymentCycleId").append(i)
+                    .append(", :type").append(i)
+                    .append(", :message").append(i)
+                    .append(", false, :createdAt, 0)");
+        }
+
+        Query query = entityManager.createNativeQuery(sql.toString())
+                .setParameter("createdAt", LocalDateTime.now());
+        for (int i = 0; i < notifications.size(); i++) {
+            Notification notification = notifications.get(i);
+            query.setParameter("userId" + i, notification.getUserId())
+                    .setParameter("paymentCycleId" + i, notification.getPaymentCycleId())
+                    .setParameter("type" + i, notification.getType().name())
+                    .setParameter("message" + i, notification.getMessage());
+        }
+        return query.executeUpdate();
+    }
+}
@@ -1,21 +1,32 @@
 package com.payflow.domain.notification.service;
 
+import com.payflow.domain.notification.template.EmailTemplateRenderer;
+import com.payflow.domain.notification.template.ReminderLine;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class EmailService {
 
     private final JavaMailSender mailSender;
+    private final EmailTemplateRenderer templateRenderer;
 
     @Value("${spring.mail.username}")
     private String fromEmail;
@@ -44,13 +55,7 @@ public class EmailService {
      */
     public void sendHtmlEmail(String to, String subject, String htmlBody) {
         try {
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-            
-            helper.setFrom(fromEmail);
-            helper.setTo(to);
-            helper.setSubject(subject);
-            helper.setText(htmlBody, true);
+            MimeMessage message = createHtmlMessage(to, subject, htmlBody);
             
             mailSender.send(message);
             log.info("📧 HTML 이메일 발송 성공: to={}, subject={}", to, subject);
@@ -61,93 +66,89 @@ public class EmailService {
     }
 
     /**
-     * 결제 리마인더 이메일 HTML 템플릿
+     * HTML 이메일 일괄 발송 (SMTP 연결 1개로 전체 발송)
+     *
+     * JavaMailSender.send(MimeMessage...)는 Transport를 한 번만 연결하고 메시지를 순서대로 보냄
+     * → 메시지마다 TCP/TLS 핸드셰이크를 반복하지 않음
+     * 개별 메시지 실패는 배치를 중단하지 않고 결과에 담아서 반환
+     *
+     * @return 실패한 메시지의 인덱스(emails 기준) → 원인 (비어 있으면 전부 성공)
+     */
+    public Map<Integer, Exception> sendHtmlEmails(List<HtmlEmail> emails) {
+        Map<Integer, Exception> failures = new HashMap<>();
+        Map<MimeMessage, Integer> indexByMessage = new IdentityHashMap<>();
+        List<MimeMessage> messages = new ArrayList<>();
+
+        for (int i = 0; i < emails.size(); i++) {
+            HtmlEmail email = emails.get(i);
+            try {
+                MimeMessage message = createHtmlMessage(email.to(), email.subject(), email.htmlBody());
+                indexByMessage.put(message, i);
+                messages.add(message);
+            } catch (MessagingException e) {
+                failures.put(i, e);
+            }
+        }
+
+        if (!messages.isEmpty()) {
+            try {
+                mailSender.send(messages.toArray(new MimeMessage[0]));
+            } catch (MailSendException e) {
+                // 메시지별 실패 (연결 실패 시에는 전체 메시지가 담겨 있음)
+                e.getFailedMessages().forEach((message, cause) -> {
+                    Integer index = indexByMessage.get(message);
+                    if (index != null) {
+                        failures.put(index, cause);
+                    }
+                });
+                if (e.getFailedMessages().isEmpty()) {
+                    indexByMessage.values().forEach(index -> failures.put(index, e));
+                }
+            } catch (MailException e) {
+                // 인증 실패 등 배치 전체 실패
+                indexByMessage.values().forEach(index -> failures.put(index, e));
+            }
+        }
+
+        log.info("📧 HTML 이메일 일괄 발송: 전체 {} 건, 실패 {} 건", emails.size(), failures.size());
+        return failures;
+    }
+
+    private MimeMessage createHtmlMessage(String to, String subject, String htmlBody) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+
+        helper.setFrom(fromEmail);
+        helper.setTo(to);
+        helper.setSubject(subject);
+        helper.setText(htmlBody, true);
+        return message;
+    }
+
+    /**
+     * 일괄 발송용 HTML 이메일
+     */
+    public record HtmlEmail(String to, String subject, String htmlBody) {
+    }
+
+    /**
+     * 결제 리마인더 이메일 HTML (templates/email/payment-reminder.html)
      */
     public String createPaymentReminderHtml(String subscriptionName, String dueDate, int daysAhead, int amount) {
-        return String.format("""
-            <!DOCTYPE html>
-            <html>
-            <head>
-                <meta charset="UTF-8">
-                <style>
-                    body { font-family: 'Arial', sans-serif; line-height: 1.6; color: #333; }
-                    .container { max-width: 600px; margin: 0 auto; padding: 20px; }
-                    .header { background: linear-gradient(135deg, #667eea 0%%, #764ba2 100%%); color: white; padding: 30px; text-align: center; border-radius: 10px 10px 0 0; }
-                    .content { background: #f9f9f9; padding: 30px; border-radius: 0 0 10px 10px; }
-                    .highlight { background: #fff; padding: 20px; border-left: 4px solid #667eea; margin: 20px 0; }
-                    .footer { text-align: center; margin-top: 20px; color: #777; font-size: 12px; }
-                    .button { display: inline-block; padding: 12px 30px; background: #667eea; color: white; text-decoration: none; border-radius: 5px; margin: 20px 0; }
-                </style>
-            </head>
-            <body>
-                <div class="container">
-                    <div class="header">
-                        <h1>💳 PayFlow</h1>
-                        <p>결제 알림</p>
-                    </div>
-                    <div class="content">
-                        <h2>안녕하세요!</h2>
-                        <p><strong>%s</strong> 구독의 결제일이 다가오고 있습니다.</p>
-                        <div class="highlight">
-                            <p>📅 <strong>결제 예정일:</strong> %s</p>
-                            <p>⏰ <strong>남은 기간:</strong> %d일</p>
-                            <p>💰 <strong>결제 금액:</strong> ₩%,d원</p>
-                        </div>
-                        <p>결제 수단과 잔액을 미리 확인해주세요.</p>
-                        <a href="http://localhost:5173/payments" class="button">결제 확인하기</a>
-                        <div class="footer">
-                            <p>이 메일은 PayFlow에서 자동으로 발송되었습니다.</p>
-                            <p>알림 설정은 구독 관리 페이지에서 변경할 수 있습니다.</p>
-                        </div>
-                    </div>
-                </div>
-            </body>
-            </html>
-            """, subscriptionName, dueDate, daysAhead, amount);
+        return templateRenderer.renderPaymentReminder(subscriptionName, dueDate, daysAhead, amount);
     }
 
     /**
-     * 연체 알림 이메일 HTML 템플릿
+     * 연체 알림 이메일 HTML (templates/email/overdue-notification.html)
      */
     public String createOverdueNotificationHtml(String subscriptionName, String dueDate, int amount) {
-        return String.format("""
-            <!DOCTYPE html>
-            <html>
-            <head>
-                <meta charset="UTF-8">
-                <style>
-                    body { font-family: 'Arial', sans-serif; line-height: 1.6; color: #333; }
-                    .container { max-width: 600px; margin: 0 auto; padding: 20px; }
-                    .header { background: linear-gradient(135deg, #ef4444 0%%, #dc2626 100%%); color: white; padding: 30px; text-align: center; border-radius: 10px 10px 0 0; }
-                    .content { background: #f9f9f9; padding: 30px; border-radius: 0 0 10px 10px; }
-                    .warning { background: #fef2f2; padding: 20px; border-left: 4px solid #ef4444; margin: 20px 0; }
-                    .footer { text-align: center; margin-top: 20px; color: #777; font-size: 12px; }
-                    .button { display: inline-block; padding: 12px 30px; background: #ef4444; color: white; text-decoration: none; border-radius: 5px; margin: 20px 0; }
-                </style>
-            </head>
-            <body>
-                <div class="container">
-                    <div class="header">
-                        <h1>⚠️ PayFlow</h1>
-                        <p>결제 연체 알림</p>
-                    </div>
-                    <div class="content">
-                        <h2>결제일이 지났습니다</h2>
-                        <p><strong>%s</strong> 구독의 결제가 완료되지 않았습니다.</p>
-                        <div class="warning">
-                            <p>📅 <strong>결제일:</strong> %s</p>
-                            <p>💰 <strong>미납 금액:</strong> ₩%,d원</p>
-                            <p>⚠️ 연체료가 발생하거나 서비스가 중단될 수 있습니다.</p>
-                        </div>
-                        <p>빠른 시일 내에 결제를 완료해주세요.</p>
-                        <a href="http://localhost:5173/payments" class="button">결제 확인하기</a>
-                        <div class="footer">
-                            <p>이 메일은 PayFlow에서 자동으로 발송되었습니다.</p>
-                        </div>
-                    </div>
-                </div>
-            </body>
-            </html>
-            """, subscriptionName, dueDate, amount);
+        return templateRenderer.renderOverdueNotification(subscriptionName, dueDate, amount);
+    }
+
+    /**
+     * 결제 리마인더 다이제스트 HTML (templates/email/payment-reminder-digest.html)
+     */
+    public String createPaymentReminderDigestHtml(List<ReminderLine> lines) {
+        return templateRenderer.renderPaymentReminderDigest(lines);
     }
 }
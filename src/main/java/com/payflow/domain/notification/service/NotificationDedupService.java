@@ -0,0 +1,159 @@
+package com.payflow.domain.notification.service;
+
+import com.payflow.domain.notification.entity.Notification.NotificationType;
+import com.payflow.domain.notification.repository.NotificationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 알림 중복 발송 방지 (결제 주기 + 알림 타입당 1번)
+ *
+ * 📌 흐름:
+ * 1. Redis: Lua 스크립트 1번으로 모든 (cycleId, type) 키에 SET NX EX → 새로 기록된 것만 발송 대상
+ *    TTL은 결제일 + 7일까지 (그 이후에는 같은 알림이 다시 만들어질 일이 없음)
+ * 2. Redis 장애 시: notifications 테이블을 IN 쿼리 1번으로 확인 (fallback)
+ * 3. 최종 보호: notifications (payment_cycle_id, type) UNIQUE 제약 + INSERT IGNORE
+ *    (Redis 키가 유실된 경우 이미 있는 알림은 INSERT에서 건너뜀 → 정상 경로는 DB 조회 없음)
+ *
+ * 트랜잭션 안에서 claim한 키는 롤백 시 삭제 → 다음 실행에서 다시 등록 가능
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NotificationDedupService {
+
+    private static final String KEY_PREFIX = "notification:dedup:";
+    private static final long KEEP_AFTER_DUE_DAYS = 7;
+
+    /**
+     * KEYS[i]에 SET NX EX ARGV[i] → 새로 기록했으면 1, 이미 있으면 0
+     */
+    private static final RedisScript<List> CLAIM_SCRIPT = new DefaultRedisScript<>("""
+            local result = {}
+            for i, key in ipairs(KEYS) do
+                if redis.call('SET', key, '1', 'NX', 'EX', ARGV[i]) then
+                    result[i] = 1
+                else
+                    result[i] = 0
+                end
+            end
+            return result
+            """, List.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final NotificationRepository notificationRepository;
+
+    /**
+     * 아직 등록되지 않은 결제 주기만 골라서 등록 처리
+     * @param type 알림 타입
+     * @param dueDateByCycleId 결제 주기 ID → 결제일 (TTL 계산용)
+     * @return 이번에 새로 등록된 결제 주기 ID (이 ID들만 알림 생성)
+     */
+    public Set<Long> claim(NotificationType type, Map<Long, LocalDate> dueDateByCycleId) {
+        if (dueDateByCycleId.isEmpty()) {
+            return Set.of();
+        }
+
+        List<Long> cycleIds = new ArrayList<>(dueDateByCycleId.keySet());
+        Set<Long> claimed;
+        try {
+            claimed = claimInRedis(type, cycleIds, dueDateByCycleId);
+            releaseOnRollback(type, claimed);
+        } catch (DataAccessException e) {
+            log.warn("Redis 중복 확인 실패 → DB 확인으로 대체: type={}, count={}, error={}", type, cycleIds.size(), e.getMessage());
+            claimed = claimInDatabase(type, cycleIds);
+        }
+        return claimed;
+    }
+
+    /**
+     * 등록 취소 (알림 저장 실패 시 다음 실행에서 다시 등록할 수 있도록)
+     */
+    public void release(NotificationType type, Collection<Long> cycleIds) {
+        if (cycleIds.isEmpty()) {
+            return;
+        }
+        try {
+            stringRedisTemplate.delete(cycleIds.stream().map(cycleId -> key(type, cycleId)).toList());
+        } catch (DataAccessException e) {
+            log.warn("Redis 중복 확인 키 삭제 실패: type={}, count={}, error={}", type, cycleIds.size(), e.getMessage());
+        }
+    }
+
+    private Set<Long> claimInRedis(NotificationType type, List<Long> cycleIds, Map<Long, LocalDate> dueDateByCycleId) {
+        List<String> keys = new ArrayList<>(cycleIds.size());
+        Object[] ttlSeconds = new Object[cycleIds.size()];
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < cycleIds.size(); i++) {
+            Long cycleId = cycleIds.get(i);
+            keys.add(key(type, cycleId));
+            ttlSeconds[i] = Long.toString(ttlSeconds(dueDateByCycleId.get(cycleId), now));
+        }
+
+        List<?> results = stringRedisTemplate.execute(CLAIM_SCRIPT, keys, ttlSeconds);
+
+        Set<Long> claimed = new LinkedHashSet<>();
+        for (int i = 0; i < cycleIds.size(); i++) {
+            if (results != null && ((Number) results.get(i)).longValue() == 1L) {
+                claimed.add(cycleIds.get(i));
+            }
+        }
+        return claimed;
+    }
+
+    private Set<Long> claimInDatabase(NotificationType type, List<Long> cycleIds) {
+        Set<Long> existing = new HashSet<>(notificationRepository.findPaymentCycleIdsByTypeAndPaymentCycleIdIn(type, cycleIds));
+
+        Set<Long> claimed = new LinkedHashSet<>();
+        for (Long cycleId : cycleIds) {
+            if (!existing.contains(cycleId)) {
+                claimed.add(cycleId);
+            }
+        }
+        return claimed;
+    }
+
+    private void releaseOnRollback(NotificationType type, Set<Long> claimed) {
+        if (claimed.isEmpty() || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    release(type, claimed);
+                }
+            }
+        });
+    }
+
+    private static long ttlSeconds(LocalDate dueDate, LocalDateTime now) {
+        if (dueDate == null) {
+            return Duration.ofDays(KEEP_AFTER_DUE_DAYS).toSeconds();
+        }
+        long seconds = Duration.between(now, dueDate.plusDays(KEEP_AFTER_DUE_DAYS).atStartOfDay()).toSeconds();
+        return Math.max(seconds, Duration.ofDays(1).toSeconds());
+    }
+
+    private static String key(NotificationType type, Long cycleId) {
+        return KEY_PREFIX + type + ":" + cycleId;
+    }
+}
@@ -0,0 +1,416 @@
+package com.payflow.domain.notification.service;
+
+import com.payflow.domain.notification.entity.Notification;
+import com.payflow.domain.notification.entity.Notification.NotificationType;
+import com.payflow.domain.notification.repository.NotificationRepository;
+import com.payflow.domain.notification.service.EmailService.HtmlEmail;
+import com.payflow.domain.notification.template.ReminderLine;
+import com.payflow.domain.payment.entity.PaymentCycle;
+import com.payflow.domain.payment.entity.PaymentCycle.PaymentStatus;
+import com.payflow.domain.payment.repository.PaymentCycleRepository;
+import com.payflow.domain.subscription.entity.Subscription;
+import com.payflow.domain.subscription.repository.SubscriptionRepository;
+import com.payflow.domain.user.entity.User;
+import com.payflow.domain.user.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 알림 아웃박스 발송 워커
+ *
+ * 📌 흐름:
+ * 1. notifications(sent = false, 재시도 시각 도래) 를 batchSize 단위로 조회
+ * 2. 결제 주기/구독/사용자를 배치당 findAllById 1번씩 조회
+ * 3. 배치를 workers 개로 나눠 notificationExecutor에서 병렬 발송
+ *    (워커마다 SMTP 연결 1개로 일괄 발송, ratePerSecond로 전체 발송 속도 제한)
+ * 4. 성공 → sent = true, 실패 → attemptCount 증가 + 지수 백오프 후 재시도, maxAttempts 도달 시 중단
+ *
+ * 다이제스트 모드(payflow.notification.digest.enabled): 같은 사용자의 D-3/D-1 리마인더를 이메일 1통으로 발송
+ * - 리마인더 등록 작업(파티션별로 나눠 등록)이 끝나기 전에는 오늘 등록된 리마인더를 보내지 않음
+ *   → 파티션마다 따로 다이제스트가 나가지 않고 사용자당 하루 1통
+ * - 작업이 끝나지 않아도 digestMaxHoldMinutes가 지난 리마인더는 발송 (작업 시간 초과 대비)
+ */
+@Slf4j
+@Component
+public class NotificationOutboxWorker {
+
+    private final NotificationRepository notificationRepository;
+    private final PaymentCycleRepository paymentCycleRepository;
+    private final SubscriptionRepository subscriptionRepository;
+    private final UserRepository userRepository;
+    private final EmailService emailService;
+    private final Executor notificationExecutor;
+    private final SendRateLimiter rateLimiter;
+
+    @Value("${payflow.notification.outbox.batch-size:200}")
+    private int batchSize;
+
+    @Value("${payflow.notification.outbox.workers:4}")
+    private int workers;
+
+    @Value("${payflow.notification.outbox.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${payflow.notification.outbox.backoff-base-seconds:60}")
+    private long backoffBaseSeconds;
+
+    @Value("${payflow.notification.outbox.backoff-max-seconds:3600}")
+    private long backoffMaxSeconds;
+
+    @Value("${payflow.notification.digest.enabled:true}")
+    private boolean digestEnabled;
+
+    @Value("${payflow.notification.digest.max-hold-minutes:90}")
+    private long digestMaxHoldMinutes;
+
+    public NotificationOutboxWorker(NotificationRepository notificationRepository,
+                                    PaymentCycleRepository paymentCycleRepository,
+                                    SubscriptionRepository subscriptionRepository,
+                                    UserRepository userRepository,
+                                    EmailService emailService,
+                                    @Qualifier("notificationExecutor") Executor notificationExecutor,
+                                    @Value("${payflow.notification.outbox.rate-per-second:10}") int ratePerSecond) {
+        this.notificationRepository = notificationRepository;
+        this.paymentCycleRepository = paymentCycleRepository;
+        this.subscriptionRepository = subscriptionRepository;
+        this.userRepository = userRepository;
+        this.emailService = emailService;
+        this.notificationExecutor = notificationExecutor;
+        this.rateLimiter = new SendRateLimiter(ratePerSecond);
+    }
+
+    /**
+     * 발송 대기 알림을 모두 처리 (스케줄러 스레드에서 호출, 배치마다 워커 완료를 기다림)
+     * @return 발송 성공 건수
+     */
+    public int drain() {
+        return drain(() -> true, true);
+    }
+
+    /**
+     * 발송 대기 알림 처리 (배치 시작 전마다 keepGoing 확인 → false면 중단)
+     * 스케줄러 리스를 배치 사이마다 연장하고, 리스를 잃으면 다른 인스턴스에 넘기기 위해 사용
+     * @param reminderRunComplete 오늘 리마인더 등록 작업이 모든 파티션에서 끝났는지 (false면 오늘 리마인더 보류)
+     */
+    public int drain(BooleanSupplier keepGoing, boolean reminderRunComplete) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime reminderCutoff = reminderCutoff(now, reminderRunComplete);
+        long lastUserId = 0L;
+        long lastNotificationId = 0L;
+        int sent = 0;
+        int total = 0;
+
+        while (keepGoing.getAsBoolean()) {
+            List<Notification> batch = notificationRepository.findOutboxBatch(
+                    now, maxAttempts, reminderCutoff, lastUserId, lastNotificationId, PageRequest.of(0, batchSize));
+            if (batch.isEmpty()) {
+                break;
+            }
+            boolean hasMore = batch.size() == batchSize;
+            if (hasMore) {
+                // 배치 경계에 걸친 마지막 사용자의 알림은 다음 배치로 넘겨서 다이제스트가 나뉘지 않게 함
+                batch = withoutTrailingUser(batch);
+            }
+
+            OutboxContext context = loadContext(batch);
+
+            List<CompletableFuture<Integer>> futures = new ArrayList<>();
+            for (List<Notification> slice : partitionByUser(batch, Math.max(workers, 1))) {
+                futures.add(CompletableFuture.supplyAsync(() -> sendAll(slice, context), notificationExecutor));
+            }
+            for (CompletableFuture<Integer> future : futures) {
+                sent += future.join();
+            }
+
+            total += batch.size();
+            Notification last = batch.get(batch.size() - 1);
+            lastUserId = last.getUserId();
+            lastNotificationId = last.getNotificationId();
+            if (!hasMore) {
+                break;
+            }
+        }
+
+        if (total > 0) {
+            log.info("📧 알림 아웃박스 처리: 대상 {} 건, 발송 {} 건", total, sent);
+        }
+        return sent;
+    }
+
+    /**
+     * 이 시각 이후 등록된 리마인더는 이번 처리에서 제외
+     * 등록 작업이 진행 중이면 오늘 0시 (단, 최대 digestMaxHoldMinutes까지만 보류), 아니면 전부 발송
+     */
+    private LocalDateTime reminderCutoff(LocalDateTime now, boolean reminderRunComplete) {
+        if (!digestEnabled || reminderRunComplete) {
+            return now;
+        }
+        LocalDateTime startOfDay = now.toLocalDate().atStartOfDay();
+        LocalDateTime holdLimit = now.minusMinutes(digestMaxHoldMinutes);
+        return startOfDay.isAfter(holdLimit) ? startOfDay : holdLimit;
+    }
+
+    /**
+     * 워커 1개가 맡은 알림을 SMTP 연결 1개로 일괄 발송
+     * 다이제스트 모드에서는 사용자별 리마인더를 이메일 1통으로 묶음 (알림 행은 결제 주기마다 그대로 유지)
+     */
+    private int sendAll(List<Notification> notifications, OutboxContext context) {
+        List<List<Notification>> groups = new ArrayList<>();
+        List<HtmlEmail> emails = new ArrayList<>();
+        Map<Long, List<Notification>> remindersByUser = new LinkedHashMap<>();
+
+        for (Notification notification : notifications) {
+            if (!isSendable(notification, context)) {
+                continue;
+            }
+            if (digestEnabled && notification.getType() != NotificationType.OVERDUE) {
+                remindersByUser.computeIfAbsent(notification.getUserId(), userId -> new ArrayList<>()).add(notification);
+            } else {
+                groups.add(List.of(notification));
+                emails.add(render(notification, context));
+            }
+        }
+        for (List<Notification> reminders : remindersByUser.values()) {
+            groups.add(reminders);
+            emails.add(reminders.size() == 1 ? render(reminders.get(0), context) : renderDigest(reminders, context));
+        }
+        if (emails.isEmpty()) {
+            return 0;
+        }
+
+        List<Notification> pending = groups.stream().flatMap(List::stream).toList();
+        try {
+            rateLimiter.acquire(emails.size());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pending.forEach(notification -> retryLater(notification, "발송 중단"));
+            notificationRepository.saveAll(pending);
+            return 0;
+        }
+
+        Map<Integer, Exception> failures = emailService.sendHtmlEmails(emails);
+
+        int sent = 0;
+        for (int i = 0; i < groups.size(); i++) {
+            Exception failure = failures.get(i);
+            for (Notification notification : groups.get(i)) {
+                if (failure == null) {
+                    // 발송 완료 처리
+                    notification.markAsSent();
+                    sent++;
+                } else {
+                    log.error("📧 [이메일 발송 실패] notificationId={}, userId={}, attempt={}, error={}",
+                            notification.getNotificationId(), notification.getUserId(),
+                            notification.getAttemptCount() + 1, failure.getMessage());
+                    retryLater(notification, failure.getMessage());
+                }
+            }
+        }
+        notificationRepository.saveAll(pending);
+        return sent;
+    }
+
+    /**
+     * 발송 가능 여부 확인 (보낼 필요가 없어진 알림은 중단 처리)
+     */
+    private boolean isSendable(Notification notification, OutboxContext context) {
+        PaymentCycle cycle = context.cycles().get(notification.getPaymentCycleId());
+        Subscription subscription = cycle == null ? null : context.subscriptions().get(cycle.getSubscriptionId());
+        User user = context.users().get(notification.getUserId());
+
+        if (cycle == null || subscription == null || user == null) {
+            abandon(notification, "결제 주기/구독/사용자 정보를 찾을 수 없습니다");
+            return false;
+        }
+
+        // 발송 대기 중에 결제 완료/취소된 경우 더 이상 보낼 필요 없음
+        PaymentStatus expected = notification.getType() == NotificationType.OVERDUE ? PaymentStatus.OVERDUE : PaymentStatus.PENDING;
+        if (cycle.getStatus() != expected) {
+            abandon(notification, "결제 주기 상태 변경: " + cycle.getStatus());
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 사용자별 리마인더 다이제스트 이메일 생성
+     */
+    private HtmlEmail renderDigest(List<Notification> reminders, OutboxContext context) {
+        List<ReminderLine> lines = new ArrayList<>();
+        for (Notification notification : reminders) {
+            PaymentCycle cycle = context.cycles().get(notification.getPaymentCycleId());
+            Subscription subscription = context.subscriptions().get(cycle.getSubscriptionId());
+            lines.add(new ReminderLine(
+                    subscription.getSubscriptionsName(),
+                    cycle.getDueDate().toString(),
+                    notification.getType() == NotificationType.D3_REMINDER ? 3 : 1,
+                    subscription.getAmount()
+            ));
+        }
+        lines.sort(Comparator.comparing(ReminderLine::dueDate));
+
+        User user = context.users().get(reminders.get(0).getUserId());
+        return new HtmlEmail(
+                user.getEmail(),
+                String.format("[PayFlow] 결제 예정 알림 (%d건)", lines.size()),
+                emailService.createPaymentReminderDigestHtml(lines)
+        );
+    }
+
+    /**
+     * 알림 1건짜리 이메일 생성 (isSendable 확인 후 호출)
+     */
+    private HtmlEmail render(Notification notification, OutboxContext context) {
+        PaymentCycle cycle = context.cycles().get(notification.getPaymentCycleId());
+        Subscription subscription = context.subscriptions().get(cycle.getSubscriptionId());
+        User user = context.users().get(notification.getUserId());
+
+        if (notification.getType() == NotificationType.OVERDUE) {
+            return new HtmlEmail(
+                    user.getEmail(),
+                    String.format("⚠️ [PayFlow] %s 결제 연체 알림", subscription.getSubscriptionsName()),
+                    emailService.createOverdueNotificationHtml(
+                            subscription.getSubscriptionsName(),
+                            cycle.getDueDate().toString(),
+                            subscription.getAmount()
+                    )
+            );
+        }
+
+        int daysAhead = notification.getType() == NotificationType.D3_REMINDER ? 3 : 1;
+        return new HtmlEmail(
+                user.getEmail(),
+                String.format("[PayFlow] %s 결제 D-%d 알림", subscription.getSubscriptionsName(), daysAhead),
+                emailService.createPaymentReminderHtml(
+                        subscription.getSubscriptionsName(),
+                        cycle.getDueDate().toString(),
+                        daysAhead,
+                        subscription.getAmount()
+                )
+        );
+    }
+
+    /**
+     * 지수 백오프: base * 2^attemptCount (최대 backoffMaxSeconds)
+     */
+    private void retryLater(Notification notification, String error) {
+        long delay = backoffBaseSeconds << Math.min(notification.getAttemptCount(), 20);
+        long delaySeconds = Math.min(delay, backoffMaxSeconds);
+        notification.markAsFailed(error, LocalDateTime.now().plusSeconds(delaySeconds));
+    }
+
+    private void abandon(Notification notification, String reason) {
+        log.info("알림 발송 중단: notificationId={}, reason={}", notification.getNotificationId(), reason);
+        notification.markAsAbandoned(reason, maxAttempts);
+        notificationRepository.save(notification);
+    }
+
+    private OutboxContext loadContext(List<Notification> batch) {
+        Map<Long, PaymentCycle> cycles = paymentCycleRepository.findAllById(
+                        batch.stream().map(Notification::getPaymentCycleId).filter(Objects::nonNull).distinct().toList())
+                .stream()
+                .collect(Collectors.toMap(PaymentCycle::getCycleId, Function.identity()));
+
+        Map<Long, Subscription> subscriptions = subscriptionRepository.findAllById(
+                        cycles.values().stream().map(PaymentCycle::getSubscriptionId).distinct().toList())
+                .stream()
+                .collect(Collectors.toMap(Subscription::getSubscriptionId, Function.identity()));
+
+        Map<Long, User> users = userRepository.findAllById(
+                        batch.stream().map(Notification::getUserId).distinct().toList())
+                .stream()
+                .collect(Collectors.toMap(User::getUserId, Function.identity()));
+
+        return new OutboxContext(cycles, subscriptions, users);
+    }
+
+    /**
+     * 사용자 단위로 워커에 분배 (한 사용자의 알림은 항상 같은 워커 → 다이제스트 1통)
+     */
+    private static List<List<Notification>> partitionByUser(List<Notification> batch, int parts) {
+        List<List<Notification>> slices = new ArrayList<>();
+        for (int i = 0; i < parts; i++) {
+            slices.add(new ArrayList<>());
+        }
+        for (Notification notification : batch) {
+            slices.get(Math.floorMod(notification.getUserId().hashCode(), parts)).add(notification);
+        }
+        slices.removeIf(List::isEmpty);
+        return slices;
+    }
+
+    /**
+     * 가득 찬 배치에서 마지막 사용자의 알림 제외 (배치 전체가 한 사용자면 그대로)
+     */
+    private static List<Notification> withoutTrailingUser(List<Notification> batch) {
+        Long trailingUserId = batch.get(batch.size() - 1).getUserId();
+        int end = batch.size();
+        while (end > 0 && batch.get(end - 1).getUserId().equals(trailingUserId)) {
+            end--;
+        }
+        return end == 0 ? batch : batch.subList(0, end);
+    }
+
+    private record OutboxContext(
+            Map<Long, PaymentCycle> cycles,
+            Map<Long, Subscription> subscriptions,
+            Map<Long, User> users
+    ) {
+    }
+
+    /**
+     * 워커 전체에서 공유하는 발송 속도 제한 (초당 ratePerSecond건, 0 이하면 제한 없음)
+     */
+    static final class SendRateLimiter {
+
+        private final long intervalNanos;
+        private final ReentrantLock lock = new ReentrantLock();
+        private long nextSlot = System.nanoTime();
+
+        SendRateLimiter(int ratePerSecond) {
+            this.intervalNanos = ratePerSecond > 0 ? TimeUnit.SECONDS.toNanos(1) / ratePerSecond : 0L;
+        }
+
+        /**
+         * permits건 발송 슬롯을 예약하고 마지막 슬롯 시각까지 대기
+         */
+        void acquire(int permits) throws InterruptedException {
+            if (intervalNanos == 0L || permits <= 0) {
+                return;
+            }
+
+            long waitNanos;
+            lock.lock();
+            try {
+                long now = System.nanoTime();
+                long slot = Math.max(nextSlot, now);
+                nextSlot = slot + intervalNanos * permits;
+                waitNanos = slot + intervalNanos * (permits - 1) - now;
+            } finally {
+                lock.unlock();
+            }
+
+            if (waitNanos > 0) {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            }
+        }
+    }
+}
@@ -1,9 +1,18 @@
 package com.payflow.domain.notification.service;
 
 import com.payflow.domain.payment.entity.PaymentCycle;
+import com.payflow.domain.payment.repository.PaymentCycleRepository.ReminderTarget;
+
+import java.time.LocalDate;
+import java.util.List;
 
 public interface NotificationService {
 
+    /*
+     * 알림은 notifications 테이블(sent = false)에 등록만 하고
+     * 실제 이메일은 NotificationOutboxWorker가 별도 스레드 풀에서 발송
+     */
+
     /**
      * 결제 리마인더 알림 발송 (D-3, D-1)
      * @param cycle 결제 주기
@@ -11,9 +20,24 @@ public interface NotificationService {
      */
     void sendPaymentReminder(PaymentCycle cycle, int daysAhead);
 
+    /**
+     * 결제 리마인더 알림 일괄 발송 (조회 쿼리에서 알림 설정까지 필터링된 대상, NotificationScheduler가 사용)
+     * 청크 단위 트랜잭션 → 저장 실패 시 청크 전체 롤백
+     * @param targets 리마인더 대상 (D-3, D-1 결제일)
+     * @param baseDate 기준일 (결제일 - 기준일 = 며칠 전 알림인지)
+     * @return 새로 등록된 알림 수 (이미 등록된 알림 제외)
+     */
+    int sendPaymentReminders(List<ReminderTarget> targets, LocalDate baseDate);
+
     /**
      * 연체 알림 발송
      * @param cycle 결제 주기
      */
     void sendOverdueNotification(PaymentCycle cycle);
+
+    /**
+     * 연체 알림 일괄 발송 (구독 일괄 조회 + saveAll, 호출한 쪽 트랜잭션에 참여)
+     * @param cycles 연체 처리된 결제 주기 청크
+     */
+    void sendOverdueNotifications(List<PaymentCycle> cycles);
 }
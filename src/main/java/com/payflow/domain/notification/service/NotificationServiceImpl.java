@@ -1,17 +1,26 @@
 package com.payflow.domain.notification.service;
 
 import com.payflow.domain.notification.entity.Notification;
+import com.payflow.domain.notification.entity.Notification.NotificationType;
 import com.payflow.domain.notification.repository.NotificationRepository;
 import com.payflow.domain.payment.entity.PaymentCycle;
+import com.payflow.domain.payment.repository.PaymentCycleRepository.ReminderTarget;
 import com.payflow.domain.subscription.entity.Subscription;
 import com.payflow.domain.subscription.repository.SubscriptionRepository;
-import com.payflow.domain.user.entity.User;
-import com.payflow.domain.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -19,95 +28,165 @@ public class NotificationServiceImpl implements NotificationService {
     
     private final NotificationRepository notificationRepository;
     private final SubscriptionRepository subscriptionRepository;
-    private final UserRepository userRepository;
-    private final EmailService emailService;
+    private final NotificationDedupService notificationDedupService;
 
 
     /**
-     * 결제 리마인더 알림 생성 및 발송
+     * 결제 리마인더 알림 생성 (아웃박스 등록)
+     * 이메일은 NotificationOutboxWorker가 트랜잭션 커밋 이후 발송
      */
     @Transactional
     @Override
     public void sendPaymentReminder(PaymentCycle cycle, int daysAhead) {
-        // 구독 정보 조회
         Subscription subscription = subscriptionRepository.findById(cycle.getSubscriptionId())
                 .orElseThrow(() -> new IllegalArgumentException("구독을 찾을 수 없습니다."));
 
         // 알림 설정 확인
-        boolean shouldSend = (daysAhead == 3 && subscription.getReminderD3()) ||
-                (daysAhead == 1 && subscription.getReminderD1());
-
-        if(!shouldSend) {
+        boolean shouldSend = (daysAhead == 3 && Boolean.TRUE.equals(subscription.getReminderD3())) ||
+                (daysAhead == 1 && Boolean.TRUE.equals(subscription.getReminderD1()));
+        if (!shouldSend) {
             return;
         }
 
-        // 알림 타입 설정
-        Notification.NotificationType type = daysAhead == 3 ? Notification.NotificationType.D3_REMINDER : Notification.NotificationType.D1_REMINDER;
-
         // 중복 발송 방지
-        if (notificationRepository.findByPaymentCycleIdAndType(cycle.getCycleId(), type).isPresent()) {
-            log.info("이미 발송된 알림: paymentCycleId={}, type={}", cycle.getCycleId(), type);
+        NotificationType type = reminderType(daysAhead);
+        if (notificationDedupService.claim(type, Map.of(cycle.getCycleId(), cycle.getDueDate())).isEmpty()) {
+            log.info("이미 등록된 알림: paymentCycleId={}, type={}", cycle.getCycleId(), type);
             return;
         }
 
+        saveClaimed(type, List.of(createReminder(subscription.getUserId(), cycle.getCycleId(), cycle.getDueDate(),
+                subscription.getSubscriptionsName(), subscription.getAmount(), daysAhead)));
+    }
+
+
+    /**
+     * 결제 리마인더 알림 일괄 생성 (조회 쿼리에서 알림 설정까지 필터링된 대상)
+     * 중복 확인은 타입별 Redis 호출 1번, 저장은 타입별 INSERT 1번
+     * 청크 전체가 트랜잭션 1개 → 저장 실패로 롤백되면 이번에 claim한 Redis 키도 삭제되어 다음 실행에서 다시 등록
+     */
+    @Transactional
+    @Override
+    public int sendPaymentReminders(List<ReminderTarget> targets, LocalDate baseDate) {
+        Map<NotificationType, Map<Long, ReminderTarget>> targetsByType = new LinkedHashMap<>();
+        for (ReminderTarget target : targets) {
+            int daysAhead = (int) (target.getDueDate().toEpochDay() - baseDate.toEpochDay());
+            targetsByType.computeIfAbsent(reminderType(daysAhead), type -> new LinkedHashMap<>())
+                    .put(target.getCycleId(), target);
+        }
+
+        int created = 0;
+        for (Map.Entry<NotificationType, Map<Long, ReminderTarget>> entry : targetsByType.entrySet()) {
+            NotificationType type = entry.getKey();
+            Map<Long, ReminderTarget> byCycleId = entry.getValue();
+
+            Map<Long, LocalDate> dueDates = new LinkedHashMap<>();
+            byCycleId.forEach((cycleId, target) -> dueDates.put(cycleId, target.getDueDate()));
+
+            // 중복 발송 방지
+            Set<Long> claimed = notificationDedupService.claim(type, dueDates);
+
+            List<Notification> notifications = new ArrayList<>(claimed.size());
+            for (Long cycleId : claimed) {
+                ReminderTarget target = byCycleId.get(cycleId);
+                notifications.add(createReminder(target.getUserId(), cycleId, target.getDueDate(),
+                        target.getSubscriptionName(), target.getAmount(), type == NotificationType.D3_REMINDER ? 3 : 1));
+            }
+            created += saveClaimed(type, notifications);
+        }
+        return created;
+    }
+
+
+    private Notification createReminder(Long userId, Long cycleId, LocalDate dueDate,
+                                        String subscriptionName, Integer amount, int daysAhead) {
         // 알림 메시지 생성
         String message = String.format(
                 "%s 구독 결제일(%s)이 %d일 남았습니다. (₩%,d원)",
-                subscription.getSubscriptionsName(),
-                cycle.getDueDate(),
+                subscriptionName,
+                dueDate,
                 daysAhead,
-                subscription.getAmount()
+                amount
         );
 
-        // 알림 생성 및 저장
-        Notification notification = Notification.builder()
-                .userId(subscription.getUserId())
-                .paymentCycleId(cycle.getCycleId())
-                .type(type)
+        // 알림 생성 (sent = false → 아웃박스 발송 대기)
+        return Notification.builder()
+                .userId(userId)
+                .paymentCycleId(cycleId)
+                .type(reminderType(daysAhead))
                 .message(message)
                 .build();
-        notificationRepository.save(notification);
-
-        // 사용자 이메일 조회
-        User user = userRepository.findById(subscription.getUserId())
-                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다"));
-
-        // HTML 이메일 발송
-        try {
-            String subject = String.format("[PayFlow] %s 결제 D-%d 알림", subscription.getSubscriptionsName(), daysAhead);
-            String htmlBody = emailService.createPaymentReminderHtml(
-                    subscription.getSubscriptionsName(),
-                    cycle.getDueDate().toString(),
-                    daysAhead,
-                    subscription.getAmount()
-            );
-            emailService.sendHtmlEmail(user.getEmail(), subject, htmlBody);
-            
-            // 발송 완료 처리
-            notification.markAsSent();
-            notificationRepository.save(notification);
-            
-            log.info("📧 [이메일 발송 성공] to={}, message={}", user.getEmail(), message);
-        } catch (Exception e) {
-            log.error("📧 [이메일 발송 실패] userId={}, error={}", user.getUserId(), e.getMessage());
-            // 이메일 발송 실패해도 알림 기록은 저장 (재시도 가능하도록)
+    }
+
+
+    /**
+     * 등록된 알림 저장 (호출한 쪽 트랜잭션에 참여)
+     * Redis 키가 유실되어 이미 저장된 알림은 UNIQUE 제약으로 INSERT에서 건너뜀 → 저장 전 조회 없이 INSERT 1번
+     * (DB 조회는 Redis 장애로 NotificationDedupService가 DB fallback을 쓸 때만)
+     */
+    private int saveClaimed(NotificationType type, List<Notification> notifications) {
+        if (notifications.isEmpty()) {
+            return 0;
+        }
+
+        int inserted = notificationRepository.insertIgnoringDuplicates(notifications);
+        if (inserted < notifications.size()) {
+            log.info("이미 등록된 알림 제외: type={}, count={}", type, notifications.size() - inserted);
         }
+        return inserted;
     }
 
 
     /**
-     * 연체 알림 생성 및 발송
+     * 연체 알림 생성 (아웃박스 등록)
      */
     @Transactional
+    @Override
     public void sendOverdueNotification(PaymentCycle cycle) {
-        // 구독 정보 조회
-        Subscription subscription = subscriptionRepository.findById(cycle.getSubscriptionId())
-                .orElseThrow(() -> new IllegalArgumentException("구독을 찾을 수 없습니다"));
+        sendOverdueNotifications(List.of(cycle));
+    }
 
-        // 중복 발송 방지
-        if (notificationRepository.findByPaymentCycleIdAndType(cycle.getCycleId(), Notification.NotificationType.OVERDUE).isPresent()) {
-            return;
+
+    /**
+     * 연체 알림 일괄 생성 (결제 주기 청크)
+     * 구독 findAllById 1번 + Redis 중복 확인 1번 + INSERT 1번
+     * 호출한 쪽(연체 청크 처리)의 트랜잭션에 참여 → 상태 변경과 알림 등록이 함께 커밋
+     */
+    @Transactional
+    @Override
+    public void sendOverdueNotifications(List<PaymentCycle> cycles) {
+        Map<Long, Subscription> subscriptions = loadSubscriptions(cycles);
+
+        Map<Long, LocalDate> dueDates = new LinkedHashMap<>();
+        for (PaymentCycle cycle : cycles) {
+            if (subscriptions.containsKey(cycle.getSubscriptionId())) {
+                dueDates.put(cycle.getCycleId(), cycle.getDueDate());
+            } else {
+                log.warn("구독을 찾을 수 없습니다: cycleId={}, subscriptionId={}", cycle.getCycleId(), cycle.getSubscriptionId());
+            }
         }
+
+        // 중복 발송 방지 (롤백 시 Redis 키 자동 삭제)
+        Set<Long> claimed = notificationDedupService.claim(NotificationType.OVERDUE, dueDates);
+
+        List<Notification> notifications = new ArrayList<>(claimed.size());
+        for (PaymentCycle cycle : cycles) {
+            if (claimed.contains(cycle.getCycleId())) {
+                notifications.add(createOverdue(cycle, subscriptions.get(cycle.getSubscriptionId())));
+            }
+        }
+        saveClaimed(NotificationType.OVERDUE, notifications);
+    }
+
+
+    private Map<Long, Subscription> loadSubscriptions(List<PaymentCycle> cycles) {
+        List<Long> subscriptionIds = cycles.stream().map(PaymentCycle::getSubscriptionId).distinct().toList();
+        return subscriptionRepository.findAllById(subscriptionIds).stream()
+                .collect(Collectors.toMap(Subscription::getSubscriptionId, Function.identity()));
+    }
+
+
+    private Notification createOverdue(PaymentCycle cycle, Subscription subscription) {
         // 알림 메시지 생성
         String message = String.format(
                 "⚠️ %s 구독 결제일(%s)이 지났습니다. 연체료가 발생할 수 있습니다. (₩%,d원)",
@@ -115,37 +194,17 @@ public class NotificationServiceImpl implements NotificationService {
                 cycle.getDueDate(),
                 subscription.getAmount()
         );
-        // 알림 생성 및 저장
-        Notification notification = Notification.builder()
+        // 알림 생성 (sent = false → 아웃박스 발송 대기)
+        return Notification.builder()
                 .userId(subscription.getUserId())
                 .paymentCycleId(cycle.getCycleId())
-                .type(Notification.NotificationType.OVERDUE)
+                .type(NotificationType.OVERDUE)
                 .message(message)
                 .build();
-        notificationRepository.save(notification);
-
-        // 사용자 이메일 조회
-        User user = userRepository.findById(subscription.getUserId())
-                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다"));
-
-        // HTML 이메일 발송
-        try {
-            String subject = String.format("⚠️ [PayFlow] %s 결제 연체 알림", subscription.getSubscriptionsName());
-            String htmlBody = emailService.createOverdueNotificationHtml(
-                    subscription.getSubscriptionsName(),
-                    cycle.getDueDate().toString(),
-                    subscription.getAmount()
-            );
-            emailService.sendHtmlEmail(user.getEmail(), subject, htmlBody);
-            
-            // 발송 완료 처리
-            notification.markAsSent();
-            notificationRepository.save(notification);
-            
-            log.warn("📧 [연체 이메일 발송 성공] to={}, message={}", user.getEmail(), message);
-        } catch (Exception e) {
-            log.error("📧 [연체 이메일 발송 실패] userId={}, error={}", user.getUserId(), e.getMessage());
-            // 이메일 발송 실패해도 알림 기록은 저장
-        }
     }
-}
\ No newline at end of file
+
+
+    private static NotificationType reminderType(int daysAhead) {
+        return daysAhead == 3 ? NotificationType.D3_REMINDER : NotificationType.D1_REMINDER;
+    }
+}
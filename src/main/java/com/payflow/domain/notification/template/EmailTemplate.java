@@ -0,0 +1,106 @@
+package com.payflow.domain.notification.template;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 미리 컴파일된 이메일 템플릿
+ *
+ * 📌 핵심:
+ * - 생성 시 한 번만 {{변수}} 위치를 찾아 고정 문자열(segments)과 슬롯(slots)으로 분리
+ * - 렌더링은 segments/values를 순서대로 이어 붙이기만 함 (String.format의 포맷 문자열 파싱 없음)
+ * - 스레드별 StringBuilder를 재사용해서 렌더링마다 버퍼를 새로 늘리지 않음
+ */
+public final class EmailTemplate {
+
+    private static final String SLOT_OPEN = "{{";
+    private static final String SLOT_CLOSE = "}}";
+
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(4096));
+
+    private final String name;
+    private final String[] segments;   // segments.length == slots.length + 1
+    private final int[] slots;         // 각 슬롯이 참조하는 values 인덱스
+    private final int parameterCount;
+    private final int staticLength;
+
+    private EmailTemplate(String name, String[] segments, int[] slots, int parameterCount) {
+        this.name = name;
+        this.segments = segments;
+        this.slots = slots;
+        this.parameterCount = parameterCount;
+
+        int length = 0;
+        for (String segment : segments) {
+            length += segment.length();
+        }
+        this.staticLength = length;
+    }
+
+    /**
+     * 템플릿 컴파일
+     * @param name 템플릿 이름 (캐시 키, 로그용)
+     * @param source {{변수}} 슬롯이 들어간 원본
+     * @param parameterNames render(values)에 전달할 값의 순서
+     * @throws IllegalArgumentException 선언되지 않은 변수나 닫히지 않은 슬롯이 있는 경우
+     */
+    public static EmailTemplate compile(String name, String source, List<String> parameterNames) {
+        List<String> segments = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+
+        int position = 0;
+        while (true) {
+            int open = source.indexOf(SLOT_OPEN, position);
+            if (open < 0) {
+                segments.add(source.substring(position));
+                break;
+            }
+            int close = source.indexOf(SLOT_CLOSE, open + SLOT_OPEN.length());
+            if (close < 0) {
+                throw new IllegalArgumentException("닫히지 않은 템플릿 변수입니다: " + name);
+            }
+
+            String variable = source.substring(open + SLOT_OPEN.length(), close).trim();
+            int index = parameterNames.indexOf(variable);
+            if (index < 0) {
+                throw new IllegalArgumentException("알 수 없는 템플릿 변수입니다: " + name + "." + variable);
+            }
+
+            segments.add(source.substring(position, open));
+            slots.add(index);
+            position = close + SLOT_CLOSE.length();
+        }
+
+        return new EmailTemplate(
+                name,
+                segments.toArray(new String[0]),
+                slots.stream().mapToInt(Integer::intValue).toArray(),
+                parameterNames.size()
+        );
+    }
+
+    /**
+     * 렌더링 (값은 compile 시 parameterNames 순서, 이스케이프는 호출하는 쪽 책임)
+     */
+    public String render(String... values) {
+        if (values.length != parameterCount) {
+            throw new IllegalArgumentException(
+                    "템플릿 변수 개수가 맞지 않습니다: " + name + " (expected=" + parameterCount + ", actual=" + values.length + ")");
+        }
+
+        StringBuilder buffer = BUFFER.get();
+        buffer.setLength(0);
+        buffer.ensureCapacity(staticLength + 256);
+
+        buffer.append(segments[0]);
+        for (int i = 0; i < slots.length; i++) {
+            buffer.append(values[slots[i]]);
+            buffer.append(segments[i + 1]);
+        }
+        return buffer.toString();
+    }
+
+    public String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,124 @@
+package com.payflow.domain.notification.template;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.HtmlUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 이메일 HTML 렌더러
+ *
+ * - templates/email/*.html을 애플리케이션 시작 시 한 번만 읽고 컴파일
+ * - 같은 입력(같은 구독명/결제일/금액)으로 만든 본문은 LRU 캐시에서 재사용
+ *   (같은 서비스·같은 결제일 구독자가 많아 리마인더 본문이 자주 겹침)
+ */
+@Component
+public class EmailTemplateRenderer {
+
+    private static final String TEMPLATE_PATH = "templates/email/";
+
+    private final EmailTemplate paymentReminder;
+    private final EmailTemplate overdueNotification;
+    private final EmailTemplate reminderDigest;
+    private final EmailTemplate reminderDigestRow;
+    private final Map<RenderKey, String> cache;
+
+    public EmailTemplateRenderer(@Value("${payflow.notification.template.cache-size:1000}") int cacheSize) {
+        this.paymentReminder = load("payment-reminder", List.of("subscriptionName", "dueDate", "daysAhead", "amount"));
+        this.overdueNotification = load("overdue-notification", List.of("subscriptionName", "dueDate", "amount"));
+        this.reminderDigest = load("payment-reminder-digest", List.of("count", "rows", "totalAmount"));
+        this.reminderDigestRow = load("payment-reminder-digest-row", List.of("subscriptionName", "dueDate", "daysAhead", "amount"));
+        this.cache = new LinkedHashMap<>(Math.max(cacheSize, 16), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<RenderKey, String> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * 결제 리마인더 이메일 HTML
+     */
+    public String renderPaymentReminder(String subscriptionName, String dueDate, int daysAhead, int amount) {
+        return render(paymentReminder,
+                HtmlUtils.htmlEscape(subscriptionName), dueDate, Integer.toString(daysAhead), formatAmount(amount));
+    }
+
+    /**
+     * 연체 알림 이메일 HTML
+     */
+    public String renderOverdueNotification(String subscriptionName, String dueDate, int amount) {
+        return render(overdueNotification,
+                HtmlUtils.htmlEscape(subscriptionName), dueDate, formatAmount(amount));
+    }
+
+    /**
+     * 결제 리마인더 다이제스트 이메일 HTML (사용자별 결제 예정 목록, 조합이 매번 달라 캐시하지 않음)
+     */
+    public String renderPaymentReminderDigest(List<ReminderLine> lines) {
+        StringBuilder rows = new StringBuilder(lines.size() * 160);
+        long totalAmount = 0;
+        for (ReminderLine line : lines) {
+            rows.append(reminderDigestRow.render(
+                    HtmlUtils.htmlEscape(line.subscriptionName()),
+                    line.dueDate(),
+                    Integer.toString(line.daysAhead()),
+                    formatAmount(line.amount())));
+            totalAmount += line.amount();
+        }
+        return reminderDigest.render(Integer.toString(lines.size()), rows.toString(), formatAmount(totalAmount));
+    }
+
+    private String render(EmailTemplate template, String... values) {
+        RenderKey key = new RenderKey(template.getName(), List.of(values));
+
+        synchronized (cache) {
+            String cached = cache.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        String html = template.render(values);
+        synchronized (cache) {
+            cache.put(key, html);
+        }
+        return html;
+    }
+
+    private static EmailTemplate load(String name, List<String> parameterNames) {
+        try {
+            String source = new ClassPathResource(TEMPLATE_PATH + name + ".html").getContentAsString(StandardCharsets.UTF_8);
+            return EmailTemplate.compile(name, source, parameterNames);
+        } catch (IOException e) {
+            throw new IllegalStateException("이메일 템플릿을 읽을 수 없습니다: " + name, e);
+        }
+    }
+
+    /**
+     * 천 단위 콤마 (String.format("%,d") 대체)
+     */
+    static String formatAmount(long amount) {
+        String digits = amount == Long.MIN_VALUE ? Long.toString(amount).substring(1) : Long.toString(Math.abs(amount));
+
+        StringBuilder sb = new StringBuilder(digits.length() + digits.length() / 3 + 1);
+        if (amount < 0) {
+            sb.append('-');
+        }
+        int firstGroup = digits.length() % 3 == 0 ? 3 : digits.length() % 3;
+        sb.append(digits, 0, firstGroup);
+        for (int i = firstGroup; i < digits.length(); i += 3) {
+            sb.append(',').append(digits, i, i + 3);
+        }
+        return sb.toString();
+    }
+
+    private record RenderKey(String template, List<String> values) {
+    }
+}
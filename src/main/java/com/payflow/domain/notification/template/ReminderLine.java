@@ -0,0 +1,7 @@
+package com.payflow.domain.notification.template;
+
+/**
+ * 다이제스트 이메일의 결제 예정 1건
+ */
+public record ReminderLine(String subscriptionName, String dueDate, int daysAhead, int amount) {
+}
@@ -1,23 +1,24 @@
 package com.payflow.domain.payment.controller;
 
+import com.payflow.domain.payment.dto.MonthlySpendingSummaryResponse;
 import com.payflow.domain.payment.dto.PaymentCompleteRequest;
+import com.payflow.domain.payment.dto.PaymentCyclePageResponse;
 import com.payflow.domain.payment.dto.PaymentCycleResponse;
 import com.payflow.domain.payment.dto.PaymentHistoryResponse;
 import com.payflow.domain.payment.dto.UpcomingPaymentsResponse;
 import com.payflow.domain.payment.entity.PaymentCycle;
+import com.payflow.domain.payment.entity.PaymentCycle.PaymentStatus;
 import com.payflow.domain.payment.repository.PaymentCycleRepository;
 import com.payflow.domain.payment.service.PaymentCycleService;
 import com.payflow.domain.subscription.entity.Subscription;
 import com.payflow.domain.subscription.repository.SubscriptionRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/payment-cycles")
@@ -28,6 +29,12 @@ public class PaymentCycleController {
     private final PaymentCycleRepository paymentCycleRepository;
     private final SubscriptionRepository subscriptionRepository;
 
+    private static final int MAX_PAGE_SIZE = 100;
+
+    // 수동 생성 상한 (관리자용 API도 요청 1번에 만들 수 있는 결제 주기 수를 제한)
+    private static final int MAX_MONTHS_AHEAD = 24;
+    private static final int MAX_BULK_SUBSCRIPTIONS = 1_000;
+
     /**
      * 다가오는 결제 조회
      * GET /api/payment-cycles/upcoming?days=7
@@ -39,18 +46,9 @@ public class PaymentCycleController {
             @AuthenticationPrincipal Long userId,
             @RequestParam(defaultValue = "7") int days
     ) {
-        List<PaymentCycle> cycles = paymentCycleService.getUpcomingPayments(userId, days);
-        
-        // PaymentCycle → PaymentCycleResponse 변환 (구독 정보 포함)
-        List<PaymentCycleResponse> responses = cycles.stream()
-                .map(cycle -> {
-                    Subscription sub = subscriptionRepository.findById(cycle.getSubscriptionId()).orElse(null);
-                    return sub != null 
-                        ? PaymentCycleResponse.from(cycle, sub) 
-                        : PaymentCycleResponse.from(cycle);
-                })
-                .collect(Collectors.toList());
-        
+        // 결제 주기 + 구독 정보 JOIN 프로젝션으로 응답 생성 (구독 재조회 없음)
+        List<PaymentCycleResponse> responses = paymentCycleService.getUpcomingPaymentResponses(userId, days);
+
         return ResponseEntity.ok(UpcomingPaymentsResponse.from(responses, days));
     }
 
@@ -69,49 +67,51 @@ public class PaymentCycleController {
         LocalDate startDate = LocalDate.of(year, month, 1);
         LocalDate endDate = startDate.plusMonths(1).minusDays(1);
         
-        List<PaymentCycle> cycles = paymentCycleService.getPaymentHistory(userId, startDate, endDate);
-        
-        // PaymentCycle → PaymentCycleResponse 변환 (구독 정보 포함)
-        List<PaymentCycleResponse> responses = cycles.stream()
-                .map(cycle -> {
-                    Subscription sub = subscriptionRepository.findById(cycle.getSubscriptionId()).orElse(null);
-                    return sub != null 
-                        ? PaymentCycleResponse.from(cycle, sub) 
-                        : PaymentCycleResponse.from(cycle);
-                })
-                .collect(Collectors.toList());
-        
+        // 결제 주기 + 구독 정보 JOIN 프로젝션으로 응답 생성 (구독 재조회 없음)
+        List<PaymentCycleResponse> responses = paymentCycleService.getPaymentHistoryResponses(userId, startDate, endDate);
+
         return ResponseEntity.ok(PaymentHistoryResponse.from(responses, startDate, endDate));
     }
 
     /**
-     * 특정 구독의 결제 이력 조회
-     * GET /api/payment-cycles/subscription/{subscriptionId}
+     * 월별 지출 요약 (결제 목록 없이 합계/건수/카테고리별 금액만)
+     * GET /api/payment-cycles/summary?year=2026&month=1
+     * 
+     * 사용 예시: 대시보드 "이번 달/지난 달 지출" 카드
+     * 지난 달까지는 월별 집계 테이블 조회 1번 (결제 이력 크기와 무관)
+     */
+    @GetMapping("/summary")
+    public ResponseEntity<MonthlySpendingSummaryResponse> getMonthlySpendingSummary(
+            @AuthenticationPrincipal Long userId,
+            @RequestParam int year,
+            @RequestParam int month
+    ) {
+        return ResponseEntity.ok(paymentCycleService.getMonthlySpendingSummary(userId, year, month));
+    }
+
+    /**
+     * 특정 구독의 결제 이력 조회 (키셋 페이지네이션)
+     * GET /api/payment-cycles/subscription/{subscriptionId}?status=PAID&size=20&cursor=...
      * 
      * 사용 예시: 구독 상세 페이지에서 "결제 이력" 탭
+     * 다음 페이지는 응답의 nextCursor를 cursor로 전달
+     * 응답: { payments, nextCursor, hasNext } (payments에 1년 이내 예정 결제일 포함, 예정분은 cycleId = null)
      */
     @GetMapping("/subscription/{subscriptionId}")
-    public ResponseEntity<List<PaymentCycleResponse>> getPaymentCyclesBySubscription(
+    public ResponseEntity<PaymentCyclePageResponse> getPaymentCyclesBySubscription(
             @AuthenticationPrincipal Long userId,
-            @PathVariable Long subscriptionId
+            @PathVariable Long subscriptionId,
+            @RequestParam(required = false) PaymentStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
     ) {
         // 권한 확인: 이 구독이 현재 사용자 것인지
         Subscription subscription = subscriptionRepository.findBySubscriptionIdAndUserId(subscriptionId, userId)
                 .orElseThrow(() -> new IllegalArgumentException("구독을 찾을 수 없거나 권한이 없습니다"));
-        
-        List<PaymentCycle> cycles = paymentCycleService.getPaymentHistory(
-                userId, 
-                LocalDate.now().minusYears(1),  // 1년 전부터
-                LocalDate.now().plusYears(1)     // 1년 후까지
-        ).stream()
-         .filter(cycle -> cycle.getSubscriptionId().equals(subscriptionId))
-         .collect(Collectors.toList());
-        
-        List<PaymentCycleResponse> responses = cycles.stream()
-                .map(cycle -> PaymentCycleResponse.from(cycle, subscription))
-                .collect(Collectors.toList());
-        
-        return ResponseEntity.ok(responses);
+
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        return ResponseEntity.ok(
+                paymentCycleService.getPaymentCyclesBySubscription(subscription, status, cursor, pageSize));
     }
 
     /**
@@ -120,15 +120,29 @@ public class PaymentCycleController {
      * 
      * 사용 예시: 할인 받았거나 실제 금액이 다를 때
      * 선택사항: 대부분은 스케줄러가 자동 처리
+     * 예정 결제(cycleId 없음)는 subscriptionId + dueDate로 요청
      */
     @PostMapping("/complete")
     public ResponseEntity<PaymentCycleResponse> markAsComplete(
+            @AuthenticationPrincipal Long userId,
             @RequestBody PaymentCompleteRequest request
     ) {
-        paymentCycleService.markAsPaid(request.getCycleId(), request.getPaidAmount());
-        
-        PaymentCycle cycle = paymentCycleRepository.findById(request.getCycleId())
-                .orElseThrow(() -> new IllegalArgumentException("결제 주기를 찾을 수 없습니다: " + request.getCycleId()));
+        PaymentCycle cycle;
+        if (request.getCycleId() != null) {
+            paymentCycleService.markAsPaid(request.getCycleId(), request.getPaidAmount());
+
+            cycle = paymentCycleRepository.findById(request.getCycleId())
+                    .orElseThrow(() -> new IllegalArgumentException("결제 주기를 찾을 수 없습니다: " + request.getCycleId()));
+        } else {
+            // 아직 저장되지 않은 (계산된) 결제 주기: 권한 확인 후 저장하면서 결제 처리
+            if (request.getSubscriptionId() == null || request.getDueDate() == null) {
+                throw new IllegalArgumentException("cycleId 또는 subscriptionId와 dueDate가 필요합니다");
+            }
+            subscriptionRepository.findBySubscriptionIdAndUserId(request.getSubscriptionId(), userId)
+                    .orElseThrow(() -> new IllegalArgumentException("구독을 찾을 수 없거나 권한이 없습니다"));
+
+            cycle = paymentCycleService.markAsPaid(request.getSubscriptionId(), request.getDueDate(), request.getPaidAmount());
+        }
         
         Subscription sub = subscriptionRepository.findById(cycle.getSubscriptionId()).orElse(null);
         
@@ -143,13 +157,36 @@ public class PaymentCycleController {
      * 
      * 사용 예시: 구독 생성 시 자동 생성 실패했을 때 재시도
      * 일반적으로는 SubscriptionService에서 자동 호출됨
+     * ROLE_ADMIN만 호출 가능 (SecurityConfig), monthsAhead는 1 ~ MAX_MONTHS_AHEAD
      */
     @PostMapping("/generate/{subscriptionId}")
     public ResponseEntity<String> generatePaymentCycles(
             @PathVariable Long subscriptionId,
             @RequestParam(defaultValue = "12") int monthsAhead
     ) {
-        paymentCycleService.createPaymentCyclesForSubscription(subscriptionId, monthsAhead);
-        return ResponseEntity.ok("결제 주기 " + monthsAhead + "개월치 생성 완료");
+        int months = Math.min(Math.max(monthsAhead, 1), MAX_MONTHS_AHEAD);
+        paymentCycleService.createPaymentCyclesForSubscription(subscriptionId, months);
+        return ResponseEntity.ok("결제 주기 " + months + "개월치 생성 완료");
+    }
+
+    /**
+     * 여러 구독의 결제 주기 일괄 생성 (관리자용)
+     * POST /api/payment-cycles/generate?monthsAhead=12
+     * Body: [1, 2, 3]
+     *
+     * 사용 예시: 대량 온보딩 후 결제 주기를 한 번에 생성
+     * ROLE_ADMIN만 호출 가능 (SecurityConfig), 구독 ID는 MAX_BULK_SUBSCRIPTIONS 개까지, monthsAhead는 1 ~ MAX_MONTHS_AHEAD
+     */
+    @PostMapping("/generate")
+    public ResponseEntity<String> generatePaymentCyclesBulk(
+            @RequestBody List<Long> subscriptionIds,
+            @RequestParam(defaultValue = "12") int monthsAhead
+    ) {
+        if (subscriptionIds.size() > MAX_BULK_SUBSCRIPTIONS) {
+            return ResponseEntity.badRequest().body("구독 ID는 한 번에 " + MAX_BULK_SUBSCRIPTIONS + "개까지 요청할 수 있습니다");
+        }
+        int months = Math.min(Math.max(monthsAhead, 1), MAX_MONTHS_AHEAD);
+        int created = paymentCycleService.createPaymentCyclesForSubscriptions(subscriptionIds, months);
+        return ResponseEntity.ok("결제 주기 " + created + "개 생성 완료");
     }
 }
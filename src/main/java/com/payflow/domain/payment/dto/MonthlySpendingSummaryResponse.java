@@ -0,0 +1,133 @@
+package com.payflow.domain.payment.dto;
+
+import com.payflow.domain.payment.entity.MonthlySpendingRollup;
+import com.payflow.domain.payment.entity.PaymentCycle.PaymentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 월별 지출 요약 응답 DTO
+ * 대시보드/월간 리포트의 합계·건수·카테고리별 금액 (결제 목록 없음)
+ * 통계 기준은 PaymentHistoryResponse와 같음
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MonthlySpendingSummaryResponse {
+
+    /**
+     * 카테고리 없는 구독을 묶는 이름 (categoryScheduledAmounts)
+     */
+    public static final String UNCATEGORIZED_LABEL = "기타";
+
+    private int year;
+
+    private int month;
+
+    /**
+     * 총 결제 금액 (PAID 상태만, 실제 결제 금액 우선)
+     */
+    private Integer totalPaidAmount;
+
+    /**
+     * 월간 총 지출 예정 금액 (모든 상태, 실제 결제 금액 우선)
+     */
+    private Integer totalMonthlySpending;
+
+    /**
+     * 구독 금액 합계 (모든 상태)
+     */
+    private Integer totalScheduledAmount;
+
+    private int paidCount;
+
+    private int overdueCount;
+
+    private int pendingCount;
+
+    /**
+     * 카테고리별 지출 금액 (PAID만, 카테고리 없는 구독 제외)
+     */
+    private Map<String, Integer> categoryExpenses;
+
+    /**
+     * 카테고리별 구독 금액 합계 (모든 상태, 카테고리 없으면 "기타")
+     */
+    private Map<String, Integer> categoryScheduledAmounts;
+
+    /**
+     * 집계 테이블 행(카테고리별)으로 생성
+     */
+    public static MonthlySpendingSummaryResponse fromRollups(int year, int month, List<MonthlySpendingRollup> rollups) {
+        Aggregator aggregator = new Aggregator();
+        for (MonthlySpendingRollup rollup : rollups) {
+            String category = rollup.isUncategorized() ? null : rollup.getCategory();
+            aggregator.add(category, rollup.getScheduledAmount(), rollup.getSpentAmount(), rollup.getPaidAmount(),
+                    rollup.getPaidCount(), rollup.getOverdueCount(), rollup.getPendingCount());
+        }
+        return aggregator.build(year, month);
+    }
+
+    /**
+     * 결제 주기 응답(미래 결제일 프로젝션 포함)으로 생성 (집계 테이블에 없는 이번 달 이후용)
+     */
+    public static MonthlySpendingSummaryResponse fromPayments(int year, int month, List<PaymentCycleResponse> payments) {
+        Aggregator aggregator = new Aggregator();
+        for (PaymentCycleResponse p : payments) {
+            int scheduled = p.getSubscriptionAmount() != null ? p.getSubscriptionAmount() : 0;
+            int spent = p.getPaidAmount() != null ? p.getPaidAmount() : scheduled;
+            boolean paid = p.getStatus() == PaymentStatus.PAID;
+            aggregator.add(p.getSubscriptionCategory(), scheduled, spent, paid ? spent : 0,
+                    paid ? 1 : 0,
+                    p.getStatus() == PaymentStatus.OVERDUE ? 1 : 0,
+                    p.getStatus() == PaymentStatus.PENDING ? 1 : 0);
+        }
+        return aggregator.build(year, month);
+    }
+
+    private static class Aggregator {
+        private int totalPaidAmount;
+        private int totalMonthlySpending;
+        private int totalScheduledAmount;
+        private int paidCount;
+        private int overdueCount;
+        private int pendingCount;
+        private final Map<String, Integer> categoryExpenses = new HashMap<>();
+        private final Map<String, Integer> categoryScheduledAmounts = new HashMap<>();
+
+        void add(String category, int scheduled, int spent, int paidAmount, int paid, int overdue, int pending) {
+            totalScheduledAmount += scheduled;
+            totalMonthlySpending += spent;
+            totalPaidAmount += paidAmount;
+            paidCount += paid;
+            overdueCount += overdue;
+            pendingCount += pending;
+            categoryScheduledAmounts.merge(category != null ? category : UNCATEGORIZED_LABEL, scheduled, Integer::sum);
+            if (category != null && paid > 0) {
+                categoryExpenses.merge(category, paidAmount, Integer::sum);
+            }
+        }
+
+        MonthlySpendingSummaryResponse build(int year, int month) {
+            return MonthlySpendingSummaryResponse.builder()
+                    .year(year)
+                    .month(month)
+                    .totalPaidAmount(totalPaidAmount)
+                    .totalMonthlySpending(totalMonthlySpending)
+                    .totalScheduledAmount(totalScheduledAmount)
+                    .paidCount(paidCount)
+                    .overdueCount(overdueCount)
+                    .pendingCount(pendingCount)
+                    .categoryExpenses(categoryExpenses)
+                    .categoryScheduledAmounts(categoryScheduledAmounts)
+                    .build();
+        }
+    }
+}
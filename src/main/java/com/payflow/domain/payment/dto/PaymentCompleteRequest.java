@@ -5,6 +5,8 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDate;
+
 /**
  * 결제 완료 요청 DTO
  * 실제 결제가 완료되었을 때 사용
@@ -16,6 +18,13 @@ import lombok.NoArgsConstructor;
 public class PaymentCompleteRequest {
 
     private Long cycleId;
+
+    /**
+     * 아직 저장되지 않은 결제 주기일 때 사용 (cycleId가 null인 경우)
+     * 예정 결제 목록의 subscriptionId + dueDate 그대로 전달
+     */
+    private Long subscriptionId;
+    private LocalDate dueDate;
     
     /**
      * 실제 결제된 금액
@@ -0,0 +1,64 @@
+package com.payflow.domain.payment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * 결제 주기 페이지 응답 DTO
+ * 구독 상세 "결제 이력" 탭의 키셋 페이지네이션용
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PaymentCyclePageResponse {
+
+    /**
+     * 현재 페이지 결제 이력 (결제일 최신순)
+     */
+    private List<PaymentCycleResponse> payments;
+
+    /**
+     * 다음 페이지 요청 시 전달할 커서 (마지막 페이지면 null)
+     */
+    private String nextCursor;
+
+    /**
+     * 다음 페이지 존재 여부
+     */
+    private boolean hasNext;
+
+    /**
+     * 커서 인코딩: "dueDate:cycleId" → Base64 URL-safe
+     */
+    public static String encodeCursor(LocalDate dueDate, Long cycleId) {
+        String raw = dueDate + ":" + cycleId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 커서 디코딩
+     * @throws IllegalArgumentException 형식이 잘못된 커서
+     */
+    public static Cursor decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            return new Cursor(
+                    LocalDate.parse(raw.substring(0, separator)),
+                    Long.valueOf(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다: " + cursor);
+        }
+    }
+
+    public record Cursor(LocalDate dueDate, Long cycleId) {
+    }
+}
@@ -1,6 +1,7 @@
 package com.payflow.domain.payment.dto;
 
 import com.payflow.domain.payment.entity.PaymentCycle.PaymentStatus;
+import com.payflow.domain.payment.repository.PaymentCycleRepository.PaymentCycleDetail;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -71,4 +72,23 @@ public class PaymentCycleResponse {
                 .subscriptionBankName(subscription.getBankName())
                 .build();
     }
+
+    /**
+     * 프로젝션 → DTO 변환 (결제 주기 + 구독 JOIN 결과)
+     */
+    public static PaymentCycleResponse from(PaymentCycleDetail detail) {
+        return PaymentCycleResponse.builder()
+                .cycleId(detail.getCycleId())
+                .subscriptionId(detail.getSubscriptionId())
+                .dueDate(detail.getDueDate())
+                .status(detail.getStatus())
+                .paidAmount(detail.getPaidAmount())
+                .createdAt(detail.getCreatedAt())
+                .updatedAt(detail.getUpdatedAt())
+                .subscriptionName(detail.getSubscriptionName())
+                .subscriptionAmount(detail.getSubscriptionAmount())
+                .subscriptionCategory(detail.getSubscriptionCategory())
+                .subscriptionBankName(detail.getSubscriptionBankName())
+                .build();
+    }
 }
@@ -0,0 +1,83 @@
+package com.payflow.domain.payment.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 월별 지출 집계 (사용자 x 연/월 x 카테고리)
+ * 행은 MonthlySpendingRollupRepository의 네이티브 INSERT ... SELECT로만 만들어짐 (엔티티는 조회용)
+ */
+@Entity
+@Table(
+        name = "monthly_spending_rollup",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_monthly_spending_rollup_user_month_category",
+                        columnNames = {"user_id", "year", "month", "category"})
+        }
+)
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MonthlySpendingRollup {
+
+    /**
+     * 카테고리 없는 구독의 category 값
+     */
+    public static final String UNCATEGORIZED = "";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private Integer year;
+
+    @Column(nullable = false)
+    private Integer month;
+
+    @Column(nullable = false, length = 50)
+    private String category;
+
+    @Column(nullable = false)
+    private Integer cycleCount;
+
+    /**
+     * 구독 금액 합계 (모든 상태)
+     */
+    @Column(nullable = false)
+    private Integer scheduledAmount;
+
+    /**
+     * 실제 결제 금액(없으면 구독 금액) 합계 (모든 상태)
+     */
+    @Column(nullable = false)
+    private Integer spentAmount;
+
+    /**
+     * 실제 결제 금액(없으면 구독 금액) 합계 (PAID만)
+     */
+    @Column(nullable = false)
+    private Integer paidAmount;
+
+    @Column(nullable = false)
+    private Integer paidCount;
+
+    @Column(nullable = false)
+    private Integer pendingCount;
+
+    @Column(nullable = false)
+    private Integer overdueCount;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    public boolean isUncategorized() {
+        return UNCATEGORIZED.equals(category);
+    }
+}
@@ -5,22 +5,62 @@ import lombok.*;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 @Entity
-@Table(name = "payment_cycles")
+@Table(
+        name = "payment_cycles",
+        uniqueConstraints = {
+                // 구독 + 결제일당 1건 (결제 완료 시 엔진 계산 결제 주기 동시 저장 방지)
+                // 구독 상세 결제 이력 (subscription_id = ? ORDER BY due_date DESC) 키셋 페이지네이션 인덱스 겸용
+                @UniqueConstraint(name = "uk_payment_cycles_subscription_due_date", columnNames = {"subscription_id", "due_date"})
+        },
+        indexes = {
+                // 결제일 범위 조회 (status = ? AND due_date ...)
+                @Index(name = "idx_payment_cycles_status_due_date", columnList = "status, due_date"),
+                // 스케줄러 파티션 단위 조회 (status = 'PENDING' AND partition_key IN (...) AND due_date ...)
+                @Index(name = "idx_payment_cycles_status_partition_due_date", columnList = "status, partition_key, due_date"),
+                // 대량 생성 중복 확인 (subscription_id IN (...) AND status = ?)
+                @Index(name = "idx_payment_cycles_subscription_status", columnList = "subscription_id, status")
+        }
+)
 @Getter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class PaymentCycle {
 
+    /**
+     * 스케줄러 파티션 버킷 수 (partition_key = subscription_id % PARTITION_KEYS)
+     */
+    public static final int PARTITION_KEYS = 64;
+
+    /**
+     * IDENTITY 전략은 INSERT마다 DB 왕복이 필요해 JDBC 배치가 비활성화됨
+     * → 테이블 기반 pooled 시퀀스로 ID를 미리 할당받아 배치 INSERT 가능하게 함
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "payment_cycle_id_generator")
+    @TableGenerator(
+            name = "payment_cycle_id_generator",
+            table = "id_sequences",
+            pkColumnName = "sequence_name",
+            valueColumnName = "next_val",
+            pkColumnValue = "payment_cycles",
+            allocationSize = 50
+    )
     private Long cycleId;
 
     @Column(nullable = false)
     private Long subscriptionId;  // int → Long
 
+    /**
+     * DB 생성 컬럼 (subscription_id % 64, V10) → 조회 전용
+     */
+    @Column(name = "partition_key", insertable = false, updatable = false)
+    private Integer partitionKey;
+
     @Column(name = "due_date", nullable = false)
     private LocalDate dueDate;  // Date → LocalDate
 
@@ -76,6 +116,18 @@ public class PaymentCycle {
         this.status = PaymentStatus.CANCELLED;
     }
 
+    /**
+     * partitionCount개 파티션 중 partition이 맡는 partition_key 목록 (key % partitionCount = partition)
+     * 파티션끼리 겹치지 않고 합치면 전체 버킷 (partitionCount가 PARTITION_KEYS보다 크면 남는 파티션은 빈 목록)
+     */
+    public static List<Integer> partitionKeys(int partition, int partitionCount) {
+        List<Integer> keys = new ArrayList<>();
+        for (int key = partition; key < PARTITION_KEYS; key += partitionCount) {
+            keys.add(key);
+        }
+        return keys;
+    }
+
     public enum PaymentStatus {
         PENDING,    // 결제 대기
         PAID,       // 결제 완료
@@ -0,0 +1,75 @@
+package com.payflow.domain.payment.repository;
+
+import com.payflow.domain.payment.entity.MonthlySpendingRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface MonthlySpendingRollupRepository extends JpaRepository<MonthlySpendingRollup, Long> {
+
+    /**
+     * 사용자의 특정 월 집계 (카테고리별 행)
+     * uk_monthly_spending_rollup_user_month_category 인덱스 범위 조회 1번
+     */
+    List<MonthlySpendingRollup> findByUserIdAndYearAndMonth(Long userId, Integer year, Integer month);
+
+    /**
+     * 사용자의 [startYear-startMonth, endYear-endMonth] 집계 삭제
+     * (user_id, year) 인덱스 범위 + month 조건 → uk_monthly_spending_rollup_user_month_category 범위 삭제
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "DELETE FROM monthly_spending_rollup " +
+                   "WHERE user_id = :userId " +
+                   "AND year BETWEEN :startYear AND :endYear " +
+                   "AND (year > :startYear OR month >= :startMonth) " +
+                   "AND (year < :endYear OR month <= :endMonth)",
+           nativeQuery = true)
+    int deleteMonths(
+        @Param("userId") Long userId,
+        @Param("startYear") int startYear,
+        @Param("startMonth") int startMonth,
+        @Param("endYear") int endYear,
+        @Param("endMonth") int endMonth
+    );
+
+    /**
+     * 사용자의 [startDate, endDate] 결제 주기로 집계 다시 생성 (결제 주기 + 구독 JOIN, GROUP BY 1번)
+     * lockUser, deleteMonths와 같은 트랜잭션에서 호출할 것
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO monthly_spending_rollup (user_id, year, month, category, cycle_count, " +
+                   "scheduled_amount, spent_amount, paid_amount, paid_count, pending_count, overdue_count, updated_at) " +
+                   "SELECT s.user_id, YEAR(pc.due_date), MONTH(pc.due_date), COALESCE(s.subscriptions_category, ''), " +
+                   "COUNT(*), " +
+                   "SUM(s.amount), " +
+                   "SUM(COALESCE(pc.paid_amount, s.amount)), " +
+                   "SUM(CASE WHEN pc.status = 'PAID' THEN COALESCE(pc.paid_amount, s.amount) ELSE 0 END), " +
+                   "SUM(CASE WHEN pc.status = 'PAID' THEN 1 ELSE 0 END), " +
+                   "SUM(CASE WHEN pc.status = 'PENDING' THEN 1 ELSE 0 END), " +
+                   "SUM(CASE WHEN pc.status = 'OVERDUE' THEN 1 ELSE 0 END), " +
+                   "NOW(6) " +
+                   "FROM payment_cycles pc " +
+                   "JOIN subscriptions s ON s.subscription_id = pc.subscription_id " +
+                   "WHERE s.user_id = :userId " +
+                   "AND pc.due_date BETWEEN :startDate AND :endDate " +
+                   "GROUP BY s.user_id, YEAR(pc.due_date), MONTH(pc.due_date), COALESCE(s.subscriptions_category, '')",
+           nativeQuery = true)
+    int insertMonths(
+        @Param("userId") Long userId,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate
+    );
+
+    /**
+     * 사용자 행 잠금 (같은 사용자의 집계 재계산을 직렬화)
+     * 서로 다른 파티션/요청이 같은 사용자의 집계를 동시에 DELETE/INSERT하면서 교착 상태가 되지 않도록
+     */
+    @Query(value = "SELECT user_id FROM users WHERE user_id = :userId FOR UPDATE", nativeQuery = true)
+    Long lockUser(@Param("userId") Long userId);
+}
@@ -2,13 +2,19 @@ package com.payflow.domain.payment.repository;
 
 import com.payflow.domain.payment.entity.PaymentCycle;
 import com.payflow.domain.payment.entity.PaymentCycle.PaymentStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface PaymentCycleRepository extends JpaRepository<PaymentCycle, Long> {
@@ -23,6 +29,22 @@ public interface PaymentCycleRepository extends JpaRepository<PaymentCycle, Long
      */
     List<PaymentCycle> findBySubscriptionIdAndStatus(Long subscriptionId, PaymentStatus status);
 
+    /**
+     * 특정 구독의 특정 결제일 결제 주기 조회
+     */
+    Optional<PaymentCycle> findBySubscriptionIdAndDueDate(Long subscriptionId, LocalDate dueDate);
+
+    /**
+     * 특정 구독의 특정 결제일 결제 주기 조회 (잠금 읽기)
+     * 다른 트랜잭션이 방금 커밋한 행도 보임 (REPEATABLE READ 스냅샷 대신 최신 행)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT pc FROM PaymentCycle pc WHERE pc.subscriptionId = :subscriptionId AND pc.dueDate = :dueDate")
+    Optional<PaymentCycle> findForUpdate(
+        @Param("subscriptionId") Long subscriptionId,
+        @Param("dueDate") LocalDate dueDate
+    );
+
     /**
      * 특정 날짜 이전의 특정 상태 결제 주기 조회 (연체 처리용)
      */
@@ -57,6 +79,160 @@ public interface PaymentCycleRepository extends JpaRepository<PaymentCycle, Long
         @Param("endDate") LocalDate endDate
     );
 
+    /**
+     * 주어진 구독들 중 특정 상태의 결제 주기를 가진 구독 ID 조회 (대량 생성 시 중복 방지용)
+     */
+    @Query("SELECT DISTINCT pc.subscriptionId FROM PaymentCycle pc " +
+           "WHERE pc.subscriptionId IN :subscriptionIds " +
+           "AND pc.status = :status")
+    List<Long> findSubscriptionIdsWithStatus(
+        @Param("subscriptionIds") List<Long> subscriptionIds,
+        @Param("status") PaymentStatus status
+    );
+
+    /**
+     * 주어진 구독들의 특정 날짜 이후 결제일 조회 (생성 시 이미 저장된 결제일 제외용)
+     * uk_payment_cycles_subscription_due_date 범위 조회
+     */
+    @Query("SELECT pc.subscriptionId AS subscriptionId, pc.dueDate AS dueDate FROM PaymentCycle pc " +
+           "WHERE pc.subscriptionId IN :subscriptionIds " +
+           "AND pc.dueDate >= :fromDate")
+    List<ExistingDueDate> findDueDatesFrom(
+        @Param("subscriptionIds") List<Long> subscriptionIds,
+        @Param("fromDate") LocalDate fromDate
+    );
+
+    /**
+     * 구독별 가장 늦은 결제일 조회 (롤링 호라이즌 연장용)
+     */
+    @Query("SELECT pc.subscriptionId AS subscriptionId, MAX(pc.dueDate) AS latestDueDate " +
+           "FROM PaymentCycle pc " +
+           "WHERE pc.subscriptionId IN :subscriptionIds " +
+           "AND pc.status <> 'CANCELLED' " +
+           "GROUP BY pc.subscriptionId")
+    List<LatestDueDate> findLatestDueDates(@Param("subscriptionIds") List<Long> subscriptionIds);
+
+    /**
+     * 사용자의 결제 이력 + 구독 정보 조회 (특정 기간)
+     * 결제 주기와 구독 컬럼을 SELECT 1번으로 가져와 응답 생성 시 구독 재조회(N+1) 방지
+     */
+    @Query("SELECT pc.cycleId AS cycleId, pc.subscriptionId AS subscriptionId, pc.dueDate AS dueDate, " +
+           "pc.status AS status, pc.paidAmount AS paidAmount, " +
+           "pc.createdAt AS createdAt, pc.updatedAt AS updatedAt, " +
+           "s.subscriptionsName AS subscriptionName, s.amount AS subscriptionAmount, " +
+           "s.subscriptionsCategory AS subscriptionCategory, s.bankName AS subscriptionBankName " +
+           "FROM PaymentCycle pc " +
+           "JOIN Subscription s ON pc.subscriptionId = s.subscriptionId " +
+           "WHERE s.userId = :userId " +
+           "AND pc.dueDate BETWEEN :startDate AND :endDate " +
+           "ORDER BY pc.dueDate DESC")
+    List<PaymentCycleDetail> findPaymentHistoryDetails(
+        @Param("userId") Long userId,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate
+    );
+
+    /**
+     * 특정 구독의 결제 이력 첫 페이지 (최신순, status가 null이면 전체)
+     * uk_payment_cycles_subscription_due_date 인덱스 사용
+     */
+    @Query("SELECT pc FROM PaymentCycle pc " +
+           "WHERE pc.subscriptionId = :subscriptionId " +
+           "AND (:status IS NULL OR pc.status = :status) " +
+           "ORDER BY pc.dueDate DESC, pc.cycleId DESC")
+    List<PaymentCycle> findPageBySubscription(
+        @Param("subscriptionId") Long subscriptionId,
+        @Param("status") PaymentStatus status,
+        Pageable pageable
+    );
+
+    /**
+     * 특정 구독의 결제 이력 다음 페이지 (커서 (dueDate, cycleId) 이후)
+     */
+    @Query("SELECT pc FROM PaymentCycle pc " +
+           "WHERE pc.subscriptionId = :subscriptionId " +
+           "AND (:status IS NULL OR pc.status = :status) " +
+           "AND (pc.dueDate < :cursorDueDate " +
+           "     OR (pc.dueDate = :cursorDueDate AND pc.cycleId < :cursorCycleId)) " +
+           "ORDER BY pc.dueDate DESC, pc.cycleId DESC")
+    List<PaymentCycle> findPageBySubscriptionAfter(
+        @Param("subscriptionId") Long subscriptionId,
+        @Param("status") PaymentStatus status,
+        @Param("cursorDueDate") LocalDate cursorDueDate,
+        @Param("cursorCycleId") Long cursorCycleId,
+        Pageable pageable
+    );
+
+    /**
+     * 리마인더 발송 대상 조회 (D-1, D-3 결제일 정확히 일치 + 구독 알림 설정 + 사용자 이메일)
+     * cycleId 키셋 페이지로 순회 → 스케줄러 메모리는 실제 발송 대상 수에만 비례
+     * partitionKeys 버킷의 구독만 조회 (PaymentCycle.partitionKeys, 파티션 단위 병렬 처리)
+     * → idx_payment_cycles_status_partition_due_date에서 버킷 × 결제일 범위만 읽음
+     */
+    @Query("SELECT pc.cycleId AS cycleId, pc.dueDate AS dueDate, " +
+           "s.subscriptionId AS subscriptionId, s.subscriptionsName AS subscriptionName, s.amount AS amount, " +
+           "u.userId AS userId, u.email AS email " +
+           "FROM PaymentCycle pc " +
+           "JOIN Subscription s ON pc.subscriptionId = s.subscriptionId " +
+           "JOIN User u ON s.userId = u.userId " +
+           "WHERE pc.status = 'PENDING' " +
+           "AND pc.dueDate IN (:d1Date, :d3Date) " +
+           "AND ((pc.dueDate = :d1Date AND s.reminderD1 = true) " +
+           "     OR (pc.dueDate = :d3Date AND s.reminderD3 = true)) " +
+           "AND pc.partitionKey IN :partitionKeys " +
+           "AND pc.cycleId > :lastCycleId " +
+           "ORDER BY pc.cycleId ASC")
+    List<ReminderTarget> findReminderTargets(
+        @Param("d1Date") LocalDate d1Date,
+        @Param("d3Date") LocalDate d3Date,
+        @Param("partitionKeys") List<Integer> partitionKeys,
+        @Param("lastCycleId") Long lastCycleId,
+        Pageable pageable
+    );
+
+    /**
+     * 연체 대상(결제일이 지난 PENDING) ID 청크 조회
+     * 처리된 행은 OVERDUE로 바뀌어 다음 조회에서 빠지므로 커서 없이 반복 호출
+     * partitionKeys 버킷의 구독만 조회 (파티션끼리 같은 행을 다투지 않고, 다른 파티션의 행을 읽지도 않음)
+     */
+    @Query("SELECT pc.cycleId FROM PaymentCycle pc " +
+           "WHERE pc.status = 'PENDING' " +
+           "AND pc.partitionKey IN :partitionKeys " +
+           "AND pc.dueDate < :date " +
+           "ORDER BY pc.cycleId ASC")
+    List<Long> findPendingIdsDueBefore(
+        @Param("date") LocalDate date,
+        @Param("partitionKeys") List<Integer> partitionKeys,
+        Pageable pageable
+    );
+
+    /**
+     * 연체 일괄 처리 (UPDATE 1번)
+     * 조회 이후 결제 완료된 건은 status 조건으로 제외
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE PaymentCycle pc " +
+           "SET pc.status = 'OVERDUE', pc.updatedAt = :now " +
+           "WHERE pc.cycleId IN :cycleIds " +
+           "AND pc.status = 'PENDING' " +
+           "AND pc.dueDate < :date")
+    int markOverdueByIds(
+        @Param("cycleIds") List<Long> cycleIds,
+        @Param("date") LocalDate date,
+        @Param("now") LocalDateTime now
+    );
+
+    /**
+     * 주어진 ID 중 특정 상태인 결제 주기 ID 조회
+     */
+    @Query("SELECT pc.cycleId FROM PaymentCycle pc " +
+           "WHERE pc.cycleId IN :cycleIds " +
+           "AND pc.status = :status")
+    List<Long> findIdsByIdInAndStatus(
+        @Param("cycleIds") List<Long> cycleIds,
+        @Param("status") PaymentStatus status
+    );
+
     /**
      * 구독의 연체된 결제 개수 조회
      */
@@ -75,4 +251,50 @@ public interface PaymentCycleRepository extends JpaRepository<PaymentCycle, Long
      * 구독 삭제 전 결제 주기 정리
      */
     void deleteBySubscriptionId(Long subscriptionId);
+
+    /**
+     * 결제 주기 + 구독 정보 플랫 프로젝션
+     */
+    interface PaymentCycleDetail {
+        Long getCycleId();
+        Long getSubscriptionId();
+        LocalDate getDueDate();
+        PaymentStatus getStatus();
+        Integer getPaidAmount();
+        LocalDateTime getCreatedAt();
+        LocalDateTime getUpdatedAt();
+        String getSubscriptionName();
+        Integer getSubscriptionAmount();
+        String getSubscriptionCategory();
+        String getSubscriptionBankName();
+    }
+
+    /**
+     * 리마인더 발송 대상 프로젝션 (결제 주기 + 구독 + 사용자 이메일)
+     */
+    interface ReminderTarget {
+        Long getCycleId();
+        LocalDate getDueDate();
+        Long getSubscriptionId();
+        String getSubscriptionName();
+        Integer getAmount();
+        Long getUserId();
+        String getEmail();
+    }
+
+    /**
+     * 저장된 (구독, 결제일) 프로젝션
+     */
+    interface ExistingDueDate {
+        Long getSubscriptionId();
+        LocalDate getDueDate();
+    }
+
+    /**
+     * 구독별 최신 결제일 프로젝션
+     */
+    interface LatestDueDate {
+        Long getSubscriptionId();
+        LocalDate getLatestDueDate();
+    }
 }
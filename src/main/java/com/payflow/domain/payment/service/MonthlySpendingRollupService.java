@@ -0,0 +1,172 @@
+package com.payflow.domain.payment.service;
+
+import com.payflow.domain.payment.entity.MonthlySpendingRollup;
+import com.payflow.domain.payment.entity.PaymentCycle;
+import com.payflow.domain.payment.repository.MonthlySpendingRollupRepository;
+import com.payflow.domain.subscription.entity.Subscription;
+import com.payflow.domain.subscription.repository.SubscriptionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 월별 지출 집계(monthly_spending_rollup) 유지
+ *
+ * 📌 갱신 방식:
+ * - 결제 주기가 바뀐 (사용자, 월) 범위만 DELETE → INSERT ... SELECT ... GROUP BY 로 다시 계산
+ * - 호출한 쪽 트랜잭션이 커밋된 뒤(afterCommit) 사용자별 새 트랜잭션에서 재계산
+ *   → 연체/리마인더 파티션 작업의 트랜잭션이 집계 행 잠금을 잡지 않음, 같은 트랜잭션의 여러 변경은 사용자당 1번으로 합침
+ * - 재계산 트랜잭션은 사용자 행을 먼저 잠금 (FOR UPDATE) → 같은 사용자의 재계산끼리 직렬화, 교착 상태 없음
+ * - 증감(+1/-1) 대신 범위 재계산이라 중복 호출/순서 꼬임에도 항상 원본과 일치
+ * - 커밋 후 재계산이 실패하면 다음 변경 또는 주간 재계산(PaymentScheduler)에서 바로잡힘
+ *
+ * 미래 결제일 중 아직 저장되지 않은(엔진 계산) 결제 주기는 집계에 없음 → 지난 달까지만 집계로 조회
+ */
+@Slf4j
+@Service
+public class MonthlySpendingRollupService {
+
+    private static final YearMonth MIN_MONTH = YearMonth.of(1, 1);
+    private static final YearMonth MAX_MONTH = YearMonth.of(9999, 12);
+
+    private final MonthlySpendingRollupRepository rollupRepository;
+    private final SubscriptionRepository subscriptionRepository;
+    private final TransactionTemplate requiresNew;
+
+    public MonthlySpendingRollupService(MonthlySpendingRollupRepository rollupRepository,
+                                        SubscriptionRepository subscriptionRepository,
+                                        PlatformTransactionManager transactionManager) {
+        this.rollupRepository = rollupRepository;
+        this.subscriptionRepository = subscriptionRepository;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * 사용자의 [from, to] 월 집계 재계산 (트랜잭션 안이면 커밋 후)
+     */
+    public void refreshMonths(Long userId, YearMonth from, YearMonth to) {
+        schedule(userId, new MonthRange(from, to));
+    }
+
+    /**
+     * 저장/변경된 결제 주기가 속한 (사용자, 월) 범위 재계산 (트랜잭션 안이면 커밋 후)
+     * 구독 → 사용자 매핑은 IN 쿼리 1번
+     */
+    public void refreshCycles(Collection<PaymentCycle> cycles) {
+        if (cycles.isEmpty()) {
+            return;
+        }
+
+        Map<Long, Subscription> subscriptions = subscriptionRepository.findAllById(
+                cycles.stream().map(PaymentCycle::getSubscriptionId).distinct().toList()).stream()
+            .collect(Collectors.toMap(Subscription::getSubscriptionId, Function.identity()));
+
+        Map<Long, MonthRange> ranges = new HashMap<>();
+        for (PaymentCycle cycle : cycles) {
+            Subscription subscription = subscriptions.get(cycle.getSubscriptionId());
+            if (subscription == null) {
+                continue;
+            }
+            YearMonth month = YearMonth.from(cycle.getDueDate());
+            ranges.merge(subscription.getUserId(), new MonthRange(month, month), MonthRange::union);
+        }
+
+        ranges.forEach(this::schedule);
+    }
+
+    /**
+     * 사용자의 전체 집계 재계산 (구독 금액/카테고리 변경, 구독 삭제 시, 트랜잭션 안이면 커밋 후)
+     */
+    public void refreshUser(Long userId) {
+        schedule(userId, MonthRange.ALL);
+    }
+
+    /**
+     * 처음부터 다시 계산 (재계산 작업의 한 청크, 사용자마다 트랜잭션 1개)
+     */
+    public void rebuildUsers(List<Long> userIds) {
+        userIds.forEach(userId -> recompute(userId, MonthRange.ALL));
+    }
+
+    /**
+     * 사용자의 특정 월 집계 (카테고리별 행, 인덱스 조회 1번)
+     */
+    @Transactional(readOnly = true)
+    public List<MonthlySpendingRollup> getMonth(Long userId, YearMonth month) {
+        return rollupRepository.findByUserIdAndYearAndMonth(userId, month.getYear(), month.getMonthValue());
+    }
+
+    private void schedule(Long userId, MonthRange range) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            recompute(userId, range);
+            return;
+        }
+
+        PendingRefresh pending = (PendingRefresh) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingRefresh();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.ranges.merge(userId, range, MonthRange::union);
+    }
+
+    private void recompute(Long userId, MonthRange range) {
+        requiresNew.executeWithoutResult(status -> {
+            rollupRepository.lockUser(userId);
+            rollupRepository.deleteMonths(userId,
+                    range.from().getYear(), range.from().getMonthValue(),
+                    range.to().getYear(), range.to().getMonthValue());
+            rollupRepository.insertMonths(userId, range.from().atDay(1), range.to().atEndOfMonth());
+        });
+    }
+
+    /**
+     * 트랜잭션 1개 동안 모인 사용자별 재계산 범위 → 커밋 후 사용자 ID 순서로 재계산
+     */
+    private class PendingRefresh implements TransactionSynchronization {
+        private final Map<Long, MonthRange> ranges = new TreeMap<>();
+
+        @Override
+        public void afterCommit() {
+            ranges.forEach((userId, range) -> {
+                try {
+                    recompute(userId, range);
+                } catch (RuntimeException e) {
+                    log.error("월별 지출 집계 갱신 실패 (주간 재계산에서 복구): userId={}, range={}, error={}",
+                            userId, range, e.getMessage());
+                }
+            });
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(MonthlySpendingRollupService.this);
+        }
+    }
+
+    private record MonthRange(YearMonth from, YearMonth to) {
+        static final MonthRange ALL = new MonthRange(MIN_MONTH, MAX_MONTH);
+
+        MonthRange union(MonthRange other) {
+            return new MonthRange(
+                from.isBefore(other.from) ? from : other.from,
+                to.isAfter(other.to) ? to : other.to);
+        }
+    }
+}
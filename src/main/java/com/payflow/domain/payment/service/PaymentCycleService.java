@@ -1,6 +1,11 @@
 package com.payflow.domain.payment.service;
 
+import com.payflow.domain.payment.dto.MonthlySpendingSummaryResponse;
+import com.payflow.domain.payment.dto.PaymentCyclePageResponse;
+import com.payflow.domain.payment.dto.PaymentCycleResponse;
 import com.payflow.domain.payment.entity.PaymentCycle;
+import com.payflow.domain.payment.entity.PaymentCycle.PaymentStatus;
+import com.payflow.domain.subscription.entity.Subscription;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -14,14 +19,41 @@ public interface PaymentCycleService {
      */
     void createPaymentCyclesForSubscription(Long subscriptionId, int monthsAhead);
 
+    /**
+     * 여러 구독의 결제 주기를 한 번에 생성 (대량 온보딩용, JDBC 배치 INSERT)
+     * @param subscriptionIds 구독 ID 목록
+     * @param monthsAhead 미래 몇 개월치 생성할지
+     * @return 생성된 결제 주기 개수
+     */
+    int createPaymentCyclesForSubscriptions(List<Long> subscriptionIds, int monthsAhead);
+
+    /**
+     * 롤링 호라이즌 연장: 최신 결제일이 windowEnd 이전인 구독만 horizonEnd까지 누락분 생성
+     * @param subscriptions 대상 구독 (스케줄러의 키셋 페이지 단위)
+     * @param windowEnd 이 날짜 이전에 결제 주기가 끝나는 구독만 연장
+     * @param horizonEnd 이 날짜까지 결제 주기 생성
+     * @return 생성된 결제 주기 개수
+     */
+    int extendPaymentCycles(List<Subscription> subscriptions, LocalDate windowEnd, LocalDate horizonEnd);
+
     /**
      * 사용자의 다가오는 결제 조회
+     * 아직 저장되지 않은 결제일은 구독 규칙으로 계산해 포함 (cycleId = null)
      * @param userId 사용자 ID
      * @param days 며칠 이내의 결제 조회
      * @return 다가오는 결제 리스트
      */
     List<PaymentCycle> getUpcomingPayments(Long userId, int days);
 
+    /**
+     * 사용자의 다가오는 결제 조회 (구독 정보 포함 응답)
+     * 결제 주기 + 구독 JOIN 프로젝션 1번 + 활성 구독 1번 조회로 생성
+     * @param userId 사용자 ID
+     * @param days 며칠 이내의 결제 조회
+     * @return 결제일 오름차순 응답 리스트
+     */
+    List<PaymentCycleResponse> getUpcomingPaymentResponses(Long userId, int days);
+
     /**
      * 결제 완료 처리
      * @param cycleId 결제 주기 ID
@@ -29,18 +61,78 @@ public interface PaymentCycleService {
      */
     void markAsPaid(Long cycleId, Integer paidAmount);
 
+    /**
+     * 아직 저장되지 않은 (계산된) 결제 주기의 결제 완료 처리
+     * @param subscriptionId 구독 ID
+     * @param dueDate 결제일
+     * @param paidAmount 실제 결제 금액
+     * @return 저장된 결제 주기
+     */
+    PaymentCycle markAsPaid(Long subscriptionId, LocalDate dueDate, Integer paidAmount);
+
+    /**
+     * 결제 주기 저장 (이미 저장되어 있으면 기존 것 반환)
+     * 결제/연체/알림처럼 상태를 기록해야 할 때만 row를 만든다
+     * @param subscriptionId 구독 ID
+     * @param dueDate 결제일 (구독 규칙상 결제일이어야 함)
+     * @return 저장된 결제 주기
+     */
+    PaymentCycle materializeCycle(Long subscriptionId, LocalDate dueDate);
+
     /**
      * 연체 처리
      * @param cycleId 결제 주기 ID
      */
     void markAsOverdue(Long cycleId);
 
+    /**
+     * 결제일이 지난 PENDING 결제 주기를 청크 단위로 연체 처리 + 연체 알림 등록 (청크마다 짧은 트랜잭션)
+     * @param today 기준일 (이 날짜 이전 결제일이 대상)
+     * @param partition 처리할 파티션 (partition_key % partitionCount, PaymentCycle.partitionKeys)
+     * @param partitionCount 전체 파티션 수 (1이면 전체)
+     * @param chunkSize 한 번에 처리할 최대 건수
+     * @return 이번 청크에서 OVERDUE로 바뀐 결제 주기 ID (비어 있으면 처리 완료)
+     */
+    List<Long> markOverdueChunk(LocalDate today, int partition, int partitionCount, int chunkSize);
+
     /**
      * 사용자의 결제 이력 조회
+     * 미래 구간은 저장되지 않은 결제일도 PENDING으로 계산해 포함
      * @param userId 사용자 ID
      * @param startDate 시작일
      * @param endDate 종료일
      * @return 결제 이력 리스트
      */
     List<PaymentCycle> getPaymentHistory(Long userId, LocalDate startDate, LocalDate endDate);
+
+    /**
+     * 사용자의 결제 이력 조회 (구독 정보 포함 응답)
+     * @param userId 사용자 ID
+     * @param startDate 시작일
+     * @param endDate 종료일
+     * @return 결제일 내림차순 응답 리스트
+     */
+    List<PaymentCycleResponse> getPaymentHistoryResponses(Long userId, LocalDate startDate, LocalDate endDate);
+
+    /**
+     * 사용자의 월별 지출 요약 (합계/상태별 건수/카테고리별 금액)
+     * 지난 달까지는 monthly_spending_rollup 조회 1번, 이번 달 이후는 미래 결제일 프로젝션 포함해서 계산
+     * @param userId 사용자 ID
+     * @param year 연도
+     * @param month 월
+     * @return 월별 지출 요약
+     */
+    MonthlySpendingSummaryResponse getMonthlySpendingSummary(Long userId, int year, int month);
+
+    /**
+     * 특정 구독의 결제 이력 조회 (키셋 페이지네이션, 결제일 최신순)
+     * 아직 저장되지 않은 1년 이내 미래 결제일(cycleId = null, PENDING)도 포함
+     * @param subscription 권한 확인이 끝난 구독
+     * @param status 상태 필터 (null이면 전체)
+     * @param cursor 이전 페이지의 nextCursor (null이면 첫 페이지)
+     * @param size 페이지 크기
+     * @return 결제 이력 페이지
+     */
+    PaymentCyclePageResponse getPaymentCyclesBySubscription(
+            Subscription subscription, PaymentStatus status, String cursor, int size);
 }
@@ -1,21 +1,42 @@
 package com.payflow.domain.payment.service;
 
+import com.payflow.domain.notification.service.NotificationService;
+import com.payflow.domain.payment.dto.MonthlySpendingSummaryResponse;
+import com.payflow.domain.payment.dto.PaymentCyclePageResponse;
+import com.payflow.domain.payment.dto.PaymentCycleResponse;
 import com.payflow.domain.payment.entity.PaymentCycle;
 import com.payflow.domain.payment.entity.PaymentCycle.PaymentStatus;
 import com.payflow.domain.payment.repository.PaymentCycleRepository;
+import com.payflow.domain.payment.repository.PaymentCycleRepository.ExistingDueDate;
+import com.payflow.domain.payment.repository.PaymentCycleRepository.LatestDueDate;
+import com.payflow.domain.payment.repository.PaymentCycleRepository.PaymentCycleDetail;
 import com.payflow.domain.subscription.entity.Subscription;
-import com.payflow.domain.subscription.entity.Subscription.CycleType;
 import com.payflow.domain.subscription.repository.SubscriptionRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.time.DayOfWeek;
 import java.time.LocalDate;
-import java.time.temporal.TemporalAdjusters;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -24,6 +45,16 @@ public class PaymentCycleServiceImpl implements PaymentCycleService {
 
     private final PaymentCycleRepository paymentCycleRepository;
     private final SubscriptionRepository subscriptionRepository;
+    private final PaymentRecurrenceEngine recurrenceEngine;
+    private final NotificationService notificationService;
+    private final MonthlySpendingRollupService monthlySpendingRollupService;
+    private final PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:100}")
+    private int batchSize;
 
     /**
      * 구독에 대한 결제 주기를 자동 생성
@@ -57,120 +88,174 @@ public class PaymentCycleServiceImpl implements PaymentCycleService {
             return;
         }
 
-        // 3. 결제 주기 타입에 따라 PaymentCycle 생성
-        List<PaymentCycle> paymentCycles = generatePaymentCycles(subscription, monthsAhead);
+        // 3. 결제 주기 타입에 따라 PaymentCycle 생성 (결제 완료로 미리 저장된 결제일 제외)
+        Set<String> savedDueDates = savedDueDateKeys(List.of(subscriptionId));
+        List<PaymentCycle> paymentCycles = withoutSaved(generatePaymentCycles(subscription, monthsAhead), savedDueDates);
 
-        // 4. DB에 저장
+        // 4. DB에 저장 + 월별 집계 갱신
         paymentCycleRepository.saveAll(paymentCycles);
+        monthlySpendingRollupService.refreshCycles(paymentCycles);
         
         log.info("결제 주기 생성 완료: {} 개", paymentCycles.size());
     }
 
     /**
-     * 결제 주기 생성 핵심 로직
+     * 여러 구독의 결제 주기를 배치로 생성
+     *
+     * 📌 단건 생성과 차이점:
+     * 1. 구독 조회/중복 확인을 IN 쿼리 1번씩으로 처리
+     * 2. batchSize 단위로 saveAll → flush → clear
+     *    (pooled ID + hibernate.jdbc.batch_size + rewriteBatchedStatements로 멀티 row INSERT)
+     * 3. 영속성 컨텍스트를 주기적으로 비워 대량 처리 시 메모리 증가 방지
      */
-    private List<PaymentCycle> generatePaymentCycles(Subscription subscription, int monthsAhead) {
-        List<PaymentCycle> cycles = new ArrayList<>();
-        LocalDate currentDate = LocalDate.now();
-        CycleType cycleType = subscription.getCycleType();
-
-        switch (cycleType) {
-            case MONTHLY -> {
-                // 월간 구독: 매월 특정 일자에 결제
-                Integer billingDay = subscription.getBillingDay();
-                if (billingDay == null) {
-                    throw new IllegalStateException("월간 구독의 billingDay가 설정되지 않았습니다");
-                }
+    @Override
+    @Transactional
+    public int createPaymentCyclesForSubscriptions(List<Long> subscriptionIds, int monthsAhead) {
+        if (subscriptionIds == null || subscriptionIds.isEmpty()) {
+            return 0;
+        }
 
-                for (int i = 0; i < monthsAhead; i++) {
-                    LocalDate dueDate = calculateMonthlyDueDate(currentDate, billingDay, i);
-                    cycles.add(createPaymentCycle(subscription, dueDate));
-                }
+        List<Subscription> subscriptions = subscriptionRepository.findAllById(subscriptionIds);
+        Set<Long> alreadyGenerated = new HashSet<>(
+            paymentCycleRepository.findSubscriptionIdsWithStatus(subscriptionIds, PaymentStatus.PENDING));
+        Set<String> savedDueDates = savedDueDateKeys(subscriptionIds);
+
+        List<PaymentCycle> buffer = new ArrayList<>(batchSize);
+        int created = 0;
+
+        for (Subscription subscription : subscriptions) {
+            if (alreadyGenerated.contains(subscription.getSubscriptionId())) {
+                continue;
             }
-            case WEEKLY -> {
-                // 주간 구독: 매주 특정 요일에 결제
-                Integer billingWeekday = subscription.getBillingWeekday();
-                if (billingWeekday == null) {
-                    throw new IllegalStateException("주간 구독의 billingWeekday가 설정되지 않았습니다");
-                }
 
-                int weeksToGenerate = monthsAhead * 4; // 대략 계산
-                for (int i = 0; i < weeksToGenerate; i++) {
-                    LocalDate dueDate = calculateWeeklyDueDate(currentDate, billingWeekday, i);
-                    cycles.add(createPaymentCycle(subscription, dueDate));
-                }
+            try {
+                buffer.addAll(withoutSaved(generatePaymentCycles(subscription, monthsAhead), savedDueDates));
+            } catch (IllegalStateException e) {
+                // 결제일 설정이 누락된 구독은 건너뛰고 나머지는 계속 생성
+                log.warn("결제 주기 생성 건너뜀: subscriptionId={}, reason={}",
+                         subscription.getSubscriptionId(), e.getMessage());
+                continue;
             }
-            case YEARLY -> {
-                // 연간 구독: 매년 특정 월/일에 결제
-                Integer billingMonth = subscription.getBillingMonth();
-                Integer billingDate = subscription.getBillingDate();
-                
-                if (billingMonth == null || billingDate == null) {
-                    throw new IllegalStateException("연간 구독의 billingMonth, billingDate가 설정되지 않았습니다");
-                }
 
-                int yearsToGenerate = Math.max(1, monthsAhead / 12);
-                for (int i = 0; i < yearsToGenerate; i++) {
-                    LocalDate dueDate = calculateYearlyDueDate(currentDate, billingMonth, billingDate, i);
-                    cycles.add(createPaymentCycle(subscription, dueDate));
-                }
+            if (buffer.size() >= batchSize) {
+                created += flushBatch(buffer);
             }
         }
+        created += flushBatch(buffer);
 
-        return cycles;
+        log.info("결제 주기 대량 생성 완료: 구독 {} 개, 결제 주기 {} 개", subscriptions.size(), created);
+        return created;
     }
 
     /**
-     * 월간 결제일 계산
-     * 예: billingDay=15 -> 매월 15일
+     * 롤링 호라이즌 연장
+     *
+     * 📌 핵심 로직:
+     * 1. 청크 내 구독들의 최신 결제일을 GROUP BY 쿼리 1번으로 조회
+     * 2. 최신 결제일이 windowEnd 이후면 아직 충분 → 건너뜀
+     * 3. 그렇지 않으면 (최신 결제일, horizonEnd] 구간의 누락된 결제 주기만 생성
+     *    (결제 주기가 하나도 없으면 오늘부터 생성)
      */
-    private LocalDate calculateMonthlyDueDate(LocalDate baseDate, int billingDay, int monthOffset) {
-        LocalDate targetMonth = baseDate.plusMonths(monthOffset);
-        
-        // 해당 월의 마지막 날짜를 초과하지 않도록 처리
-        int lastDayOfMonth = targetMonth.lengthOfMonth();
-        int actualDay = Math.min(billingDay, lastDayOfMonth);
-        
-        LocalDate dueDate = targetMonth.withDayOfMonth(actualDay);
-        
-        return dueDate;
+    @Override
+    @Transactional
+    public int extendPaymentCycles(List<Subscription> subscriptions, LocalDate windowEnd, LocalDate horizonEnd) {
+        if (subscriptions.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> subscriptionIds = subscriptions.stream()
+            .map(Subscription::getSubscriptionId)
+            .toList();
+        Map<Long, LocalDate> latestDueDates = paymentCycleRepository.findLatestDueDates(subscriptionIds).stream()
+            .collect(Collectors.toMap(LatestDueDate::getSubscriptionId, LatestDueDate::getLatestDueDate));
+
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        List<PaymentCycle> buffer = new ArrayList<>(batchSize);
+        int created = 0;
+
+        for (Subscription subscription : subscriptions) {
+            LocalDate latestDueDate = latestDueDates.get(subscription.getSubscriptionId());
+            if (latestDueDate != null && latestDueDate.isAfter(windowEnd)) {
+                continue;
+            }
+
+            // 과거 날짜의 결제 주기는 만들지 않음
+            LocalDate fromExclusive = (latestDueDate == null || latestDueDate.isBefore(yesterday))
+                ? yesterday
+                : latestDueDate;
+
+            try {
+                buffer.addAll(generatePaymentCyclesBetween(subscription, fromExclusive, horizonEnd));
+            } catch (IllegalStateException e) {
+                log.warn("결제 주기 연장 건너뜀: subscriptionId={}, reason={}",
+                         subscription.getSubscriptionId(), e.getMessage());
+                continue;
+            }
+
+            if (buffer.size() >= batchSize) {
+                created += flushBatch(buffer);
+            }
+        }
+        created += flushBatch(buffer);
+
+        return created;
     }
 
     /**
-     * 주간 결제일 계산
-     * 예: billingWeekday=1 (월요일) -> 매주 월요일
+     * 구독들의 오늘 이후 저장된 결제일 ("구독ID:결제일", IN 범위 조회 1번)
      */
-    private LocalDate calculateWeeklyDueDate(LocalDate baseDate, int billingWeekday, int weekOffset) {
-        // billingWeekday: 1=월요일, 2=화요일, ..., 7=일요일
-        DayOfWeek targetDayOfWeek = DayOfWeek.of(billingWeekday);
-        
-        LocalDate dueDate = baseDate.plusWeeks(weekOffset)
-            .with(TemporalAdjusters.nextOrSame(targetDayOfWeek));
-        
-        return dueDate;
+    private Set<String> savedDueDateKeys(List<Long> subscriptionIds) {
+        return paymentCycleRepository.findDueDatesFrom(subscriptionIds, LocalDate.now()).stream()
+            .map(saved -> dueDateKey(saved.getSubscriptionId(), saved.getDueDate()))
+            .collect(Collectors.toSet());
+    }
+
+    private static List<PaymentCycle> withoutSaved(List<PaymentCycle> cycles, Set<String> savedDueDates) {
+        if (savedDueDates.isEmpty()) {
+            return cycles;
+        }
+        return cycles.stream()
+            .filter(cycle -> !savedDueDates.contains(dueDateKey(cycle.getSubscriptionId(), cycle.getDueDate())))
+            .toList();
+    }
+
+    private static String dueDateKey(Long subscriptionId, LocalDate dueDate) {
+        return subscriptionId + ":" + dueDate;
+    }
+
+    private int flushBatch(List<PaymentCycle> buffer) {
+        if (buffer.isEmpty()) {
+            return 0;
+        }
+        int size = buffer.size();
+        paymentCycleRepository.saveAll(buffer);
+        paymentCycleRepository.flush();
+        monthlySpendingRollupService.refreshCycles(buffer);
+        entityManager.clear();
+        buffer.clear();
+        return size;
     }
 
     /**
-     * 연간 결제일 계산
-     * 예: billingMonth=3, billingDate=15 -> 매년 3월 15일
+     * 결제 주기 생성 핵심 로직
+     * 오늘부터 monthsAhead 개월 이전까지의 결제일을 PaymentRecurrenceEngine으로 계산
      */
-    private LocalDate calculateYearlyDueDate(LocalDate baseDate, int billingMonth, int billingDate, int yearOffset) {
-        LocalDate targetYear = baseDate.plusYears(yearOffset);
-        
-        try {
-            LocalDate dueDate = LocalDate.of(targetYear.getYear(), billingMonth, billingDate);
-            
-            // 현재 날짜보다 이전이면 다음 년도로
-            if (yearOffset == 0 && dueDate.isBefore(baseDate)) {
-                return calculateYearlyDueDate(baseDate, billingMonth, billingDate, 1);
-            }
-            
-            return dueDate;
-        } catch (Exception e) {
-            // 유효하지 않은 날짜 (예: 2월 30일) 처리
-            log.warn("유효하지 않은 연간 결제일: {}월 {}일", billingMonth, billingDate);
-            return targetYear.withMonth(billingMonth).with(TemporalAdjusters.lastDayOfMonth());
-        }
+    private List<PaymentCycle> generatePaymentCycles(Subscription subscription, int monthsAhead) {
+        LocalDate today = LocalDate.now();
+        LocalDate endDate = today.plusMonths(Math.max(1, monthsAhead)).minusDays(1);
+        return generatePaymentCyclesBetween(subscription, today.minusDays(1), endDate);
+    }
+
+    /**
+     * 기간 기준 결제 주기 생성 (fromExclusive, toInclusive]
+     * 롤링 호라이즌 연장 시 이미 생성된 마지막 결제일 이후만 이어 붙이기 위해 사용
+     */
+    private List<PaymentCycle> generatePaymentCyclesBetween(
+            Subscription subscription, LocalDate fromExclusive, LocalDate toInclusive) {
+        List<PaymentCycle> cycles = new ArrayList<>();
+        recurrenceEngine.forEachOccurrence(subscription, fromExclusive.plusDays(1), toInclusive,
+            dueDate -> cycles.add(createPaymentCycle(subscription, dueDate)));
+        return cycles;
     }
 
     /**
@@ -185,13 +270,22 @@ public class PaymentCycleServiceImpl implements PaymentCycleService {
             .build();
     }
 
+    /**
+     * 다가오는 결제 조회
+     * DB에 저장된 결제 주기 + 저장되지 않은 미래 결제일(엔진 계산)을 합쳐서 반환
+     */
     @Override
     @Transactional(readOnly = true)
     public List<PaymentCycle> getUpcomingPayments(Long userId, int days) {
         LocalDate today = LocalDate.now();
         LocalDate endDate = today.plusDays(days);
-        
-        return paymentCycleRepository.findUpcomingPayments(userId, today, endDate);
+
+        List<PaymentCycle> stored = paymentCycleRepository.findPaymentHistoryByPeriod(userId, today, endDate);
+
+        return withProjectedCycles(userId, stored, today, endDate).stream()
+            .filter(cycle -> cycle.getStatus() == PaymentStatus.PENDING)
+            .sorted(Comparator.comparing(PaymentCycle::getDueDate))
+            .toList();
     }
 
     @Override
@@ -202,10 +296,61 @@ public class PaymentCycleServiceImpl implements PaymentCycleService {
         
         cycle.markAsPaid(paidAmount);
         paymentCycleRepository.save(cycle);
+        monthlySpendingRollupService.refreshCycles(List.of(cycle));
         
         log.info("결제 완료 처리: cycleId={}, amount={}", cycleId, paidAmount);
     }
 
+    @Override
+    @Transactional
+    public PaymentCycle markAsPaid(Long subscriptionId, LocalDate dueDate, Integer paidAmount) {
+        PaymentCycle cycle = materializeCycle(subscriptionId, dueDate);
+
+        cycle.markAsPaid(paidAmount);
+        PaymentCycle saved = paymentCycleRepository.save(cycle);
+        monthlySpendingRollupService.refreshCycles(List.of(saved));
+
+        log.info("결제 완료 처리: cycleId={}, subscriptionId={}, dueDate={}, amount={}",
+                 saved.getCycleId(), subscriptionId, dueDate, paidAmount);
+        return saved;
+    }
+
+    /**
+     * 엔진 계산 결제 주기를 DB에 저장 (이미 있으면 그대로 반환)
+     * 저장은 별도 트랜잭션 → 동시 요청이 먼저 저장해서 UNIQUE(subscription_id, due_date) 위반이 나도
+     * 호출한 쪽 트랜잭션은 그대로 쓸 수 있고, 잠금 읽기로 먼저 저장된 행을 다시 조회
+     */
+    @Override
+    @Transactional
+    public PaymentCycle materializeCycle(Long subscriptionId, LocalDate dueDate) {
+        Optional<PaymentCycle> existing = paymentCycleRepository.findBySubscriptionIdAndDueDate(subscriptionId, dueDate);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+
+        Subscription subscription = subscriptionRepository.findById(subscriptionId)
+            .orElseThrow(() -> new IllegalArgumentException("구독을 찾을 수 없습니다: " + subscriptionId));
+        if (!recurrenceEngine.isOccurrence(subscription, dueDate)) {
+            throw new IllegalArgumentException("구독의 결제일이 아닙니다: " + dueDate);
+        }
+
+        TransactionTemplate requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        try {
+            requiresNew.executeWithoutResult(status -> {
+                PaymentCycle saved = paymentCycleRepository.saveAndFlush(createPaymentCycle(subscription, dueDate));
+                monthlySpendingRollupService.refreshCycles(List.of(saved));
+            });
+        } catch (DataIntegrityViolationException e) {
+            log.info("동시에 저장된 결제 주기 재조회: subscriptionId={}, dueDate={}", subscriptionId, dueDate);
+        }
+
+        // 호출한 쪽 영속성 컨텍스트에서 관리되는 엔티티로 반환 (결제 완료 처리 등에서 바로 수정)
+        return paymentCycleRepository.findForUpdate(subscriptionId, dueDate)
+            .orElseThrow(() -> new IllegalStateException(
+                "결제 주기를 저장하지 못했습니다: subscriptionId=" + subscriptionId + ", dueDate=" + dueDate));
+    }
+
     @Override
     @Transactional
     public void markAsOverdue(Long cycleId) {
@@ -214,13 +359,240 @@ public class PaymentCycleServiceImpl implements PaymentCycleService {
         
         cycle.markAsOverdue();
         paymentCycleRepository.save(cycle);
+        monthlySpendingRollupService.refreshCycles(List.of(cycle));
         
         log.warn("연체 처리: cycleId={}, subscriptionId={}", cycleId, cycle.getSubscriptionId());
     }
 
+    /**
+     * 연체 청크 처리
+     * ID 조회 → UPDATE ... WHERE cycleId IN (...) AND status = 'PENDING' 으로 엔티티 로딩 없이 처리
+     * MySQL은 UPDATE ... RETURNING이 없으므로 건수가 다를 때만(동시 결제 완료) 실제 변경 ID 재조회
+     * 연체 알림도 같은 트랜잭션에서 아웃박스에 등록 → 상태 변경과 알림 등록이 함께 커밋/롤백
+     */
+    @Override
+    @Transactional
+    public List<Long> markOverdueChunk(LocalDate today, int partition, int partitionCount, int chunkSize) {
+        List<Integer> partitionKeys = PaymentCycle.partitionKeys(partition, partitionCount);
+        if (partitionKeys.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> candidateIds = paymentCycleRepository.findPendingIdsDueBefore(
+            today, partitionKeys, PageRequest.of(0, chunkSize));
+        if (candidateIds.isEmpty()) {
+            return List.of();
+        }
+
+        int updated = paymentCycleRepository.markOverdueByIds(candidateIds, today, LocalDateTime.now());
+        List<Long> overdueIds = updated == candidateIds.size()
+            ? candidateIds
+            : paymentCycleRepository.findIdsByIdInAndStatus(candidateIds, PaymentStatus.OVERDUE);
+
+        List<PaymentCycle> overdueCycles = paymentCycleRepository.findAllById(overdueIds);
+        notificationService.sendOverdueNotifications(overdueCycles);
+        monthlySpendingRollupService.refreshCycles(overdueCycles);
+        return overdueIds;
+    }
+
+    /**
+     * 결제 이력 조회 (최신순)
+     * 미래 구간은 아직 저장되지 않은 결제일을 PENDING으로 계산해서 포함
+     */
     @Override
     @Transactional(readOnly = true)
     public List<PaymentCycle> getPaymentHistory(Long userId, LocalDate startDate, LocalDate endDate) {
-        return paymentCycleRepository.findPaymentHistoryByPeriod(userId, startDate, endDate);
+        List<PaymentCycle> stored = paymentCycleRepository.findPaymentHistoryByPeriod(userId, startDate, endDate);
+
+        return withProjectedCycles(userId, stored, startDate, endDate).stream()
+            .sorted(Comparator.comparing(PaymentCycle::getDueDate).reversed())
+            .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<PaymentCycleResponse> getUpcomingPaymentResponses(Long userId, int days) {
+        LocalDate today = LocalDate.now();
+        LocalDate endDate = today.plusDays(days);
+
+        return withProjectedResponses(userId, paymentCycleRepository.findPaymentHistoryDetails(userId, today, endDate), today, endDate)
+            .stream()
+            .filter(response -> response.getStatus() == PaymentStatus.PENDING)
+            .sorted(Comparator.comparing(PaymentCycleResponse::getDueDate))
+            .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<PaymentCycleResponse> getPaymentHistoryResponses(Long userId, LocalDate startDate, LocalDate endDate) {
+        return withProjectedResponses(userId, paymentCycleRepository.findPaymentHistoryDetails(userId, startDate, endDate), startDate, endDate)
+            .stream()
+            .sorted(Comparator.comparing(PaymentCycleResponse::getDueDate).reversed())
+            .toList();
+    }
+
+    /**
+     * 월별 지출 요약
+     * 지난 달까지: 프로젝션 대상이 아니므로 저장된 결제 주기 = 전체 → 집계 테이블 조회 1번
+     * 이번 달 이후: 저장되지 않은 미래 결제일이 있으므로 결제 이력(프로젝션 포함)으로 계산
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public MonthlySpendingSummaryResponse getMonthlySpendingSummary(Long userId, int year, int month) {
+        YearMonth target = YearMonth.of(year, month);
+        if (target.isBefore(YearMonth.now())) {
+            return MonthlySpendingSummaryResponse.fromRollups(year, month,
+                monthlySpendingRollupService.getMonth(userId, target));
+        }
+        return MonthlySpendingSummaryResponse.fromPayments(year, month,
+            getPaymentHistoryResponses(userId, target.atDay(1), target.atEndOfMonth()));
+    }
+
+    /**
+     * 특정 구독의 결제 이력 페이지 조회
+     * 저장된 결제 주기 + 저장되지 않은 미래 결제일(1년 이내, 엔진 계산)을 결제일 최신순으로 합쳐서 반환
+     * 각각 size + 1개까지 모아서 다음 페이지 존재 여부 판단
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public PaymentCyclePageResponse getPaymentCyclesBySubscription(
+            Subscription subscription, PaymentStatus status, String cursor, int size) {
+        PageRequest limit = PageRequest.of(0, size + 1);
+        PaymentCyclePageResponse.Cursor decoded = (cursor == null || cursor.isBlank())
+            ? null
+            : PaymentCyclePageResponse.decodeCursor(cursor);
+
+        List<PaymentCycle> cycles = new ArrayList<>();
+        if (decoded == null) {
+            cycles.addAll(paymentCycleRepository.findPageBySubscription(subscription.getSubscriptionId(), status, limit));
+        } else {
+            cycles.addAll(paymentCycleRepository.findPageBySubscriptionAfter(
+                subscription.getSubscriptionId(), status, decoded.dueDate(), decoded.cycleId(), limit));
+        }
+        cycles.addAll(projectedCyclesBefore(subscription, status, decoded == null ? null : decoded.dueDate()));
+
+        // 같은 구독의 결제일은 유일 (uk_payment_cycles_subscription_due_date) → 결제일만으로 순서 결정
+        cycles.sort(Comparator.comparing(PaymentCycle::getDueDate, Comparator.reverseOrder()));
+
+        boolean hasNext = cycles.size() > size;
+        List<PaymentCycle> page = hasNext ? cycles.subList(0, size) : cycles;
+
+        String nextCursor = null;
+        if (hasNext) {
+            // 미래 결제일(cycleId = null)에서 끝나면 cycleId 0 → 그 날짜의 저장된 결제 주기는 없으므로 결제일 이전부터 이어짐
+            PaymentCycle last = page.get(page.size() - 1);
+            nextCursor = PaymentCyclePageResponse.encodeCursor(last.getDueDate(),
+                last.getCycleId() != null ? last.getCycleId() : 0L);
+        }
+
+        return PaymentCyclePageResponse.builder()
+            .payments(page.stream()
+                .map(cycle -> PaymentCycleResponse.from(cycle, subscription))
+                .toList())
+            .nextCursor(nextCursor)
+            .hasNext(hasNext)
+            .build();
+    }
+
+    /**
+     * 구독 결제 이력 페이지에 넣을 미래 결제일 (오늘 ~ 1년 뒤, 커서 결제일 이전만)
+     * - PENDING/전체 조회일 때만, ACTIVE 구독만 대상
+     * - 이미 저장된 결제일은 저장본 우선 (상태와 관계없이 제외)
+     */
+    private List<PaymentCycle> projectedCyclesBefore(Subscription subscription, PaymentStatus status, LocalDate beforeDate) {
+        if ((status != null && status != PaymentStatus.PENDING) || subscription.getStatus() != Subscription.Status.ACTIVE) {
+            return List.of();
+        }
+
+        LocalDate today = LocalDate.now();
+        LocalDate endDate = today.plusYears(1);
+        if (beforeDate != null && !beforeDate.isAfter(endDate)) {
+            endDate = beforeDate.minusDays(1);
+        }
+        if (endDate.isBefore(today)) {
+            return List.of();
+        }
+
+        Set<LocalDate> storedDueDates = paymentCycleRepository
+            .findDueDatesFrom(List.of(subscription.getSubscriptionId()), today).stream()
+            .map(ExistingDueDate::getDueDate)
+            .collect(Collectors.toSet());
+
+        List<PaymentCycle> projected = new ArrayList<>();
+        try {
+            recurrenceEngine.forEachOccurrence(subscription, today, endDate, dueDate -> {
+                if (!storedDueDates.contains(dueDate)) {
+                    projected.add(createPaymentCycle(subscription, dueDate));
+                }
+            });
+        } catch (IllegalStateException e) {
+            log.warn("결제일 계산 건너뜀: subscriptionId={}, reason={}",
+                     subscription.getSubscriptionId(), e.getMessage());
+        }
+        return projected;
+    }
+
+    /**
+     * 저장된 결제 주기에 엔진이 계산한 미래 결제일(cycleId = null, PENDING)을 추가
+     */
+    private List<PaymentCycle> withProjectedCycles(
+            Long userId, List<PaymentCycle> stored, LocalDate startDate, LocalDate endDate) {
+        Set<CycleKey> storedKeys = new HashSet<>();
+        for (PaymentCycle cycle : stored) {
+            storedKeys.add(new CycleKey(cycle.getSubscriptionId(), cycle.getDueDate()));
+        }
+
+        List<PaymentCycle> merged = new ArrayList<>(stored);
+        projectCycles(userId, startDate, endDate, storedKeys,
+            (subscription, dueDate) -> merged.add(createPaymentCycle(subscription, dueDate)));
+        return merged;
+    }
+
+    /**
+     * 프로젝션 기반 응답에 엔진이 계산한 미래 결제일 응답을 추가 (구독 정보는 이미 조회한 구독에서 채움)
+     */
+    private List<PaymentCycleResponse> withProjectedResponses(
+            Long userId, List<PaymentCycleDetail> stored, LocalDate startDate, LocalDate endDate) {
+        Set<CycleKey> storedKeys = new HashSet<>();
+        List<PaymentCycleResponse> merged = new ArrayList<>(stored.size());
+        for (PaymentCycleDetail detail : stored) {
+            storedKeys.add(new CycleKey(detail.getSubscriptionId(), detail.getDueDate()));
+            merged.add(PaymentCycleResponse.from(detail));
+        }
+
+        projectCycles(userId, startDate, endDate, storedKeys,
+            (subscription, dueDate) -> merged.add(PaymentCycleResponse.from(createPaymentCycle(subscription, dueDate), subscription)));
+        return merged;
+    }
+
+    /**
+     * 아직 저장되지 않은 미래 결제일 계산
+     * - 오늘 이전 날짜는 계산하지 않음 (과거는 저장된 이력만 신뢰)
+     * - 이미 저장된 (subscriptionId, dueDate)는 상태와 관계없이 저장본 우선
+     * - ACTIVE 구독만 대상
+     */
+    private void projectCycles(Long userId, LocalDate startDate, LocalDate endDate,
+                               Set<CycleKey> storedKeys, BiConsumer<Subscription, LocalDate> sink) {
+        LocalDate today = LocalDate.now();
+        LocalDate projectFrom = startDate.isBefore(today) ? today : startDate;
+        if (projectFrom.isAfter(endDate)) {
+            return;
+        }
+
+        for (Subscription subscription : subscriptionRepository.findByUserIdAndStatus(userId, Subscription.Status.ACTIVE)) {
+            try {
+                recurrenceEngine.forEachOccurrence(subscription, projectFrom, endDate, dueDate -> {
+                    if (!storedKeys.contains(new CycleKey(subscription.getSubscriptionId(), dueDate))) {
+                        sink.accept(subscription, dueDate);
+                    }
+                });
+            } catch (IllegalStateException e) {
+                log.warn("결제일 계산 건너뜀: subscriptionId={}, reason={}",
+                         subscription.getSubscriptionId(), e.getMessage());
+            }
+        }
+    }
+
+    private record CycleKey(Long subscriptionId, LocalDate dueDate) {
     }
 }
@@ -0,0 +1,133 @@
+package com.payflow.domain.payment.service;
+
+import com.payflow.domain.subscription.entity.Subscription;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 구독 결제 규칙(cycleType + billingDay/Weekday/Month/Date)으로 결제일을 계산하는 엔진
+ *
+ * 📌 핵심:
+ * - DB에 저장된 payment_cycles 없이도 임의 기간의 결제 예정일을 메모리에서 계산
+ * - 연/월/일 int 연산과 epochDay 연산만 사용 (plusMonths, TemporalAdjusters 체인 없음)
+ * - 결제일 하나당 LocalDate 1개만 생성
+ *
+ * 월말 보정: billingDay가 해당 월의 마지막 날보다 크면 마지막 날로 결제 (예: 31일 → 2월 28/29일)
+ */
+@Component
+public class PaymentRecurrenceEngine {
+
+    /**
+     * [from, to] 구간의 결제일 목록
+     */
+    public List<LocalDate> occurrencesBetween(Subscription subscription, LocalDate from, LocalDate to) {
+        List<LocalDate> dates = new ArrayList<>();
+        forEachOccurrence(subscription, from, to, dates::add);
+        return dates;
+    }
+
+    /**
+     * 해당 날짜가 구독의 결제일인지 확인
+     */
+    public boolean isOccurrence(Subscription subscription, LocalDate date) {
+        return !occurrencesBetween(subscription, date, date).isEmpty();
+    }
+
+    /**
+     * [from, to] 구간의 결제일을 순서대로 action에 전달
+     *
+     * @throws IllegalStateException 결제 주기에 필요한 결제일 설정이 없거나 범위를 벗어난 경우
+     */
+    public void forEachOccurrence(Subscription subscription, LocalDate from, LocalDate to, Consumer<LocalDate> action) {
+        if (to.isBefore(from)) {
+            return;
+        }
+
+        switch (subscription.getCycleType()) {
+            case MONTHLY -> {
+                Integer billingDay = subscription.getBillingDay();
+                if (billingDay == null || billingDay < 1 || billingDay > 31) {
+                    throw new IllegalStateException("월간 구독의 billingDay가 설정되지 않았습니다");
+                }
+                forEachMonthly(billingDay, from, to, action);
+            }
+            case WEEKLY -> {
+                // billingWeekday: 1=월요일, 2=화요일, ..., 7=일요일
+                Integer billingWeekday = subscription.getBillingWeekday();
+                if (billingWeekday == null || billingWeekday < 1 || billingWeekday > 7) {
+                    throw new IllegalStateException("주간 구독의 billingWeekday가 설정되지 않았습니다");
+                }
+                forEachWeekly(billingWeekday, from, to, action);
+            }
+            case YEARLY -> {
+                Integer billingMonth = subscription.getBillingMonth();
+                Integer billingDate = subscription.getBillingDate();
+                if (billingMonth == null || billingDate == null
+                        || billingMonth < 1 || billingMonth > 12 || billingDate < 1 || billingDate > 31) {
+                    throw new IllegalStateException("연간 구독의 billingMonth, billingDate가 설정되지 않았습니다");
+                }
+                forEachYearly(billingMonth, billingDate, from, to, action);
+            }
+        }
+    }
+
+    private void forEachMonthly(int billingDay, LocalDate from, LocalDate to, Consumer<LocalDate> action) {
+        int year = from.getYear();
+        int month = from.getMonthValue();
+
+        while (compareYearMonth(year, month, to) <= 0) {
+            int day = Math.min(billingDay, lengthOfMonth(year, month));
+            if (compare(year, month, day, from) >= 0 && compare(year, month, day, to) <= 0) {
+                action.accept(LocalDate.of(year, month, day));
+            }
+            if (++month > 12) {
+                month = 1;
+                year++;
+            }
+        }
+    }
+
+    private void forEachWeekly(int isoWeekday, LocalDate from, LocalDate to, Consumer<LocalDate> action) {
+        long start = from.toEpochDay();
+        long end = to.toEpochDay();
+
+        // epochDay 0 (1970-01-01)은 목요일(ISO 4)
+        int fromWeekday = Math.floorMod(start + 3, 7) + 1;
+        long first = start + Math.floorMod(isoWeekday - fromWeekday, 7);
+
+        for (long day = first; day <= end; day += 7) {
+            action.accept(LocalDate.ofEpochDay(day));
+        }
+    }
+
+    private void forEachYearly(int billingMonth, int billingDate, LocalDate from, LocalDate to, Consumer<LocalDate> action) {
+        for (int year = from.getYear(); year <= to.getYear(); year++) {
+            int day = Math.min(billingDate, lengthOfMonth(year, billingMonth));
+            if (compare(year, billingMonth, day, from) >= 0 && compare(year, billingMonth, day, to) <= 0) {
+                action.accept(LocalDate.of(year, billingMonth, day));
+            }
+        }
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        return Month.of(month).length(Year.isLeap(year));
+    }
+
+    private static int compareYearMonth(int year, int month, LocalDate date) {
+        if (year != date.getYear()) {
+            return Integer.compare(year, date.getYear());
+        }
+        return Integer.compare(month, date.getMonthValue());
+    }
+
+    private static int compare(int year, int month, int day, LocalDate date) {
+        int cmp = compareYearMonth(year, month, date);
+        return cmp != 0 ? cmp : Integer.compare(day, date.getDayOfMonth());
+    }
+}
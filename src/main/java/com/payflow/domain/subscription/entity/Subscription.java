@@ -8,6 +8,7 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
@@ -18,7 +19,13 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "subscriptions")
+@Table(
+    name = "subscriptions",
+    indexes = {
+        // 사용자별 구독 목록 (user_id = ? AND status = ?)
+        @Index(name = "idx_subscriptions_user_status", columnList = "user_id, status")
+    }
+)
 @Getter
 @NoArgsConstructor
 @AllArgsConstructor
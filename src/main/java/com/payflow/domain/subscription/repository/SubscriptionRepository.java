@@ -4,6 +4,7 @@ import com.payflow.domain.subscription.entity.Subscription;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 public interface SubscriptionRepository extends JpaRepository<Subscription, Long> {
@@ -16,4 +17,8 @@ public interface SubscriptionRepository extends JpaRepository<Subscription, Long
 
     // 구독 ID와 사용자 ID로 조회
     Optional<Subscription> findBySubscriptionIdAndUserId(Long subscriptionId, Long userId);
+
+    // 상태별 키셋 페이지 조회 (스케줄러 청크 처리용: subscriptionId > lastId)
+    List<Subscription> findByStatusAndSubscriptionIdGreaterThanOrderBySubscriptionIdAsc(
+        Subscription.Status status, Long lastSubscriptionId, Pageable pageable);
 }
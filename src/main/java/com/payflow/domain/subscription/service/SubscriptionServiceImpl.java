@@ -3,6 +3,7 @@ package com.payflow.domain.subscription.service;
 import com.payflow.domain.notification.repository.NotificationRepository;
 import com.payflow.domain.payment.entity.PaymentCycle;
 import com.payflow.domain.payment.repository.PaymentCycleRepository;
+import com.payflow.domain.payment.service.MonthlySpendingRollupService;
 import com.payflow.domain.payment.service.PaymentCycleService;
 import com.payflow.domain.subscription.dto.SubscriptionCreateRequest;
 import com.payflow.domain.subscription.dto.SubscriptionResponse;
@@ -14,9 +15,11 @@ import com.payflow.domain.user.repository.UserRepository;
 import com.payflow.global.redis.RedisService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Service
@@ -29,8 +32,12 @@ public class SubscriptionServiceImpl implements SubscriptionService {
     private final PaymentCycleService paymentCycleService;
     private final PaymentCycleRepository paymentCycleRepository;
     private final NotificationRepository notificationRepository;
+    private final MonthlySpendingRollupService monthlySpendingRollupService;
     private final RedisService redisService;
 
+    @Value("${payflow.payment-cycle.horizon-months:1}")
+    private int paymentCycleHorizonMonths;
+
 
     // 구독 정보 등록
     @Override
@@ -60,12 +67,13 @@ public class SubscriptionServiceImpl implements SubscriptionService {
                 .memo(request.getMemo())
                 .build();
 
-        // 3. 저장
+        // 3. 저장 + 구독 변경 시각 갱신 (AI 인사이트 사전 계산 대상)
         Subscription saved = subscriptionRepository.save(subscription);
+        userRepository.markSubscriptionsChanged(userId, LocalDateTime.now());
 
-        // 4. 결제 주기 자동 생성 (향후 12개월치)
+        // 4. 결제 주기 자동 생성 (향후 horizon 개월치, 이후는 PaymentScheduler가 매일 연장)
         try {
-            paymentCycleService.createPaymentCyclesForSubscription(saved.getSubscriptionId(), 12);
+            paymentCycleService.createPaymentCyclesForSubscription(saved.getSubscriptionId(), paymentCycleHorizonMonths);
         } catch (Exception e) {
             // 결제 주기 생성 실패해도 구독 생성은 성공으로 처리
             // 추후 스케줄러로 재생성 가능
@@ -97,6 +105,7 @@ public class SubscriptionServiceImpl implements SubscriptionService {
 
     // 내 구독 정보 수정
     @Override
+    @Transactional
     public SubscriptionResponse updateSubscription(Long userId, Long subscriptionId, SubscriptionUpdateRequest request) {
         // 1. 구독 조회 및 권한 확인
         Subscription subscription = subscriptionRepository.findBySubscriptionIdAndUserId(subscriptionId, userId)
@@ -108,8 +117,10 @@ public class SubscriptionServiceImpl implements SubscriptionService {
         // updateRequest 파라미터 ->  entity에 업데이트용(update) 메서드 호출
         subscription.update(request);
         
-        // 3. 저장
+        // 3. 저장 + 월별 집계 갱신 (금액/카테고리는 모든 달의 집계에 반영됨) + 구독 변경 시각 갱신 (해지/일시정지 포함)
         Subscription updated = subscriptionRepository.save(subscription);
+        monthlySpendingRollupService.refreshUser(userId);
+        userRepository.markSubscriptionsChanged(userId, LocalDateTime.now());
 
         return SubscriptionResponse.from(updated);
     }
@@ -134,8 +145,12 @@ public class SubscriptionServiceImpl implements SubscriptionService {
         }
         paymentCycleRepository.deleteBySubscriptionId(subscriptionId);
 
-        // 2. 삭제 (물리 삭제)
+        // 2. 삭제 (물리 삭제) + 월별 집계 갱신
         subscriptionRepository.delete(subscription);
+        monthlySpendingRollupService.refreshUser(userId);
+
+        // 3. 구독 변경 시각 갱신 → 삭제된 구독(마지막 구독 포함)도 AI 인사이트 사전 계산 대상이 됨
+        userRepository.markSubscriptionsChanged(userId, LocalDateTime.now());
         
         // 또는 논리 삭제를 원한다면:
         // subscription.setStatus(Status.CANCELED);
@@ -32,6 +32,10 @@ public class User {
     @Column(nullable = false)
     private LocalDateTime createdAt;
 
+    // 구독 추가/수정/삭제 시각 (AI 인사이트 사전 계산 대상 선정)
+    @Column(name = "subscriptions_changed_at")
+    private LocalDateTime subscriptionsChangedAt;
+
     @PrePersist
     void prePersist() {
         this.createdAt = LocalDateTime.now();
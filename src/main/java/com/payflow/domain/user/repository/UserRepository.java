@@ -1,8 +1,15 @@
 package com.payflow.domain.user.repository;
 
 import com.payflow.domain.user.entity.User;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
 
@@ -10,4 +17,14 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByEmail(String email);
 
+    // 사용자 ID 키셋 페이지 (배치 작업용, 엔티티 로딩 없음)
+    @Query("SELECT u.userId FROM User u WHERE u.userId > :lastUserId ORDER BY u.userId ASC")
+    List<Long> findUserIdsAfter(@Param("lastUserId") Long lastUserId, Pageable pageable);
+
+    // 구독 추가/수정/삭제 시각 갱신 (AI 인사이트 사전 계산 대상이 됨)
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.subscriptionsChangedAt = :now WHERE u.userId = :userId")
+    int markSubscriptionsChanged(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
 }
@@ -0,0 +1,93 @@
+package com.payflow.global.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+    @Value("${payflow.notification.executor.core-size:4}")
+    private int corePoolSize;
+
+    @Value("${payflow.notification.executor.max-size:4}")
+    private int maxPoolSize;
+
+    @Value("${payflow.notification.executor.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${payflow.scheduler.partition.threads:4}")
+    private int partitionThreads;
+
+    @Value("${payflow.ai.executor.core-size:8}")
+    private int aiCorePoolSize;
+
+    @Value("${payflow.ai.executor.queue-capacity:200}")
+    private int aiQueueCapacity;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    /**
+     * 알림(이메일) 발송 전용 스레드 풀 (NotificationOutboxWorker)
+     * 큐가 가득 차면 호출한 스케줄러 스레드가 직접 실행 → 조회 속도를 발송 속도에 맞춤
+     * 가상 스레드 모드에서도 풀 크기(= 동시 SMTP 연결 수) 제한은 그대로 유지
+     */
+    @Bean(name = "notificationExecutor")
+    public Executor notificationExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("notification-");
+        executor.setVirtualThreads(virtualThreads);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 스케줄러 파티션 처리용 스레드 풀 (PartitionedJobRunner)
+     * 인스턴스당 동시에 처리하는 파티션 수 = partitionThreads
+     */
+    @Bean(name = "schedulerPartitionExecutor")
+    public Executor schedulerPartitionExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(partitionThreads);
+        executor.setMaxPoolSize(partitionThreads);
+        executor.setQueueCapacity(partitionThreads);
+        executor.setThreadNamePrefix("scheduler-partition-");
+        executor.setVirtualThreads(virtualThreads);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * AI 엔드포인트의 블로킹 작업(JPA 조회/저장) 전용 스레드 풀
+     * Gemini 대기는 WebClient(논블로킹)가 담당하고, 이 풀은 DB 작업만 실행 → 요청 스레드는 바로 반환
+     * 풀 크기로 AI 요청의 DB 커넥션 사용량을 제한, 큐가 가득 차면 거절 (요청 스레드에서 실행하지 않음)
+     */
+    @Bean(name = "aiBlockingExecutor")
+    public Executor aiBlockingExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(aiCorePoolSize);
+        executor.setMaxPoolSize(aiCorePoolSize);
+        executor.setQueueCapacity(aiQueueCapacity);
+        executor.setThreadNamePrefix("ai-blocking-");
+        executor.setVirtualThreads(virtualThreads);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -6,8 +6,12 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
@@ -17,10 +21,16 @@ import org.springframework.web.filter.OncePerRequestFilter;
 public class JwtAuthFilter extends OncePerRequestFilter {
   private final JwtUtil jwtUtil;
   private final StringRedisTemplate redisTemplate;
+  // 운영자 사용자 ID (ROLE_ADMIN 부여 → /actuator/**, 관리용 API 접근)
+  private final Set<Long> adminUserIds;
 
-  public JwtAuthFilter(JwtUtil jwtUtil, StringRedisTemplate redisTemplate) {
+  public JwtAuthFilter(
+      JwtUtil jwtUtil,
+      StringRedisTemplate redisTemplate,
+      @Value("${payflow.security.admin-user-ids:}") Set<Long> adminUserIds) {
     this.jwtUtil = jwtUtil;
     this.redisTemplate = redisTemplate;
+    this.adminUserIds = adminUserIds;
   }
 
   @Override
@@ -35,7 +45,10 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         Long userId = jwtUtil.getUserId(token);
         // UserId를 principal로 설정
         UsernamePasswordAuthenticationToken authentication =
-            new UsernamePasswordAuthenticationToken(userId, null, null);
+            new UsernamePasswordAuthenticationToken(
+                userId,
+                null,
+                adminUserIds.contains(userId) ? List.of(new SimpleGrantedAuthority("ROLE_ADMIN")) : List.of());
         authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
         SecurityContextHolder.getContext().setAuthentication(authentication);
       }
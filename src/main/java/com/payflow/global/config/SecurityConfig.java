@@ -1,7 +1,9 @@
 package com.payflow.global.config;
 
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
@@ -35,8 +37,16 @@ public class SecurityConfig {
         .authorizeHttpRequests(
             auth ->
                 auth
+                    // 비동기 응답(CompletableFuture/SseEmitter)의 ASYNC 재디스패치와 에러 디스패치는 허용
+                    // (최초 REQUEST 디스패치에서 이미 인증/인가 완료, JwtAuthFilter는 재디스패치에서 실행되지 않음)
+                    .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
                     // 인증 없이 접근 가능한 경로
                     .requestMatchers("/api/auth/signup", "/api/auth/login").permitAll()
+                    // Actuator: health만 공개, 메트릭 등은 운영자만 (payflow.security.admin-user-ids)
+                    .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                    .requestMatchers("/actuator/**").hasRole("ADMIN")
+                    // 결제 주기 수동/일괄 생성은 운영자만 (임의 구독 ID 대상)
+                    .requestMatchers(HttpMethod.POST, "/api/payment-cycles/generate", "/api/payment-cycles/generate/**").hasRole("ADMIN")
                     // 모든 API는 인증 필요
                     .requestMatchers("/api/**").authenticated()
                     // 그 외 정적 리소스는 허용
@@ -0,0 +1,87 @@
+package com.payflow.global.gemini;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+
+/**
+ * Gemini 호출 서킷 브레이커
+ *
+ * 📌 상태:
+ * - CLOSED: 정상 호출, 연속 실패가 failureThreshold에 도달하면 OPEN
+ * - OPEN: openDuration 동안 호출하지 않고 바로 실패 → 호출부는 즉시 로컬 분석으로 대체
+ * - HALF_OPEN: openDuration이 지나면 시험 호출 1건만 허용, 성공하면 CLOSED / 실패하면 다시 OPEN
+ */
+@Slf4j
+class GeminiCircuitBreaker {
+
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+    private final long openNanos;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    GeminiCircuitBreaker(int failureThreshold, Duration openDuration) {
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+    }
+
+    /**
+     * 호출 허용 여부 (허용했으면 결과를 onSuccess/onFailure로 반드시 알려야 함)
+     */
+    synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN && System.nanoTime() - openedAt >= openNanos) {
+            state = State.HALF_OPEN;
+            trialInFlight = false;
+            log.info("🤖 Gemini 서킷 HALF_OPEN: 시험 호출 허용");
+        }
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> false;
+            case HALF_OPEN -> {
+                if (trialInFlight) {
+                    yield false;
+                }
+                trialInFlight = true;
+                yield true;
+            }
+        };
+    }
+
+    synchronized void onSuccess() {
+        if (state != State.CLOSED) {
+            log.info("🤖 Gemini 서킷 CLOSED: 호출 정상화");
+        }
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        trialInFlight = false;
+    }
+
+    synchronized void onFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            if (state != State.OPEN) {
+                log.warn("🤖 Gemini 서킷 OPEN: 연속 실패 {}회 → {}초간 호출 차단",
+                        consecutiveFailures, Duration.ofNanos(openNanos).toSeconds());
+            }
+            state = State.OPEN;
+            openedAt = System.nanoTime();
+            trialInFlight = false;
+        }
+    }
+
+    /**
+     * 결과를 알 수 없이 끝난 호출 (취소 등) → 시험 호출 자리만 반납
+     */
+    synchronized void onIgnored() {
+        trialInFlight = false;
+    }
+
+    synchronized State getState() {
+        return state;
+    }
+}
@@ -1,27 +1,89 @@
 package com.payflow.global.gemini;
 
+import io.netty.channel.ChannelOption;
+import io.netty.handler.timeout.ReadTimeoutException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.util.retry.Retry;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+/**
+ * Gemini API 클라이언트
+ *
+ * 📌 장애 대응 (호출 1건 기준 순서):
+ * 1. 서킷 브레이커: 연속 실패 시 일정 시간 호출 없이 바로 GeminiException(CIRCUIT_OPEN) → 호출부는 로컬 분석
+ * 2. 벌크헤드: 동시 호출 maxConcurrentCalls 초과 시 대기하지 않고 바로 실패
+ * 3. 재시도: 타임아웃/연결 실패/5xx/429만 지수 백오프 + 지터로 재시도 (4xx는 재시도하지 않음)
+ * 4. Reactor Netty 연결 풀 + 연결/응답 타임아웃 → 브라운아웃 중에도 TCP 타임아웃까지 기다리지 않음
+ * 5. 전체 타임아웃: 재시도/백오프를 포함한 호출 1건의 상한 (AI 요청 합치기 락 TTL, 비동기 요청 타임아웃보다 짧게)
+ * 스트리밍 호출(streamGemini)은 1~2와 타임아웃만 적용 (재시도 없음, 전체 타임아웃은 같은 값)
+ */
 @Slf4j
 @Component
 public class GeminiClient {
 
     private final WebClient webClient;
+    private final String streamUrl;
+    private final GeminiCircuitBreaker circuitBreaker;
+    private final Semaphore bulkhead;
+    private final int retryMaxRetries;
+    private final Duration retryBackoff;
+    private final Duration totalTimeout;
     
     @Value("${gemini.api.key}")
     private String apiKey;
 
-    public GeminiClient(@Value("${gemini.api.url}") String apiUrl) {
+    public GeminiClient(@Value("${gemini.api.url}") String apiUrl,
+                        @Value("${gemini.client.max-connections:50}") int maxConnections,
+                        @Value("${gemini.client.pending-acquire-timeout-ms:2000}") long pendingAcquireTimeoutMs,
+                        @Value("${gemini.client.connect-timeout-ms:2000}") int connectTimeoutMs,
+                        @Value("${gemini.client.response-timeout-ms:12000}") long responseTimeoutMs,
+                        @Value("${gemini.client.max-concurrent-calls:20}") int maxConcurrentCalls,
+                        @Value("${gemini.client.retry.max-retries:1}") int retryMaxRetries,
+                        @Value("${gemini.client.retry.backoff-ms:300}") long retryBackoffMs,
+                        @Value("${gemini.client.total-timeout-ms:25000}") long totalTimeoutMs,
+                        @Value("${gemini.client.circuit.failure-threshold:5}") int failureThreshold,
+                        @Value("${gemini.client.circuit.open-seconds:30}") long openSeconds) {
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("gemini")
+                .maxConnections(maxConnections)
+                .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMs))
+                .maxIdleTime(Duration.ofSeconds(30))
+                .evictInBackground(Duration.ofSeconds(60))
+                .build();
+
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+                .responseTimeout(Duration.ofMillis(responseTimeoutMs));
+
+        // .../models/{model}:generateContent → .../models/{model}:streamGenerateContent
+        this.streamUrl = apiUrl.replace(":generateContent", ":streamGenerateContent");
         this.webClient = WebClient.builder()
                 .baseUrl(apiUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
                 .build();
+        this.circuitBreaker = new GeminiCircuitBreaker(failureThreshold, Duration.ofSeconds(openSeconds));
+        this.bulkhead = new Semaphore(maxConcurrentCalls);
+        this.retryMaxRetries = retryMaxRetries;
+        this.retryBackoff = Duration.ofMillis(retryBackoffMs);
+        this.totalTimeout = Duration.ofMillis(totalTimeoutMs);
     }
 
     public boolean isConfigured() {
@@ -31,52 +93,183 @@ public class GeminiClient {
     }
 
     /**
-     * Gemini API 호출
+     * Gemini API 호출 (호출한 스레드에서 응답까지 대기)
+     * @throws GeminiException 호출 실패 (서킷 OPEN/벌크헤드 초과/타임아웃/오류 응답)
      */
     public String callGemini(String prompt) {
-        try {
-            // Gemini API 요청 형식
-            Map<String, Object> requestBody = Map.of(
-                    "contents", List.of(
-                            Map.of(
-                                    "parts", List.of(
-                                            Map.of("text", prompt)
-                                    )
-                            )
-                    )
-            );
-
-            Mono<Map> response = webClient.post()
-                    .uri(uriBuilder -> uriBuilder.queryParam("key", apiKey).build())
+        return callGeminiAsync(prompt).block();
+    }
+
+    /**
+     * Gemini API 호출 (논블로킹)
+     * 응답 텍스트를 내보내고, 실패하면 GeminiException으로 끝남
+     */
+    public Mono<String> callGeminiAsync(String prompt) {
+        return Mono.defer(() -> {
+            GeminiException rejected = tryAcquirePermit();
+            if (rejected != null) {
+                return Mono.error(rejected);
+            }
+
+            return requestWithRetry(prompt)
+                    .doOnSuccess(text -> circuitBreaker.onSuccess())
+                    .doOnError(this::recordFailure)
+                    .doOnCancel(circuitBreaker::onIgnored)
+                    .doFinally(signal -> bulkhead.release());
+        });
+    }
+
+    /**
+     * Gemini 스트리밍 호출 (streamGenerateContent?alt=sse)
+     * 생성되는 대로 부분 텍스트를 내보냄 → 전체 응답을 기다리지 않고 첫 글자를 수백 ms 안에 전달
+     * 서킷 브레이커/벌크헤드는 일반 호출과 공유, 이미 내보낸 텍스트는 되돌릴 수 없으므로 재시도하지 않음
+     * 응답 타임아웃은 청크 사이 대기 시간에, 전체 타임아웃은 첫 청크부터 마지막 청크까지 합계에 적용
+     * (청크가 조금씩 계속 오면 청크 사이 타임아웃은 계속 초기화되므로 전체 상한이 따로 필요)
+     */
+    public Flux<String> streamGemini(String prompt) {
+        return Flux.defer(() -> {
+            GeminiException rejected = tryAcquirePermit();
+            if (rejected != null) {
+                return Flux.error(rejected);
+            }
+
+            AtomicBoolean received = new AtomicBoolean();
+            long deadline = System.nanoTime() + totalTimeout.toNanos();
+            return webClient.post()
+                    .uri(streamUrl, uriBuilder -> uriBuilder.queryParam("alt", "sse").queryParam("key", apiKey).build())
                     .header("Content-Type", "application/json")
-                    .bodyValue(requestBody)
+                    .accept(MediaType.TEXT_EVENT_STREAM)
+                    .bodyValue(requestBody(prompt))
                     .retrieve()
-                    .bodyToMono(Map.class);
-
-            Map<String, Object> result = response.block();
-            
-            if (result != null && result.containsKey("candidates")) {
-                List<Map> candidates = (List<Map>) result.get("candidates");
-                if (!candidates.isEmpty()) {
-                    Map candidate = candidates.get(0);
-                    Map content = (Map) candidate.get("content");
-                    List<Map> parts = (List<Map>) content.get("parts");
-                    if (!parts.isEmpty()) {
-                        String text = (String) parts.get(0).get("text");
-                        
-                        log.info("🤖 Gemini 응답 성공");
-                        return text;
-                    }
+                    .bodyToFlux(new ParameterizedTypeReference<ServerSentEvent<Map<String, Object>>>() {})
+                    // 다음 청크 대기 상한 = 호출 시작부터 totalTimeout까지 남은 시간 → 지나면 TimeoutException → GeminiException(TIMEOUT)
+                    .timeout(Mono.delay(totalTimeout),
+                            event -> Mono.delay(Duration.ofNanos(Math.max(0L, deadline - System.nanoTime()))))
+                    .onErrorMap(e -> !(e instanceof GeminiException), GeminiClient::toGeminiException)
+                    .mapNotNull(event -> event.data() == null ? null : findText(event.data()))
+                    .filter(text -> !text.isEmpty())
+                    .doOnNext(text -> received.set(true))
+                    .concatWith(Mono.defer(() -> received.get()
+                            ? Mono.empty()
+                            : Mono.error(new GeminiException(GeminiException.Reason.INVALID_RESPONSE, "Gemini 스트리밍 응답이 비어 있습니다"))))
+                    .doOnComplete(() -> {
+                        log.info("🤖 Gemini 스트리밍 응답 완료");
+                        circuitBreaker.onSuccess();
+                    })
+                    .doOnError(this::recordFailure)
+                    .doOnCancel(circuitBreaker::onIgnored)
+                    .doFinally(signal -> bulkhead.release());
+        });
+    }
+
+    /**
+     * 서킷 브레이커 → 벌크헤드 순서로 호출 허가 확인 (거절 사유 반환, 허가되면 null)
+     */
+    private GeminiException tryAcquirePermit() {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            return new GeminiException(GeminiException.Reason.CIRCUIT_OPEN, "Gemini 호출 차단 중 (서킷 OPEN)");
+        }
+        if (!bulkhead.tryAcquire()) {
+            circuitBreaker.onIgnored();
+            return new GeminiException(GeminiException.Reason.BULKHEAD_FULL, "Gemini 동시 호출 한도 초과");
+        }
+        return null;
+    }
+
+    private void recordFailure(Throwable e) {
+        // 응답 형식 오류는 Gemini 장애가 아니므로 서킷에 반영하지 않음
+        if (e instanceof GeminiException ge && ge.getReason() == GeminiException.Reason.INVALID_RESPONSE) {
+            circuitBreaker.onIgnored();
+        } else {
+            circuitBreaker.onFailure();
+        }
+    }
+
+    private Mono<String> requestWithRetry(String prompt) {
+        return webClient.post()
+                .uri(uriBuilder -> uriBuilder.queryParam("key", apiKey).build())
+                .header("Content-Type", "application/json")
+                .bodyValue(requestBody(prompt))
+                .retrieve()
+                .bodyToMono(Map.class)
+                .retryWhen(Retry.backoff(retryMaxRetries, retryBackoff)
+                        .jitter(0.5)
+                        .filter(GeminiClient::isTransient)
+                        .doBeforeRetry(signal -> log.warn("🤖 Gemini 재시도 {}회: {}",
+                                signal.totalRetries() + 1, signal.failure().getMessage()))
+                        .onRetryExhaustedThrow((spec, signal) -> signal.failure()))
+                // 재시도 중이어도 전체 시간이 지나면 TimeoutException → GeminiException(TIMEOUT)
+                .timeout(totalTimeout)
+                .onErrorMap(e -> !(e instanceof GeminiException), GeminiClient::toGeminiException)
+                .map(this::extractText)
+                .switchIfEmpty(Mono.error(new GeminiException(GeminiException.Reason.INVALID_RESPONSE, "Gemini 응답이 비어 있습니다")));
+    }
+
+    /**
+     * Gemini API 요청 형식
+     */
+    private static Map<String, Object> requestBody(String prompt) {
+        return Map.of(
+                "contents", List.of(
+                        Map.of(
+                                "parts", List.of(
+                                        Map.of("text", prompt)
+                                )
+                        )
+                )
+        );
+    }
+
+    /**
+     * 재시도할 오류: 타임아웃, 연결 실패, 5xx, 429
+     */
+    private static boolean isTransient(Throwable e) {
+        if (e instanceof WebClientResponseException response) {
+            return response.getStatusCode().is5xxServerError() || response.getStatusCode().value() == 429;
+        }
+        return e instanceof WebClientRequestException || isTimeout(e);
+    }
+
+    private static boolean isTimeout(Throwable e) {
+        return e instanceof TimeoutException || e.getCause() instanceof TimeoutException
+                || e instanceof ReadTimeoutException || e.getCause() instanceof ReadTimeoutException;
+    }
+
+    private static GeminiException toGeminiException(Throwable e) {
+        log.error("🤖 Gemini API 호출 실패: {}", e.getMessage());
+        if (isTimeout(e)) {
+            return new GeminiException(GeminiException.Reason.TIMEOUT, "Gemini 응답 시간 초과", e);
+        }
+        return new GeminiException(GeminiException.Reason.UPSTREAM_ERROR, "Gemini 호출 실패: " + e.getMessage(), e);
+    }
+
+    private String extractText(Map<String, Object> result) {
+        String text = findText(result);
+        if (text != null) {
+            log.info("🤖 Gemini 응답 성공");
+            return text;
+        }
+
+        log.error("🤖 Gemini 응답 파싱 실패: {}", result);
+        throw new GeminiException(GeminiException.Reason.INVALID_RESPONSE, "Gemini 응답에 분석 결과가 없습니다");
+    }
+
+    /**
+     * candidates[0].content.parts[0].text (없으면 null, 스트리밍 마지막 청크는 finishReason만 있을 수 있음)
+     */
+    private static String findText(Map<String, Object> result) {
+        if (result.containsKey("candidates")) {
+            List<Map> candidates = (List<Map>) result.get("candidates");
+            if (!candidates.isEmpty()) {
+                Map candidate = candidates.get(0);
+                Map content = (Map) candidate.get("content");
+                List<Map> parts = content == null ? List.of() : (List<Map>) content.get("parts");
+                if (parts != null && !parts.isEmpty()) {
+                    return (String) parts.get(0).get("text");
                 }
             }
-            
-            log.error("🤖 Gemini 응답 파싱 실패: {}", result);
-            return "분석 결과를 가져올 수 없습니다.";
-            
-        } catch (Exception e) {
-            log.error("🤖 Gemini API 호출 실패: {}", e.getMessage());
-            return "AI 분석 중 오류가 발생했습니다: " + e.getMessage();
         }
+        return null;
     }
 
     /**
@@ -135,7 +328,7 @@ public class GeminiClient {
     /**
      * 월간 리포트 분석 프롬프트 생성
      */
-    public String createReportPrompt(String month, List<Map<String, Object>> currentData, List<Map<String, Object>> prevData, Map<String, Integer> categoryBreakdown) {
+    public String createReportPrompt(String month, List<Map<String, Object>> currentData, int prevTotal, Map<String, Integer> categoryBreakdown) {
         StringBuilder prompt = new StringBuilder();
         prompt.append("당신은 개인 재무 분석 전문가입니다.\n\n");
         prompt.append(String.format("사용자의 %s 월간 지출 리포트를 분석하고 상세 의견을 주세요.\n\n", month));
@@ -149,7 +342,6 @@ public class GeminiClient {
         categoryBreakdown.forEach((cat, amt) -> prompt.append(String.format("- %s: %,d원\n", cat, amt)));
 
         int currentTotal = currentData.stream().mapToInt(m -> (int)m.get("amount")).sum();
-        int prevTotal = prevData.stream().mapToInt(m -> (int)m.get("amount")).sum();
         prompt.append(String.format("\n총 지출: %,d원 (지난달: %,d원)\n", currentTotal, prevTotal));
 
         prompt.append("\n=== 요청 사항 ===\n");
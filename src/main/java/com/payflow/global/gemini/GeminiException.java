@@ -0,0 +1,31 @@
+package com.payflow.global.gemini;
+
+/**
+ * Gemini 호출 실패 (호출부는 잡아서 로컬 분석으로 대체)
+ */
+public class GeminiException extends RuntimeException {
+
+    private final Reason reason;
+
+    public GeminiException(Reason reason, String message) {
+        super(message);
+        this.reason = reason;
+    }
+
+    public GeminiException(Reason reason, String message, Throwable cause) {
+        super(message, cause);
+        this.reason = reason;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+
+    public enum Reason {
+        CIRCUIT_OPEN,     // 최근 연속 실패로 호출 차단 중
+        BULKHEAD_FULL,    // 동시 호출 한도 초과
+        TIMEOUT,          // 연결/응답 시간 초과
+        UPSTREAM_ERROR,   // Gemini 오류 응답 또는 연결 실패
+        INVALID_RESPONSE  // 응답에 텍스트가 없음
+    }
+}
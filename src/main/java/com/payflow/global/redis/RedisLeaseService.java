@@ -0,0 +1,223 @@
+package com.payflow.global.redis;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Redis 분산 리스 (여러 인스턴스 중 1곳만 작업 실행)
+ *
+ * 📌 구조:
+ * - lease:{name}        = 소유자 값 (인스턴스 + UUID), PX ttl → 소유자가 죽어도 TTL 후 자동 해제
+ * - lease:{name}:seq    = 획득할 때마다 INCR → 획득 순번 (나중에 획득한 소유자가 항상 더 큰 값, 로그에서 소유자 구분용)
+ * - 연장/해제는 Lua로 "값이 내 것일 때만" 처리 → 만료 후 다른 인스턴스가 가져간 리스를 건드리지 않음
+ * - 완료(complete): 키를 'done'으로 바꿔 keep 동안 유지 → 같은 작업 단위를 다른 인스턴스가 다시 획득하지 않음
+ *
+ * 쓰기 펜싱은 LeaseFence: 획득 후 DB에서 펜싱 토큰을 받고, 청크 트랜잭션은 그 토큰이 최신일 때만 커밋
+ * → 리스를 잃은 소유자가 멈췄다 깨어나도 청크를 커밋하지 못함 (파티션 작업, 결제 주기 연장)
+ * 펜싱하지 않는 작업(이메일 발송, 집계 재계산, AI 사전 계산)은 중복 실행돼도 결과가 같아야 함
+ * (상태 조건 UPDATE, 알림 중복 확인 키, 사용자 잠금 후 범위 재계산)
+ *
+ * 메트릭: payflow.lease.acquire{lease, result=acquired|busy|error}, payflow.lease.lost{lease}, payflow.lease.held{lease}
+ */
+@Slf4j
+@Service
+public class RedisLeaseService {
+
+    private static final String KEY_PREFIX = "lease:";
+
+    private static final RedisScript<Long> ACQUIRE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('SET', KEYS[1], ARGV[1], 'NX', 'PX', ARGV[2]) then
+                return redis.call('INCR', KEYS[2])
+            end
+            return 0
+            """, Long.class);
+
+    private static final RedisScript<Long> RENEW_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            end
+            return 0
+            """, Long.class);
+
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    private static final RedisScript<Long> COMPLETE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                redis.call('SET', KEYS[1], 'done', 'PX', ARGV[2])
+                return 1
+            end
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final String instanceId;
+
+    public RedisLeaseService(StringRedisTemplate stringRedisTemplate, MeterRegistry meterRegistry) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.meterRegistry = meterRegistry;
+        this.instanceId = ManagementFactory.getRuntimeMXBean().getName();
+    }
+
+    /**
+     * 리스 획득 시도 (대기하지 않음)
+     * @return 획득하면 리스, 다른 인스턴스가 가지고 있거나 Redis 장애면 empty
+     */
+    public Optional<Lease> tryAcquire(String name, Duration ttl) {
+        return tryAcquire(name, name, ttl);
+    }
+
+    /**
+     * 리스 획득 시도 (메트릭 태그를 group으로 묶음 → 날짜/파티션별 이름이어도 태그 수가 늘지 않음)
+     */
+    public Optional<Lease> tryAcquire(String name, String group, Duration ttl) {
+        String owner = instanceId + ":" + UUID.randomUUID();
+        try {
+            Long token = stringRedisTemplate.execute(ACQUIRE_SCRIPT,
+                    List.of(KEY_PREFIX + name, KEY_PREFIX + name + ":seq"),
+                    owner, Long.toString(ttl.toMillis()));
+
+            if (token == null || token == 0L) {
+                acquireCounter(group, "busy").increment();
+                return Optional.empty();
+            }
+
+            acquireCounter(group, "acquired").increment();
+            log.info("🔒 리스 획득: name={}, owner={}, token={}", name, owner, token);
+            return Optional.of(new Lease(name, group, owner, token, System.nanoTime()));
+        } catch (DataAccessException e) {
+            acquireCounter(group, "error").increment();
+            log.error("리스 획득 실패: name={}, error={}", name, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * 리스 연장 (청크 처리 사이마다 호출)
+     * @return false면 리스를 잃은 것 (TTL 만료 후 다른 인스턴스가 획득) → 작업 중단해야 함
+     */
+    public boolean renew(Lease lease, Duration ttl) {
+        try {
+            Long renewed = stringRedisTemplate.execute(RENEW_SCRIPT,
+                    List.of(KEY_PREFIX + lease.name()), lease.owner(), Long.toString(ttl.toMillis()));
+            if (renewed != null && renewed == 1L) {
+                return true;
+            }
+        } catch (DataAccessException e) {
+            log.error("리스 연장 실패: name={}, error={}", lease.name(), e.getMessage());
+        }
+
+        Counter.builder("payflow.lease.lost").tag("lease", lease.group()).register(meterRegistry).increment();
+        log.warn("🔓 리스 상실: name={}, token={}", lease.name(), lease.token());
+        return false;
+    }
+
+    /**
+     * 리스 해제 (내 리스일 때만 삭제)
+     */
+    public void release(Lease lease) {
+        try {
+            stringRedisTemplate.execute(RELEASE_SCRIPT, List.of(KEY_PREFIX + lease.name()), lease.owner());
+        } catch (DataAccessException e) {
+            log.error("리스 해제 실패 (TTL 후 자동 만료): name={}, error={}", lease.name(), e.getMessage());
+        }
+
+        Timer.builder("payflow.lease.held").tag("lease", lease.group()).register(meterRegistry)
+                .record(Duration.ofNanos(System.nanoTime() - lease.acquiredAtNanos()));
+        log.info("🔓 리스 해제: name={}, token={}", lease.name(), lease.token());
+    }
+
+    /**
+     * 작업 완료 표시 (해제 대신 사용, keep 동안 같은 이름의 리스 획득 불가)
+     * 파티션처럼 "하루 1번" 처리해야 하는 작업 단위에 사용
+     */
+    public void complete(Lease lease, Duration keep) {
+        try {
+            stringRedisTemplate.execute(COMPLETE_SCRIPT,
+                    List.of(KEY_PREFIX + lease.name()), lease.owner(), Long.toString(keep.toMillis()));
+        } catch (DataAccessException e) {
+            log.error("리스 완료 표시 실패: name={}, error={}", lease.name(), e.getMessage());
+        }
+
+        Timer.builder("payflow.lease.held").tag("lease", lease.group()).register(meterRegistry)
+                .record(Duration.ofNanos(System.nanoTime() - lease.acquiredAtNanos()));
+    }
+
+    /**
+     * complete로 완료 표시된 작업 단위인지 확인 (Redis 장애 시 false)
+     */
+    public boolean isCompleted(String name) {
+        try {
+            return "done".equals(stringRedisTemplate.opsForValue().get(KEY_PREFIX + name));
+        } catch (DataAccessException e) {
+            log.error("리스 완료 여부 확인 실패: name={}, error={}", name, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 다른 소유자가 리스를 가지고 있는지 확인 (Redis 장애 시 false → 기다리지 않고 진행)
+     */
+    public boolean isHeld(String name) {
+        try {
+            return Boolean.TRUE.equals(stringRedisTemplate.hasKey(KEY_PREFIX + name));
+        } catch (DataAccessException e) {
+            log.error("리스 확인 실패: name={}, error={}", name, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 리스를 획득한 경우에만 작업 실행 후 해제
+     * @return 작업을 실행했으면 true (다른 인스턴스가 실행 중이면 false)
+     */
+    public boolean runExclusively(String name, Duration ttl, Consumer<Lease> task) {
+        Optional<Lease> acquired = tryAcquire(name, ttl);
+        if (acquired.isEmpty()) {
+            log.info("다른 인스턴스가 실행 중이므로 건너뜀: name={}", name);
+            return false;
+        }
+
+        Lease lease = acquired.get();
+        try {
+            task.accept(lease);
+        } finally {
+            release(lease);
+        }
+        return true;
+    }
+
+    private Counter acquireCounter(String group, String result) {
+        return Counter.builder("payflow.lease.acquire")
+                .tag("lease", group)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 획득한 리스
+     * @param group 메트릭 태그 (기본은 name과 동일)
+     * @param token 획득 순서대로 증가하는 순번 (로그에서 소유자 구분용, 쓰기 펜싱 토큰은 LeaseFence가 DB에서 발급)
+     */
+    public record Lease(String name, String group, String owner, long token, long acquiredAtNanos) {
+    }
+}
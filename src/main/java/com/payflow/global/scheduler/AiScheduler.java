@@ -1,4 +1,125 @@
 package com.payflow.global.scheduler;
 
+import com.payflow.domain.ai.repository.AIInsightRepository;
+import com.payflow.domain.ai.service.AIInsightService;
+import com.payflow.global.redis.RedisLeaseService;
+import com.payflow.global.redis.RedisLeaseService.Lease;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
 public class AiScheduler {
+    private final AIInsightRepository aiInsightRepository;
+    private final AIInsightService aiInsightService;
+    private final RedisLeaseService redisLeaseService;
+
+    @Value("${payflow.ai.precompute.page-size:200}")
+    private int pageSize;
+
+    @Value("${payflow.ai.precompute.max-concurrency:4}")
+    private int maxConcurrency;
+
+    @Value("${payflow.ai.precompute.requests-per-second:2}")
+    private int requestsPerSecond;
+
+    @Value("${payflow.ai.precompute.max-duration-minutes:180}")
+    private long maxDurationMinutes;
+
+    @Value("${payflow.scheduler.lease.ttl-seconds:300}")
+    private long leaseTtlSeconds;
+
+    /**
+     * 매일 새벽 3시 실행 (기본값): AI 인사이트 사전 계산
+     *
+     * 마지막 인사이트 이후 구독이 바뀐 사용자만 골라 미리 분석/저장 → GET /api/ai/insights는 저장된 인사이트로 바로 응답
+     * 여러 인스턴스 중 리스를 획득한 1곳만 실행 → 동시 호출 수(maxConcurrency)와 초당 호출 수(requestsPerSecond)가 클러스터 전체 예산
+     * 분석은 AIInsightService.refreshInsightAsync 재사용 (같은 사용자의 새로고침과 합쳐지고, 캐시/서킷 브레이커/로컬 분석 대체 그대로 적용)
+     * maxDurationMinutes가 지나면 새 호출을 멈춤 → 남은 사용자는 다음 날 또는 조회 시 계산
+     */
+    @Scheduled(cron = "${payflow.ai.precompute.cron:0 0 3 * * *}")
+    public void precomputeInsights() {
+        redisLeaseService.runExclusively("scheduler:ai-precompute",
+                Duration.ofSeconds(leaseTtlSeconds), this::precomputeInsights);
+    }
+
+    private void precomputeInsights(Lease lease) {
+        log.info("=== AI 인사이트 사전 계산 시작: token={} ===", lease.token());
+
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(maxDurationMinutes);
+        long intervalNanos = requestsPerSecond > 0 ? TimeUnit.SECONDS.toNanos(1) / requestsPerSecond : 0L;
+        long nextSlot = System.nanoTime();
+        Semaphore inFlight = new Semaphore(maxConcurrency);
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+
+        long lastUserId = 0L;
+        int submitted = 0;
+
+        try {
+            pages:
+            while (true) {
+                List<Long> userIds = aiInsightRepository.findUserIdsWithStaleInsight(lastUserId, pageSize);
+                if (userIds.isEmpty()) {
+                    break;
+                }
+
+                for (Long userId : userIds) {
+                    if (System.nanoTime() > deadline) {
+                        log.warn("AI 인사이트 사전 계산 시간 초과: lastUserId={}", lastUserId);
+                        break pages;
+                    }
+
+                    // 초당 호출 수 제한 (다음 슬롯까지 대기) → 동시 호출 수 제한
+                    long now = System.nanoTime();
+                    nextSlot = Math.max(nextSlot, now);
+                    TimeUnit.NANOSECONDS.sleep(nextSlot - now);
+                    nextSlot += intervalNanos;
+                    inFlight.acquire();
+
+                    aiInsightService.refreshInsightAsync(userId).whenComplete((response, error) -> {
+                        if (error != null) {
+                            failed.incrementAndGet();
+                            log.warn("AI 인사이트 사전 계산 실패: userId={}, error={}", userId, error.getMessage());
+                        } else {
+                            succeeded.incrementAndGet();
+                        }
+                        inFlight.release();
+                    });
+                    submitted++;
+                    lastUserId = userId;
+
+                    // Gemini 대기로 페이지가 길어질 수 있으므로 호출마다 리스 연장
+                    if (!redisLeaseService.renew(lease, Duration.ofSeconds(leaseTtlSeconds))) {
+                        break pages;
+                    }
+                }
+
+                if (userIds.size() < pageSize) {
+                    break;
+                }
+            }
+
+            // 진행 중인 분석이 끝날 때까지 대기 (리스 해제 전에 예산 안에서 마무리)
+            if (!inFlight.tryAcquire(maxConcurrency, leaseTtlSeconds, TimeUnit.SECONDS)) {
+                log.warn("AI 인사이트 사전 계산: 진행 중인 분석 대기 시간 초과");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("AI 인사이트 사전 계산 중단: lastUserId={}", lastUserId);
+        }
+
+        log.info("=== AI 인사이트 사전 계산 종료: 요청 {} 건, 성공 {} 건, 실패 {} 건 ===",
+                submitted, succeeded.get(), failed.get());
+    }
 }
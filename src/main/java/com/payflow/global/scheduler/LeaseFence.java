@@ -0,0 +1,106 @@
+package com.payflow.global.scheduler;
+
+import com.payflow.global.redis.RedisLeaseService.Lease;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+/**
+ * 리스 펜싱 토큰 (lease_fences 테이블)
+ *
+ * 📌 구조:
+ * - 리스를 획득하면 acquire()로 lease_fences.token을 1 올리고 그 값을 내 토큰으로 사용 (짧은 트랜잭션)
+ * - 리스 아래 청크 트랜잭션은 Fence.inTransaction()으로 실행
+ *   → 첫 문장에서 "token = 내 토큰"인 행만 UPDATE, 0건이면 다른 소유자가 토큰을 받은 것 → LeaseLostException (롤백)
+ *   → 1건이면 행 잠금을 커밋까지 유지 → 다음 소유자의 acquire()는 이 청크가 커밋된 뒤에야 토큰을 올림
+ *
+ * Redis 리스가 만료된 뒤 멈춰 있던 이전 소유자(GC, 네트워크 단절)가 깨어나도 청크를 커밋하지 못함
+ * 토큰은 DB에서 발급 → Redis 키가 유실/축출돼도 토큰이 줄어들지 않음
+ */
+@Slf4j
+@Component
+public class LeaseFence {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate transaction;
+    private final TransactionTemplate requiresNew;
+    private final TransactionTemplate purge;
+
+    public LeaseFence(PlatformTransactionManager transactionManager) {
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        // 범위 DELETE가 다른 리스의 청크가 잡고 있는 행/갭에서 기다리지 않도록 READ COMMITTED
+        this.purge = new TransactionTemplate(transactionManager);
+        this.purge.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.purge.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+    }
+
+    /**
+     * 리스를 획득한 직후 호출 → 새 펜싱 토큰 발급 (이전 소유자의 토큰은 이 시점부터 거부됨)
+     * 7일 넘게 쓰이지 않은 행(지난 날짜의 파티션 리스)은 같이 정리
+     */
+    public Fence acquire(Lease lease) {
+        purge.executeWithoutResult(status ->
+                entityManager.createNativeQuery("DELETE FROM lease_fences WHERE updated_at < NOW(6) - INTERVAL 7 DAY")
+                        .executeUpdate());
+
+        Long token = requiresNew.execute(status -> {
+            entityManager.createNativeQuery("INSERT INTO lease_fences (lease_name, token, updated_at) " +
+                            "VALUES (:name, 1, NOW(6)) " +
+                            "ON DUPLICATE KEY UPDATE token = token + 1, updated_at = NOW(6)")
+                    .setParameter("name", lease.name())
+                    .executeUpdate();
+            return ((Number) entityManager.createNativeQuery("SELECT token FROM lease_fences WHERE lease_name = :name")
+                    .setParameter("name", lease.name())
+                    .getSingleResult()).longValue();
+        });
+
+        log.info("🔒 펜싱 토큰 발급: name={}, token={}, fencingToken={}", lease.name(), lease.token(), token);
+        return new Fence(lease.name(), token);
+    }
+
+    /**
+     * 획득한 펜싱 토큰
+     */
+    public final class Fence {
+
+        private final String name;
+        private final long token;
+
+        private Fence(String name, long token) {
+            this.name = name;
+            this.token = token;
+        }
+
+        public long token() {
+            return token;
+        }
+
+        /**
+         * 청크 1개를 펜싱된 트랜잭션으로 실행 (청크의 @Transactional 메서드는 이 트랜잭션에 참여)
+         * @throws LeaseLostException 다른 소유자가 더 새 토큰을 받음 → 청크를 실행하지 않음
+         */
+        public <T> T inTransaction(Supplier<T> chunk) {
+            return transaction.execute(status -> {
+                int held = entityManager.createNativeQuery("UPDATE lease_fences SET updated_at = NOW(6) " +
+                                "WHERE lease_name = :name AND token = :token")
+                        .setParameter("name", name)
+                        .setParameter("token", token)
+                        .executeUpdate();
+                if (held == 0) {
+                    throw new LeaseLostException(name, token);
+                }
+                return chunk.get();
+            });
+        }
+    }
+}
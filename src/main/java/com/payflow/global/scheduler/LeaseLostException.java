@@ -0,0 +1,12 @@
+package com.payflow.global.scheduler;
+
+/**
+ * 다른 소유자가 더 큰 펜싱 토큰을 받아서 청크 트랜잭션을 커밋하지 않음 (트랜잭션 롤백)
+ * 호출부는 남은 청크를 처리하지 않고 중단 → 새 소유자가 이어서 처리
+ */
+public class LeaseLostException extends IllegalStateException {
+
+    public LeaseLostException(String leaseName, long fencingToken) {
+        super("리스를 잃어 청크를 커밋하지 않음: name=" + leaseName + ", fencingToken=" + fencingToken);
+    }
+}
@@ -1,68 +1,95 @@
 package com.payflow.global.scheduler;
 
+import com.payflow.domain.notification.service.NotificationOutboxWorker;
 import com.payflow.domain.notification.service.NotificationService;
 import com.payflow.domain.payment.entity.PaymentCycle;
 import com.payflow.domain.payment.repository.PaymentCycleRepository;
+import com.payflow.domain.payment.repository.PaymentCycleRepository.ReminderTarget;
+import com.payflow.domain.payment.service.PaymentCycleService;
+import com.payflow.global.redis.RedisLeaseService;
+import com.payflow.global.scheduler.LeaseFence.Fence;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.function.BooleanSupplier;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class NotificationScheduler {
+    private static final String DAILY_REMINDERS = "daily-reminders";
+
     private final PaymentCycleRepository paymentCycleRepository;
     private final NotificationService notificationService;
+    private final PaymentCycleService paymentCycleService;
+    private final NotificationOutboxWorker notificationOutboxWorker;
+    private final RedisLeaseService redisLeaseService;
+    private final PartitionedJobRunner partitionedJobRunner;
+
+    @Value("${payflow.payment-cycle.overdue-chunk-size:500}")
+    private int overdueChunkSize;
+
+    @Value("${payflow.notification.reminder-page-size:500}")
+    private int reminderPageSize;
+
+    @Value("${payflow.scheduler.lease.ttl-seconds:300}")
+    private long leaseTtlSeconds;
+
     /**
      * 매일 오전 9시 실행: 결제 리마인더 발송
      *
      * 테스트용: @Scheduled(fixedRate = 60000)  // 1분마다
      * 프로덕션: @Scheduled(cron = "0 0 9 * * *")  // 매일 오전 9시
+     *
+     * partition_key(subscriptionId % 64) 파티션 단위로 나눠 모든 인스턴스가 병렬 처리 (PartitionedJobRunner)
      */
     @Scheduled(cron = "0 0 9 * * *")
-    @Transactional
     public void sendDailyReminders() {
         log.info("=== 결제 리마인더 스케줄러 시작 ===");
 
         LocalDate today = LocalDate.now();
+        int created = partitionedJobRunner.run(DAILY_REMINDERS, today,
+                (partition, partitionCount, keepGoing, fence) -> sendReminders(today, partition, partitionCount, keepGoing, fence));
+
+        log.info("=== 결제 리마인더 스케줄러 종료: 알림 {} 건 등록 (이 인스턴스) ===", created);
+    }
+
+    private int sendReminders(LocalDate today, int partition, int partitionCount, BooleanSupplier keepGoing, Fence fence) {
         LocalDate d3Date = today.plusDays(3);
         LocalDate d1Date = today.plusDays(1);
-        // D-3 알림 발송
-        List<PaymentCycle> d3Cycles = paymentCycleRepository
-                .findByStatusAndDueDateBefore(PaymentCycle.PaymentStatus.PENDING, d3Date.plusDays(1))
-                .stream()
-                .filter(cycle -> cycle.getDueDate().equals(d3Date))
-                .toList();
-
-        log.info("D-3 알림 대상: {} 건", d3Cycles.size());
-        for (PaymentCycle cycle : d3Cycles) {
-            try {
-                notificationService.sendPaymentReminder(cycle, 3);
-            } catch (Exception e) {
-                log.error("D-3 알림 발송 실패: cycleId={}, error={}", cycle.getCycleId(), e.getMessage());
-            }
+        List<Integer> partitionKeys = PaymentCycle.partitionKeys(partition, partitionCount);
+        if (partitionKeys.isEmpty()) {
+            return 0;
         }
-        // D-1 알림 발송
-        List<PaymentCycle> d1Cycles = paymentCycleRepository
-                .findByStatusAndDueDateBefore(PaymentCycle.PaymentStatus.PENDING, d1Date.plusDays(1))
-                .stream()
-                .filter(cycle -> cycle.getDueDate().equals(d1Date))
-                .toList();
-
-        log.info("D-1 알림 대상: {} 건", d1Cycles.size());
-        for (PaymentCycle cycle : d1Cycles) {
-            try {
-                notificationService.sendPaymentReminder(cycle, 1);
-            } catch (Exception e) {
-                log.error("D-1 알림 발송 실패: cycleId={}, error={}", cycle.getCycleId(), e.getMessage());
+
+        // D-1, D-3 결제일과 정확히 일치하고 알림 설정이 켜진 대상만 페이지 단위로 조회
+        long lastCycleId = 0L;
+        int created = 0;
+
+        while (true) {
+            List<ReminderTarget> targets = paymentCycleRepository.findReminderTargets(
+                    d1Date, d3Date, partitionKeys, lastCycleId, PageRequest.of(0, reminderPageSize));
+            if (targets.isEmpty()) {
+                break;
+            }
+
+            // 실패하면 청크 롤백 후 예외 전파 → 파티션 리스 해제, 다음 바퀴에서 처음부터 재시도 (등록된 알림은 중복 확인으로 건너뜀)
+            // 리스를 잃었으면 청크를 커밋하지 않음 (펜싱)
+            created += fence.inTransaction(() -> notificationService.sendPaymentReminders(targets, today));
+
+            lastCycleId = targets.get(targets.size() - 1).getCycleId();
+            if (targets.size() < reminderPageSize || !keepGoing.getAsBoolean()) {
+                break;
             }
         }
-        log.info("=== 결제 리마인더 스케줄러 종료 ===");
+        return created;
     }
 
 
@@ -71,33 +98,62 @@ public class NotificationScheduler {
      *
      * 테스트용: @Scheduled(fixedRate = 120000)  // 2분마다
      * 프로덕션: @Scheduled(cron = "0 0 2 * * *")  // 매일 새벽 2시
+     *
+     * 전체를 하나의 트랜잭션으로 묶지 않고 파티션별 overdueChunkSize 단위로
+     * UPDATE + 연체 알림 아웃박스 등록(짧은 트랜잭션) → 발송은 drainNotificationOutbox가 담당
+     * 파티션끼리 다른 구독의 행만 다루므로 인스턴스/스레드 간 행 잠금 경쟁 없음
      */
     @Scheduled(cron = "0 0 2 * * *")
-    @Transactional
     public void processOverduePayments() {
         log.info("=== 연체 처리 스케줄러 시작 ===");
 
         LocalDate today = LocalDate.now();
-        // 결제일이 지났는데 PENDING 상태인 것들 찾기
-        List<PaymentCycle> overdueCycles = paymentCycleRepository
-                .findByStatusAndDueDateBefore(PaymentCycle.PaymentStatus.PENDING, today);
-        log.info("연체 처리 대상: {} 건", overdueCycles.size());
+        int processed = partitionedJobRunner.run("overdue-payments", today,
+                (partition, partitionCount, keepGoing, fence) -> markOverdue(today, partition, partitionCount, keepGoing, fence));
 
-        for (PaymentCycle cycle : overdueCycles) {
-            try {
-                // 연체 상태로 변경
-                cycle.markAsOverdue();
-                paymentCycleRepository.save(cycle);
+        log.info("=== 연체 처리 스케줄러 종료: {} 건 (이 인스턴스) ===", processed);
+    }
 
-                // 연체 알림 발송
-                notificationService.sendOverdueNotification(cycle);
+    private int markOverdue(LocalDate today, int partition, int partitionCount, BooleanSupplier keepGoing, Fence fence) {
+        int processed = 0;
 
-                log.info("연체 처리 완료: cycleId={}, subscriptionId={}",
-                        cycle.getCycleId(), cycle.getSubscriptionId());
-            } catch (Exception e) {
-                log.error("연체 처리 실패: cycleId={}, error={}", cycle.getCycleId(), e.getMessage());
+        while (true) {
+            // 결제일이 지났는데 PENDING 상태인 것들 → OVERDUE
+            // 실패하면 예외 전파 → 파티션 리스 해제, 다음 바퀴에서 남은 행부터 재시도
+            List<Long> overdueIds = fence.inTransaction(
+                    () -> paymentCycleService.markOverdueChunk(today, partition, partitionCount, overdueChunkSize));
+            if (overdueIds.isEmpty()) {
+                break;
+            }
+
+            processed += overdueIds.size();
+            if (!keepGoing.getAsBoolean()) {
+                break;
             }
         }
-        log.info("=== 연체 처리 스케줄러 종료 ===");
+        return processed;
+    }
+
+
+    /**
+     * 알림 아웃박스 발송 (sent = false인 알림을 워커 풀에서 이메일 발송)
+     * 리마인더/연체 스케줄러는 알림 등록만 하고 바로 끝남 → SMTP 속도와 분리
+     * 같은 알림을 여러 인스턴스가 중복 발송하지 않도록 리스 보유 중에만 배치 처리
+     * 오늘 리마인더 등록이 모든 파티션에서 끝나기 전에는 오늘 리마인더를 보류 (사용자당 다이제스트 1통)
+     */
+    @Scheduled(fixedDelayString = "${payflow.notification.outbox.poll-interval-ms:30000}")
+    public void drainNotificationOutbox() {
+        redisLeaseService.runExclusively("scheduler:notification-outbox", leaseTtl(), lease -> {
+            try {
+                boolean reminderRunComplete = partitionedJobRunner.isCompleted(DAILY_REMINDERS, LocalDate.now());
+                notificationOutboxWorker.drain(() -> redisLeaseService.renew(lease, leaseTtl()), reminderRunComplete);
+            } catch (Exception e) {
+                log.error("알림 아웃박스 발송 실패: error={}", e.getMessage());
+            }
+        });
+    }
+
+    private Duration leaseTtl() {
+        return Duration.ofSeconds(leaseTtlSeconds);
     }
 }
@@ -0,0 +1,181 @@
+package com.payflow.global.scheduler;
+
+import com.payflow.global.redis.RedisLeaseService;
+import com.payflow.global.redis.RedisLeaseService.Lease;
+import com.payflow.global.scheduler.LeaseFence.Fence;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * 스케줄러 작업을 파티션(0 ~ partitionCount-1) 단위로 나눠 여러 인스턴스/스레드가 병렬 처리
+ *
+ * 📌 흐름:
+ * 1. 인스턴스마다 threads 개 워커가 파티션을 돌면서 Redis 리스로 파티션 획득 시도
+ *    리스 이름: partition:{job}:{runDate}:{partition}
+ * 2. 획득한 파티션만 처리 (청크마다 keepGoing()으로 리스 연장, 잃으면 중단)
+ *    획득할 때 펜싱 토큰 발급 → 청크 트랜잭션은 fence.inTransaction()으로 실행 (리스를 잃은 뒤에는 커밋되지 않음)
+ * 3. 끝나면 리스를 'done'으로 바꿔 하루 동안 유지 → 같은 날 다른 인스턴스가 다시 처리하지 않음
+ *    처리 중 예외가 나면 'done' 대신 리스 해제 → 남은 청크는 다음 바퀴에서 다시 처리
+ * 4. 모든 파티션이 'done'이 될 때까지 retryInterval마다 다시 돈다 (maxDuration이 지나면 종료)
+ *
+ * 처리 중 인스턴스가 죽으면 TTL 후 리스가 풀림 → 아직 파티션을 돌고 있는 워커가 이어서 처리
+ */
+@Slf4j
+@Component
+public class PartitionedJobRunner {
+
+    private static final Duration DONE_KEEP = Duration.ofDays(1);
+
+    private final RedisLeaseService redisLeaseService;
+    private final LeaseFence leaseFence;
+    private final Executor schedulerPartitionExecutor;
+
+    @Value("${payflow.scheduler.partition.count:16}")
+    private int partitionCount;
+
+    @Value("${payflow.scheduler.partition.threads:4}")
+    private int threads;
+
+    @Value("${payflow.scheduler.lease.ttl-seconds:300}")
+    private long leaseTtlSeconds;
+
+    @Value("${payflow.scheduler.partition.retry-interval-ms:5000}")
+    private long retryIntervalMillis;
+
+    @Value("${payflow.scheduler.partition.max-duration-minutes:60}")
+    private long maxDurationMinutes;
+
+    public PartitionedJobRunner(RedisLeaseService redisLeaseService,
+                                LeaseFence leaseFence,
+                                @Qualifier("schedulerPartitionExecutor") Executor schedulerPartitionExecutor) {
+        this.redisLeaseService = redisLeaseService;
+        this.leaseFence = leaseFence;
+        this.schedulerPartitionExecutor = schedulerPartitionExecutor;
+    }
+
+    /**
+     * 모든 파티션이 (어느 인스턴스에서든) 완료되거나 maxDuration이 지날 때까지 대기
+     * @return 이 인스턴스에서 처리한 건수 합계
+     */
+    public int run(String job, LocalDate runDate, PartitionTask task) {
+        int workerCount = Math.max(1, Math.min(threads, partitionCount));
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(maxDurationMinutes);
+        // 인스턴스마다 시작 파티션을 다르게 → 같은 파티션 획득 경쟁 감소
+        int base = ThreadLocalRandom.current().nextInt(partitionCount);
+
+        List<CompletableFuture<Integer>> futures = new ArrayList<>(workerCount);
+        for (int worker = 0; worker < workerCount; worker++) {
+            int start = base + worker * partitionCount / workerCount;
+            futures.add(CompletableFuture.supplyAsync(
+                    () -> runWorker(job, runDate, start, task, deadline), schedulerPartitionExecutor));
+        }
+
+        int processed = 0;
+        for (CompletableFuture<Integer> future : futures) {
+            processed += future.join();
+        }
+        return processed;
+    }
+
+    /**
+     * runDate 작업이 모든 파티션에서 (어느 인스턴스에서든) 완료됐는지
+     */
+    public boolean isCompleted(String job, LocalDate runDate) {
+        for (int partition = 0; partition < partitionCount; partition++) {
+            if (!redisLeaseService.isCompleted(partitionName(job, runDate, partition))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int runWorker(String job, LocalDate runDate, int start, PartitionTask task, long deadline) {
+        Duration ttl = Duration.ofSeconds(leaseTtlSeconds);
+        int processed = 0;
+
+        while (true) {
+            boolean allDone = true;
+            for (int i = 0; i < partitionCount; i++) {
+                int partition = (start + i) % partitionCount;
+                String name = partitionName(job, runDate, partition);
+                if (redisLeaseService.isCompleted(name)) {
+                    continue;
+                }
+                allDone = false;
+
+                Optional<Lease> acquired = redisLeaseService.tryAcquire(name, "partition:" + job, ttl);
+                if (acquired.isEmpty()) {
+                    continue;  // 다른 워커/인스턴스가 처리 중 → 다음 바퀴에서 다시 확인
+                }
+
+                Lease lease = acquired.get();
+                boolean[] held = {true};
+                try {
+                    Fence fence = leaseFence.acquire(lease);
+                    processed += task.process(partition, partitionCount,
+                            () -> held[0] = redisLeaseService.renew(lease, ttl), fence);
+                } catch (LeaseLostException e) {
+                    log.warn("파티션 펜싱 토큰 상실 → 새 소유자가 이어서 처리: job={}, partition={}", job, partition);
+                    redisLeaseService.release(lease);
+                    continue;
+                } catch (RuntimeException e) {
+                    log.error("파티션 처리 실패 → 다음 바퀴에서 재시도: job={}, partition={}, error={}", job, partition, e.getMessage());
+                    redisLeaseService.release(lease);
+                    continue;
+                }
+
+                if (held[0]) {
+                    redisLeaseService.complete(lease, DONE_KEEP);
+                }
+            }
+
+            if (allDone) {
+                return processed;
+            }
+            if (System.nanoTime() > deadline) {
+                log.warn("파티션 작업 시간 초과 → 남은 파티션은 처리하지 않고 종료: job={}, runDate={}", job, runDate);
+                return processed;
+            }
+            try {
+                TimeUnit.MILLISECONDS.sleep(retryIntervalMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return processed;
+            }
+        }
+    }
+
+    private static String partitionName(String job, LocalDate runDate, int partition) {
+        return "partition:" + job + ":" + runDate + ":" + partition;
+    }
+
+    /**
+     * 파티션 1개 처리
+     */
+    @FunctionalInterface
+    public interface PartitionTask {
+
+        /**
+         * @param partition 처리할 파티션 (0 ~ partitionCount-1, 결제 주기는 PaymentCycle.partitionKeys로 버킷 매핑)
+         * @param partitionCount 전체 파티션 수
+         * @param keepGoing 청크 사이마다 호출 (리스 연장) → false면 리스를 잃은 것이므로 중단
+         * @param fence 청크 트랜잭션은 fence.inTransaction()으로 실행 (리스를 잃었으면 LeaseLostException)
+         * @return 처리 건수
+         * @throws RuntimeException 처리 실패 → 파티션을 완료 표시하지 않고 해제 (다음 바퀴에서 재시도)
+         */
+        int process(int partition, int partitionCount, BooleanSupplier keepGoing, Fence fence);
+    }
+}
@@ -1,4 +1,143 @@
 package com.payflow.global.scheduler;
 
+import com.payflow.domain.payment.service.MonthlySpendingRollupService;
+import com.payflow.domain.payment.service.PaymentCycleService;
+import com.payflow.domain.subscription.entity.Subscription;
+import com.payflow.domain.subscription.repository.SubscriptionRepository;
+import com.payflow.domain.user.repository.UserRepository;
+import com.payflow.global.redis.RedisLeaseService;
+import com.payflow.global.redis.RedisLeaseService.Lease;
+import com.payflow.global.scheduler.LeaseFence.Fence;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
 public class PaymentScheduler {
+    private final SubscriptionRepository subscriptionRepository;
+    private final PaymentCycleService paymentCycleService;
+    private final RedisLeaseService redisLeaseService;
+    private final UserRepository userRepository;
+    private final MonthlySpendingRollupService monthlySpendingRollupService;
+    private final LeaseFence leaseFence;
+
+    @Value("${payflow.payment-cycle.horizon-months:1}")
+    private int horizonMonths;
+
+    @Value("${payflow.payment-cycle.extend-window-days:14}")
+    private int extendWindowDays;
+
+    @Value("${payflow.payment-cycle.extend-chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${payflow.rollup.rebuild-chunk-size:200}")
+    private int rollupChunkSize;
+
+    @Value("${payflow.scheduler.lease.ttl-seconds:300}")
+    private long leaseTtlSeconds;
+
+    /**
+     * 매일 새벽 1시 30분 실행: 결제 주기 롤링 호라이즌 연장
+     *
+     * 마지막 결제 주기가 (오늘 + extendWindowDays) 이전인 구독만
+     * (오늘 + horizonMonths)까지 누락분을 이어서 생성
+     * 구독 테이블은 subscriptionId 키셋 페이지(chunkSize)로 순회 → 전체 로딩 없음
+     * 여러 인스턴스 중 리스를 획득한 1곳만 실행 (청크마다 리스 연장, 잃으면 중단)
+     * 청크 트랜잭션은 펜싱 토큰으로 보호 → 리스를 잃은 뒤 멈춰 있던 인스턴스는 커밋하지 못함
+     */
+    @Scheduled(cron = "0 30 1 * * *")
+    public void extendPaymentCycleHorizon() {
+        redisLeaseService.runExclusively("scheduler:extend-payment-cycles",
+                Duration.ofSeconds(leaseTtlSeconds), this::extendPaymentCycleHorizon);
+    }
+
+    private void extendPaymentCycleHorizon(Lease lease) {
+        log.info("=== 결제 주기 연장 스케줄러 시작: token={} ===", lease.token());
+        Fence fence = leaseFence.acquire(lease);
+
+        LocalDate today = LocalDate.now();
+        LocalDate windowEnd = today.plusDays(extendWindowDays);
+        LocalDate horizonEnd = today.plusMonths(horizonMonths);
+
+        long lastSubscriptionId = 0L;
+        int scanned = 0;
+        int created = 0;
+
+        while (true) {
+            List<Subscription> chunk = subscriptionRepository
+                    .findByStatusAndSubscriptionIdGreaterThanOrderBySubscriptionIdAsc(
+                            Subscription.Status.ACTIVE, lastSubscriptionId, PageRequest.of(0, chunkSize));
+            if (chunk.isEmpty()) {
+                break;
+            }
+
+            try {
+                created += fence.inTransaction(() -> paymentCycleService.extendPaymentCycles(chunk, windowEnd, horizonEnd));
+            } catch (LeaseLostException e) {
+                log.warn("결제 주기 연장 중단 (다른 인스턴스가 리스 획득): lastSubscriptionId={}", lastSubscriptionId);
+                break;
+            } catch (Exception e) {
+                log.error("결제 주기 연장 실패: lastSubscriptionId={}, error={}", lastSubscriptionId, e.getMessage());
+            }
+
+            scanned += chunk.size();
+            lastSubscriptionId = chunk.get(chunk.size() - 1).getSubscriptionId();
+
+            if (chunk.size() < chunkSize || !redisLeaseService.renew(lease, Duration.ofSeconds(leaseTtlSeconds))) {
+                break;
+            }
+        }
+
+        log.info("=== 결제 주기 연장 스케줄러 종료: 구독 {} 건 확인, 결제 주기 {} 건 생성 ===", scanned, created);
+    }
+
+    /**
+     * 매주 일요일 새벽 4시 실행 (기본값): 월별 지출 집계 처음부터 재계산
+     *
+     * 평소에는 결제 주기 변경 시 해당 (사용자, 월)만 갱신되므로, 직접 SQL 수정/배포 중 누락분을 바로잡는 용도
+     * 사용자 ID 키셋 페이지(rollupChunkSize) 단위로 조회, 재계산은 사용자마다 짧은 트랜잭션 1개 → 재계산 중에도 다른 사용자 조회는 막히지 않음
+     */
+    @Scheduled(cron = "${payflow.rollup.rebuild-cron:0 0 4 * * SUN}")
+    public void rebuildMonthlySpendingRollup() {
+        redisLeaseService.runExclusively("scheduler:rebuild-spending-rollup",
+                Duration.ofSeconds(leaseTtlSeconds), this::rebuildMonthlySpendingRollup);
+    }
+
+    private void rebuildMonthlySpendingRollup(Lease lease) {
+        log.info("=== 월별 지출 집계 재계산 시작: token={} ===", lease.token());
+
+        long lastUserId = 0L;
+        int rebuilt = 0;
+
+        while (true) {
+            List<Long> userIds = userRepository.findUserIdsAfter(lastUserId, PageRequest.of(0, rollupChunkSize));
+            if (userIds.isEmpty()) {
+                break;
+            }
+
+            try {
+                monthlySpendingRollupService.rebuildUsers(userIds);
+                rebuilt += userIds.size();
+            } catch (Exception e) {
+                log.error("월별 지출 집계 재계산 실패: lastUserId={}, error={}", lastUserId, e.getMessage());
+            }
+
+            lastUserId = userIds.get(userIds.size() - 1);
+
+            if (userIds.size() < rollupChunkSize || !redisLeaseService.renew(lease, Duration.ofSeconds(leaseTtlSeconds))) {
+                break;
+            }
+        }
+
+        log.info("=== 월별 지출 집계 재계산 종료: 사용자 {} 명 ===", rebuilt);
+    }
 }
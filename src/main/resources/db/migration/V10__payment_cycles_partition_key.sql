@@ -0,0 +1,9 @@
+-- 스케줄러 파티션 키: subscription_id % 64 (STORED 생성 컬럼 → 애플리케이션은 쓰지 않음)
+-- MOD(subscription_id, :count) = :partition 은 (status, due_date) 범위를 다 읽은 뒤 거르는 조건이라
+-- 파티션마다 같은 범위를 전부 다시 읽었음 → 파티션은 버킷 목록(partition_key IN (...))으로 조회
+ALTER TABLE payment_cycles
+    ADD COLUMN partition_key INT AS (subscription_id % 64) STORED;
+
+-- 연체 처리: status = 'PENDING' AND partition_key IN (...) AND due_date < ?
+-- 리마인더: status = 'PENDING' AND partition_key IN (...) AND due_date IN (?, ?)
+CREATE INDEX idx_payment_cycles_status_partition_due_date ON payment_cycles (status, partition_key, due_date);
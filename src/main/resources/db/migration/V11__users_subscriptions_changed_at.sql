@@ -0,0 +1,12 @@
+-- 사용자별 구독 변경 시각 (구독 추가/수정/삭제 시 갱신)
+-- AI 인사이트 사전 계산 대상: subscriptions_changed_at > 최신 인사이트 시각
+-- (구독 행 기준으로는 물리 삭제된 구독/마지막 구독을 삭제한 사용자를 찾을 수 없음)
+ALTER TABLE users
+    ADD COLUMN subscriptions_changed_at DATETIME(6) NULL;
+
+-- 기존 구독의 마지막 등록/수정 시각으로 초기화
+UPDATE users u
+JOIN (SELECT user_id, MAX(COALESCE(updated_at, created_at)) AS changed_at
+      FROM subscriptions
+      GROUP BY user_id) s ON s.user_id = u.user_id
+SET u.subscriptions_changed_at = s.changed_at;
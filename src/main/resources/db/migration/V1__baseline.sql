@@ -0,0 +1,96 @@
+-- 기준 스키마 (기존 ddl-auto=update가 만들던 테이블과 동일)
+-- 이미 테이블이 있는 DB는 spring.flyway.baseline-on-migrate로 이 버전을 건너뜀
+
+CREATE TABLE IF NOT EXISTS users (
+    user_id    BIGINT       NOT NULL AUTO_INCREMENT,
+    email      VARCHAR(255) NOT NULL,
+    password   VARCHAR(255) NOT NULL,
+    name       VARCHAR(100),
+    created_at DATETIME(6)  NOT NULL,
+    PRIMARY KEY (user_id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS subscriptions (
+    subscription_id        BIGINT       NOT NULL AUTO_INCREMENT,
+    user_id                BIGINT       NOT NULL,
+    subscriptions_name     VARCHAR(100) NOT NULL,
+    subscriptions_category VARCHAR(50),
+    amount                 INTEGER      NOT NULL,
+    currency               CHAR(3)      NOT NULL DEFAULT 'KRW',
+    cycle_type             ENUM ('MONTHLY','YEARLY','WEEKLY') NOT NULL,
+    billing_day            INTEGER,
+    billing_weekday        INTEGER,
+    billing_month          INTEGER,
+    billing_date           INTEGER,
+    reminder_d3            TINYINT(1) DEFAULT 1,
+    reminder_d1            TINYINT(1) DEFAULT 1,
+    status                 VARCHAR(20)  NOT NULL DEFAULT 'ACTIVE',
+    bank_name              VARCHAR(50),
+    memo                   VARCHAR(255),
+    created_at             DATETIME     NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at             DATETIME     DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    PRIMARY KEY (subscription_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS payment_cycles (
+    cycle_id        BIGINT   NOT NULL,
+    subscription_id BIGINT   NOT NULL,
+    due_date        DATE     NOT NULL,
+    status          ENUM ('PENDING','PAID','OVERDUE','CANCELLED') NOT NULL,
+    paid_amount     INTEGER  NOT NULL,
+    created_at      DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at      DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    PRIMARY KEY (cycle_id)
+) ENGINE = InnoDB;
+
+-- PaymentCycle pooled 테이블 ID 생성기
+CREATE TABLE IF NOT EXISTS id_sequences (
+    sequence_name VARCHAR(255) NOT NULL,
+    next_val      BIGINT,
+    PRIMARY KEY (sequence_name)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS notifications (
+    notification_id  BIGINT   NOT NULL AUTO_INCREMENT,
+    user_id          BIGINT   NOT NULL,
+    payment_cycle_id BIGINT,
+    type             ENUM ('D3_REMINDER','D1_REMINDER','OVERDUE') NOT NULL,
+    message          TEXT     NOT NULL,
+    sent             BIT      NOT NULL,
+    sent_at          DATETIME(6),
+    created_at       DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (notification_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS ai_insights (
+    insight_id             BIGINT       NOT NULL AUTO_INCREMENT,
+    user_id                BIGINT       NOT NULL,
+    insight_type           VARCHAR(50)  NOT NULL,
+    title                  VARCHAR(120) NOT NULL,
+    reason_text            TEXT,
+    suggestion_text        TEXT,
+    summary                TEXT,
+    duplicates_json        TEXT,
+    recommendations_json   TEXT,
+    spending_trend         TEXT,
+    total_monthly_spending INTEGER,
+    total_subscriptions    INTEGER,
+    severity               VARCHAR(20),
+    confidence             FLOAT(53),
+    input_snapshot         TEXT,
+    created_at             DATETIME(6)  NOT NULL,
+    updated_at             DATETIME     DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    PRIMARY KEY (insight_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS ai_reports (
+    id               BIGINT        NOT NULL AUTO_INCREMENT,
+    user_id          BIGINT        NOT NULL,
+    year             INTEGER       NOT NULL,
+    month            INTEGER       NOT NULL,
+    analysis_summary VARCHAR(1000) NOT NULL,
+    report_json      LONGTEXT,
+    created_at       DATETIME(6)   NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
@@ -0,0 +1,77 @@
+-- 스케줄러/중복 확인/목록 조회 쿼리용 복합 인덱스
+-- MySQL은 CREATE INDEX IF NOT EXISTS가 없으므로 information_schema로 확인 후 생성
+-- (ddl-auto=update 시절에 이미 만들어진 인덱스가 있어도 안전)
+
+-- 구독 상세 결제 이력: subscription_id = ? ORDER BY due_date DESC
+SET @ddl = (SELECT IF(COUNT(*) = 0,
+        'CREATE INDEX idx_payment_cycles_subscription_due_date ON payment_cycles (subscription_id, due_date)',
+        'SELECT 1')
+    FROM information_schema.statistics
+    WHERE table_schema = DATABASE()
+      AND table_name = 'payment_cycles'
+      AND index_name = 'idx_payment_cycles_subscription_due_date');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- 연체 처리 / 리마인더: status = 'PENDING' AND due_date < ? / IN (?, ?)
+SET @ddl = (SELECT IF(COUNT(*) = 0,
+        'CREATE INDEX idx_payment_cycles_status_due_date ON payment_cycles (status, due_date)',
+        'SELECT 1')
+    FROM information_schema.statistics
+    WHERE table_schema = DATABASE()
+      AND table_name = 'payment_cycles'
+      AND index_name = 'idx_payment_cycles_status_due_date');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- 대량 생성 중복 확인: subscription_id IN (...) AND status = ?
+SET @ddl = (SELECT IF(COUNT(*) = 0,
+        'CREATE INDEX idx_payment_cycles_subscription_status ON payment_cycles (subscription_id, status)',
+        'SELECT 1')
+    FROM information_schema.statistics
+    WHERE table_schema = DATABASE()
+      AND table_name = 'payment_cycles'
+      AND index_name = 'idx_payment_cycles_subscription_status');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- 알림 중복 발송 방지: payment_cycle_id = ? AND type = ?
+SET @ddl = (SELECT IF(COUNT(*) = 0,
+        'CREATE INDEX idx_notifications_payment_cycle_type ON notifications (payment_cycle_id, type)',
+        'SELECT 1')
+    FROM information_schema.statistics
+    WHERE table_schema = DATABASE()
+      AND table_name = 'notifications'
+      AND index_name = 'idx_notifications_payment_cycle_type');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- 사용자별 구독 목록: user_id = ? AND status = ?
+SET @ddl = (SELECT IF(COUNT(*) = 0,
+        'CREATE INDEX idx_subscriptions_user_status ON subscriptions (user_id, status)',
+        'SELECT 1')
+    FROM information_schema.statistics
+    WHERE table_schema = DATABASE()
+      AND table_name = 'subscriptions'
+      AND index_name = 'idx_subscriptions_user_status');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- PaymentCycle pooled 테이블 ID 생성기
+-- ddl-auto=update 시절 DB는 V1을 기준선으로 건너뛰므로 여기서도 생성 (IDENTITY라 테이블이 없었음)
+CREATE TABLE IF NOT EXISTS id_sequences (
+    sequence_name VARCHAR(255) NOT NULL,
+    next_val      BIGINT,
+    PRIMARY KEY (sequence_name)
+) ENGINE = InnoDB;
+
+-- payment_cycles pooled ID 생성기 시작값을 기존 최대 ID 이후로 맞춤 (allocationSize = 50)
+INSERT INTO id_sequences (sequence_name, next_val)
+SELECT 'payment_cycles', COALESCE(MAX(cycle_id), 0) + 100
+FROM payment_cycles
+ON DUPLICATE KEY UPDATE next_val = GREATEST(id_sequences.next_val, VALUES(next_val));
@@ -0,0 +1,7 @@
+-- 알림 아웃박스: 재시도 횟수/다음 시도 시각/마지막 오류
+ALTER TABLE notifications
+    ADD COLUMN attempt_count   INT          NOT NULL DEFAULT 0,
+    ADD COLUMN next_attempt_at DATETIME(6)  NULL,
+    ADD COLUMN last_error      VARCHAR(500) NULL;
+
+CREATE INDEX idx_notifications_sent_next_attempt ON notifications (sent, next_attempt_at);
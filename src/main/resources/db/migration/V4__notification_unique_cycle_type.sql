@@ -0,0 +1,13 @@
+-- 알림 중복 발송 방지 최종 보호: (payment_cycle_id, type) UNIQUE
+-- 기존 중복 행은 가장 먼저 만들어진 알림만 남기고 삭제
+DELETE n1 FROM notifications n1
+JOIN notifications n2
+  ON n1.payment_cycle_id = n2.payment_cycle_id
+ AND n1.type = n2.type
+ AND n1.notification_id > n2.notification_id;
+
+ALTER TABLE notifications
+    ADD CONSTRAINT uk_notifications_payment_cycle_type UNIQUE (payment_cycle_id, type);
+
+-- UNIQUE 인덱스가 같은 컬럼 순서로 조회를 대신함
+DROP INDEX idx_notifications_payment_cycle_type ON notifications;
@@ -0,0 +1,36 @@
+-- 월별 지출 집계 (사용자 x 연/월 x 카테고리)
+-- 결제 완료/연체/결제 주기 생성/구독 수정 시 해당 (사용자, 월) 행만 같은 트랜잭션에서 다시 계산
+-- category: 카테고리 없는 구독은 '' (UNIQUE 키에 NULL을 넣지 않기 위함)
+CREATE TABLE IF NOT EXISTS monthly_spending_rollup (
+    id               BIGINT      NOT NULL AUTO_INCREMENT,
+    user_id          BIGINT      NOT NULL,
+    year             INTEGER     NOT NULL,
+    month            INTEGER     NOT NULL,
+    category         VARCHAR(50) NOT NULL,
+    cycle_count      INTEGER     NOT NULL,
+    scheduled_amount INTEGER     NOT NULL,
+    spent_amount     INTEGER     NOT NULL,
+    paid_amount      INTEGER     NOT NULL,
+    paid_count       INTEGER     NOT NULL,
+    pending_count    INTEGER     NOT NULL,
+    overdue_count    INTEGER     NOT NULL,
+    updated_at       DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_monthly_spending_rollup_user_month_category UNIQUE (user_id, year, month, category)
+) ENGINE = InnoDB;
+
+-- 기존 결제 주기로 초기 집계
+INSERT INTO monthly_spending_rollup (user_id, year, month, category, cycle_count, scheduled_amount,
+                                     spent_amount, paid_amount, paid_count, pending_count, overdue_count, updated_at)
+SELECT s.user_id, YEAR(pc.due_date), MONTH(pc.due_date), COALESCE(s.subscriptions_category, ''),
+       COUNT(*),
+       SUM(s.amount),
+       SUM(COALESCE(pc.paid_amount, s.amount)),
+       SUM(CASE WHEN pc.status = 'PAID' THEN COALESCE(pc.paid_amount, s.amount) ELSE 0 END),
+       SUM(CASE WHEN pc.status = 'PAID' THEN 1 ELSE 0 END),
+       SUM(CASE WHEN pc.status = 'PENDING' THEN 1 ELSE 0 END),
+       SUM(CASE WHEN pc.status = 'OVERDUE' THEN 1 ELSE 0 END),
+       NOW(6)
+FROM payment_cycles pc
+JOIN subscriptions s ON s.subscription_id = pc.subscription_id
+GROUP BY s.user_id, YEAR(pc.due_date), MONTH(pc.due_date), COALESCE(s.subscriptions_category, '');
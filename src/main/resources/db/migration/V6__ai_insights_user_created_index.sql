@@ -0,0 +1,3 @@
+-- 사용자별 최신 인사이트: user_id = ? ORDER BY created_at DESC LIMIT 1
+-- AI 사전 계산 대상 선정 (구독 변경 시각 > 사용자의 MAX(created_at))
+CREATE INDEX idx_ai_insights_user_created_at ON ai_insights (user_id, created_at);
@@ -0,0 +1,23 @@
+-- 같은 구독의 같은 결제일 결제 주기는 1건만 (결제 완료 시 엔진 계산 결제 주기를 동시에 저장해도 중복 행이 생기지 않도록)
+-- 기존 중복 행은 가장 먼저 만들어진 행을 남기고, 뒤에 만들어진 PENDING 행과 그 알림만 삭제
+-- (PAID/OVERDUE 중복이 남아 있으면 ALTER가 실패 → 직접 확인 후 정리)
+DELETE n FROM notifications n
+JOIN payment_cycles dup ON n.payment_cycle_id = dup.cycle_id
+JOIN payment_cycles keep
+  ON keep.subscription_id = dup.subscription_id
+ AND keep.due_date = dup.due_date
+ AND keep.cycle_id < dup.cycle_id
+WHERE dup.status = 'PENDING';
+
+DELETE dup FROM payment_cycles dup
+JOIN payment_cycles keep
+  ON keep.subscription_id = dup.subscription_id
+ AND keep.due_date = dup.due_date
+ AND keep.cycle_id < dup.cycle_id
+WHERE dup.status = 'PENDING';
+
+ALTER TABLE payment_cycles
+    ADD CONSTRAINT uk_payment_cycles_subscription_due_date UNIQUE (subscription_id, due_date);
+
+-- UNIQUE 인덱스가 같은 컬럼 순서로 조회를 대신함
+DROP INDEX idx_payment_cycles_subscription_due_date ON payment_cycles;
@@ -0,0 +1,11 @@
+-- 스케줄러 리스 펜싱 토큰 (LeaseFence)
+-- 리스를 획득할 때마다 token + 1, 청크 트랜잭션은 token이 내 값일 때만 커밋
+-- 파티션 리스는 날짜별 이름이라 하루 수십 행 → 7일 지난 행은 발급 시 정리 (idx_lease_fences_updated_at)
+CREATE TABLE IF NOT EXISTS lease_fences (
+    lease_name VARCHAR(200) NOT NULL,
+    token      BIGINT       NOT NULL,
+    updated_at DATETIME(6)  NOT NULL,
+    PRIMARY KEY (lease_name)
+) ENGINE = InnoDB;
+
+CREATE INDEX idx_lease_fences_updated_at ON lease_fences (updated_at);
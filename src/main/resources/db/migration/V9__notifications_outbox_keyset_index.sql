@@ -0,0 +1,6 @@
+-- 아웃박스 키셋: sent = false AND (user_id, notification_id) > (?, ?) ORDER BY user_id, notification_id LIMIT ?
+-- (sent, next_attempt_at)은 범위 조회 후 미발송 전체를 배치마다 filesort → 키셋 순서 그대로 읽는 인덱스로 교체
+-- next_attempt_at / attempt_count는 인덱스 순서로 읽으면서 거르는 조건 (재시도 대기 행은 소수)
+CREATE INDEX idx_notifications_sent_user_notification ON notifications (sent, user_id, notification_id);
+
+DROP INDEX idx_notifications_sent_next_attempt ON notifications;
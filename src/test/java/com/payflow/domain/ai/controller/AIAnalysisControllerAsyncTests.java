@@ -0,0 +1,91 @@
+package com.payflow.domain.ai.controller;
+
+import com.payflow.domain.ai.dto.AIInsightResponse;
+import com.payflow.domain.ai.service.AIInsightService;
+import com.payflow.domain.ai.service.AIReportService;
+import com.payflow.global.util.JwtUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 비동기 AI 엔드포인트의 응답이 ASYNC 재디스패치에서 인증 실패(401/403)로 바뀌지 않는지 확인
+ * (JwtAuthFilter는 최초 REQUEST 디스패치에서만 실행됨)
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class AIAnalysisControllerAsyncTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JwtUtil jwtUtil;
+
+	@MockitoBean
+	private AIInsightService aiInsightService;
+
+	@MockitoBean
+	private AIReportService aiReportService;
+
+	@Test
+	void insightResponseIsDeliveredOnAsyncDispatch() throws Exception {
+		when(aiInsightService.getInsightAsync(9001L)).thenReturn(CompletableFuture.completedFuture(
+				AIInsightResponse.builder().summary("월 평균 30,000원 지출").build()));
+
+		MvcResult result = mockMvc.perform(get("/api/ai/insights").header("Authorization", bearer(9001L)))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+
+		mockMvc.perform(asyncDispatch(result))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.summary").value("월 평균 30,000원 지출"));
+	}
+
+	@Test
+	void insightStreamIsDeliveredOnAsyncDispatch() throws Exception {
+		when(aiInsightService.streamInsightAsync(eq(9002L), any())).thenAnswer(invocation -> {
+			Consumer<String> onChunk = invocation.getArgument(1);
+			onChunk.accept("{\"summary\":");
+			return CompletableFuture.completedFuture(AIInsightResponse.builder().summary("스트리밍 결과").build());
+		});
+
+		MvcResult result = mockMvc.perform(get("/api/ai/insights/stream").header("Authorization", bearer(9002L)))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+
+		mockMvc.perform(asyncDispatch(result))
+				.andExpect(status().isOk())
+				.andExpect(content().string(containsString("event:chunk")))
+				.andExpect(content().string(containsString("event:result")));
+	}
+
+	@Test
+	void unauthenticatedRequestIsRejectedBeforeAsyncStarts() throws Exception {
+		mockMvc.perform(get("/api/ai/insights"))
+				.andExpect(request().asyncNotStarted())
+				.andExpect(status().isForbidden());
+	}
+
+	private String bearer(Long userId) {
+		return "Bearer " + jwtUtil.generateAccessToken(userId, "user" + userId + "@payflow.com");
+	}
+}
@@ -0,0 +1,179 @@
+package com.payflow.domain.ai.controller;
+
+import com.payflow.domain.subscription.entity.Subscription;
+import com.payflow.domain.subscription.entity.Subscription.CycleType;
+import com.payflow.domain.subscription.repository.SubscriptionRepository;
+import com.payflow.global.util.JwtUtil;
+import com.payflow.payflow.PayflowApplication;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 실제 POST /api/ai/insights/refresh 동시 처리량 (Tomcat + MySQL + Redis, Gemini만 로컬 스텁 서버로 대체)
+ *
+ * - Tomcat 요청 스레드를 20개로 줄이고 느린 Gemini(500ms)에 동시 새로고침 200건
+ * - 요청 스레드가 Gemini 응답을 기다린다면 200 / 20 = 10번에 나눠 대기 (약 5초)
+ * - 새로고침은 CompletableFuture로 바로 반환 (Gemini 대기 = WebClient 논블로킹) → 두 모드 모두 한 번에 대기
+ *
+ * spring.threads.virtual.enabled 켜짐/꺼짐 모두 같은 결과 → 처리량 때문에 가상 스레드를 켤 필요는 없음 (기본값 false)
+ */
+class VirtualThreadCapacityTests {
+
+	private static final int REQUEST_THREADS = 20;
+	private static final int CONCURRENT_REFRESHES = 200;
+	private static final Duration GEMINI_LATENCY = Duration.ofMillis(500);
+	private static final String STUB_INSIGHT = "{\"summary\":\"스텁 분석\",\"duplicates\":[],\"recommendations\":[]}";
+
+	private static HttpServer gemini;
+	private static ExecutorService geminiThreads;
+	private static final AtomicInteger geminiCalls = new AtomicInteger();
+
+	@BeforeAll
+	static void startGeminiStub() throws IOException {
+		geminiThreads = Executors.newVirtualThreadPerTaskExecutor();
+		gemini = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), CONCURRENT_REFRESHES);
+		gemini.createContext("/", VirtualThreadCapacityTests::respondSlowly);
+		gemini.setExecutor(geminiThreads);
+		gemini.start();
+	}
+
+	@AfterAll
+	static void stopGeminiStub() {
+		gemini.stop(0);
+		geminiThreads.shutdownNow();
+	}
+
+	@ParameterizedTest(name = "spring.threads.virtual.enabled={0}")
+	@ValueSource(booleans = {false, true})
+	void refreshesDoNotQueueBehindRequestThreads(boolean virtualThreads) throws Exception {
+		long baseUserId = virtualThreads ? 9_302_000L : 9_301_000L;
+		List<Long> userIds = LongStream.range(baseUserId, baseUserId + CONCURRENT_REFRESHES + 1).boxed().toList();
+
+		try (ConfigurableApplicationContext context = startApplication(virtualThreads)) {
+			NamedParameterJdbcTemplate jdbcTemplate = context.getBean(NamedParameterJdbcTemplate.class);
+			try {
+				createSubscriptions(context, userIds);
+				int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+				JwtUtil jwtUtil = context.getBean(JwtUtil.class);
+				HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+				// 첫 요청(커넥션 풀/JIT 준비)은 측정에서 제외
+				assertThat(refresh(client, port, jwtUtil, userIds.get(0)).join().statusCode()).isEqualTo(200);
+				geminiCalls.set(0);
+
+				long start = System.nanoTime();
+				List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>(CONCURRENT_REFRESHES);
+				for (Long userId : userIds.subList(1, userIds.size())) {
+					responses.add(refresh(client, port, jwtUtil, userId));
+				}
+				for (CompletableFuture<HttpResponse<String>> response : responses) {
+					assertThat(response.join().statusCode()).isEqualTo(200);
+					assertThat(response.join().body()).contains("스텁 분석");
+				}
+				long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+				// 로컬 분석으로 대체되지 않고 모두 Gemini(스텁)까지 호출됨
+				assertThat(geminiCalls.get()).isEqualTo(CONCURRENT_REFRESHES);
+				// 요청 스레드에서 대기했다면 10번에 나눠 대기 → 그 절반보다 빨라야 함
+				long queuedMillis = GEMINI_LATENCY.toMillis() * CONCURRENT_REFRESHES / REQUEST_THREADS;
+				assertThat(elapsedMillis).isLessThan(queuedMillis / 2);
+			} finally {
+				jdbcTemplate.update("DELETE FROM ai_insights WHERE user_id IN (:userIds)", Map.of("userIds", userIds));
+				jdbcTemplate.update("DELETE FROM subscriptions WHERE user_id IN (:userIds)", Map.of("userIds", userIds));
+			}
+		}
+	}
+
+	private static ConfigurableApplicationContext startApplication(boolean virtualThreads) {
+		Map<String, Object> properties = new HashMap<>();
+		properties.put("server.port", 0);
+		properties.put("server.tomcat.threads.max", REQUEST_THREADS);
+		properties.put("spring.threads.virtual.enabled", virtualThreads);
+		properties.put("gemini.api.url", "http://127.0.0.1:" + gemini.getAddress().getPort() + "/v1beta/models/stub:generateContent");
+		properties.put("gemini.api.key", "stub-key");
+		properties.put("gemini.client.max-connections", CONCURRENT_REFRESHES);
+		properties.put("gemini.client.max-concurrent-calls", CONCURRENT_REFRESHES);
+		properties.put("payflow.ai.executor.queue-capacity", CONCURRENT_REFRESHES * 4);
+		return new SpringApplicationBuilder(PayflowApplication.class)
+				.properties(properties)
+				.run();
+	}
+
+	/**
+	 * 사용자마다 이름이 다른 구독 1개 → 프롬프트가 모두 달라서 AIInsightCache에 걸리지 않음
+	 */
+	private static void createSubscriptions(ConfigurableApplicationContext context, List<Long> userIds) {
+		List<Subscription> subscriptions = userIds.stream()
+				.map(userId -> Subscription.builder()
+						.userId(userId)
+						.subscriptionsName("capacity-" + userId)
+						.amount(9_900)
+						.cycleType(CycleType.MONTHLY)
+						.billingDay(15)
+						.build())
+				.toList();
+		context.getBean(SubscriptionRepository.class).saveAll(subscriptions);
+	}
+
+	private static CompletableFuture<HttpResponse<String>> refresh(HttpClient client, int port, JwtUtil jwtUtil, Long userId) {
+		HttpRequest request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + "/api/ai/insights/refresh"))
+				.header("Authorization", "Bearer " + jwtUtil.generateAccessToken(userId, "user" + userId + "@payflow.test"))
+				.timeout(Duration.ofSeconds(30))
+				.POST(HttpRequest.BodyPublishers.noBody())
+				.build();
+		return client.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+	}
+
+	/**
+	 * Gemini generateContent 응답 형식 (candidates[0].content.parts[0].text), GEMINI_LATENCY 후 응답
+	 */
+	private static void respondSlowly(HttpExchange exchange) throws IOException {
+		try {
+			exchange.getRequestBody().readAllBytes();
+			geminiCalls.incrementAndGet();
+			Thread.sleep(GEMINI_LATENCY.toMillis());
+
+			String text = STUB_INSIGHT.replace("\"", "\\\"");
+			byte[] body = ("{\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"" + text + "\"}]}}]}")
+					.getBytes(StandardCharsets.UTF_8);
+			exchange.getResponseHeaders().add("Content-Type", "application/json");
+			exchange.sendResponseHeaders(200, body.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(body);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			exchange.close();
+		}
+	}
+}
@@ -0,0 +1,101 @@
+package com.payflow.domain.ai.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.payflow.domain.ai.dto.AIInsightResponse;
+import com.payflow.domain.ai.dto.AIReportResponse;
+import com.payflow.domain.ai.repository.AIReportRepository;
+import com.payflow.domain.payment.dto.MonthlySpendingSummaryResponse;
+import com.payflow.domain.payment.dto.PaymentCycleResponse;
+import com.payflow.domain.payment.entity.PaymentCycle.PaymentStatus;
+import com.payflow.domain.payment.service.PaymentCycleService;
+import com.payflow.global.gemini.GeminiClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 월간 리포트 합계는 저장된 결제 주기만 기준 (엔진이 계산한 미래 결제일(cycleId = null)은 이번 달/지난 달 모두 제외)
+ */
+class AIReportServiceImplTests {
+
+	private static final long USER_ID = 7L;
+
+	private final PaymentCycleService paymentCycleService = mock(PaymentCycleService.class);
+	private final AIAnalysisService aiAnalysisService = mock(AIAnalysisService.class);
+	private final AIReportRepository aiReportRepository = mock(AIReportRepository.class);
+	private final GeminiClient geminiClient = mock(GeminiClient.class);
+	private AIReportServiceImpl service;
+
+	@BeforeEach
+	void setUp() {
+		service = new AIReportServiceImpl(paymentCycleService, aiAnalysisService, aiReportRepository, geminiClient,
+				new ObjectMapper(), Runnable::run, mock(AIRequestCoalescer.class));
+
+		when(aiReportRepository.findByUserIdAndYearAndMonth(anyLong(), anyInt(), anyInt())).thenReturn(Optional.empty());
+		when(geminiClient.isConfigured()).thenReturn(false);
+		when(aiAnalysisService.analyzeSpendingPattern(USER_ID)).thenReturn(AIInsightResponse.builder()
+				.spendingTrend("안정적")
+				.recommendations(List.of())
+				.build());
+	}
+
+	@Test
+	void currentMonthTotalsExcludeProjectedCycles() {
+		YearMonth month = YearMonth.now();
+		YearMonth prevMonth = month.minusMonths(1);
+		when(paymentCycleService.getMonthlySpendingSummary(USER_ID, prevMonth.getYear(), prevMonth.getMonthValue()))
+				.thenReturn(MonthlySpendingSummaryResponse.builder().totalScheduledAmount(30_000).build());
+		when(paymentCycleService.getPaymentHistoryResponses(USER_ID, month.atDay(1), month.atEndOfMonth()))
+				.thenReturn(List.of(
+						payment(1L, "넷플릭스", 17_000, "OTT", PaymentStatus.PAID),
+						payment(2L, "멜론", 9_900, "음악", PaymentStatus.PENDING),
+						payment(null, "유튜브 프리미엄", 14_900, "OTT", PaymentStatus.PENDING)));
+
+		AIReportResponse report = service.generateMonthlyReport(USER_ID, month.getYear(), month.getMonthValue());
+
+		assertThat(report.getTotalSpending()).isEqualTo(26_900);
+		assertThat(report.getPreviousMonthSpending()).isEqualTo(30_000);
+		assertThat(report.getSpendingDifference()).isEqualTo(-3_100);
+		assertThat(report.getCategoryBreakdown()).isEqualTo(Map.of("OTT", 17_000, "음악", 9_900));
+	}
+
+	@Test
+	void previousMonthTotalExcludesProjectedCyclesWhenNotRolledUp() {
+		YearMonth prevMonth = YearMonth.now();
+		YearMonth month = prevMonth.plusMonths(1);
+		when(paymentCycleService.getPaymentHistoryResponses(USER_ID, prevMonth.atDay(1), prevMonth.atEndOfMonth()))
+				.thenReturn(List.of(
+						payment(1L, "넷플릭스", 17_000, "OTT", PaymentStatus.PENDING),
+						payment(null, "멜론", 9_900, "음악", PaymentStatus.PENDING)));
+		when(paymentCycleService.getPaymentHistoryResponses(USER_ID, month.atDay(1), month.atEndOfMonth()))
+				.thenReturn(List.of(payment(null, "넷플릭스", 17_000, "OTT", PaymentStatus.PENDING)));
+
+		AIReportResponse report = service.generateMonthlyReport(USER_ID, month.getYear(), month.getMonthValue());
+
+		assertThat(report.getTotalSpending()).isZero();
+		assertThat(report.getPreviousMonthSpending()).isEqualTo(17_000);
+		verify(paymentCycleService, never()).getMonthlySpendingSummary(USER_ID, prevMonth.getYear(), prevMonth.getMonthValue());
+	}
+
+	private static PaymentCycleResponse payment(Long cycleId, String name, int amount, String category, PaymentStatus status) {
+		return PaymentCycleResponse.builder()
+				.cycleId(cycleId)
+				.status(status)
+				.subscriptionName(name)
+				.subscriptionAmount(amount)
+				.subscriptionCategory(category)
+				.build();
+	}
+}
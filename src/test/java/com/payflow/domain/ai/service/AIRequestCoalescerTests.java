@@ -0,0 +1,83 @@
+package com.payflow.domain.ai.service;
+
+import com.payflow.global.redis.RedisLeaseService;
+import com.payflow.global.redis.RedisLeaseService.Lease;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AIRequestCoalescerTests {
+
+	private RedisLeaseService leaseService;
+	private AIRequestCoalescer coalescer;
+
+	@BeforeEach
+	void setUp() {
+		leaseService = mock(RedisLeaseService.class);
+		coalescer = new AIRequestCoalescer(leaseService, Runnable::run);
+		ReflectionTestUtils.setField(coalescer, "lockTtlSeconds", 5L);
+	}
+
+	@Test
+	void concurrentCallersShareOneComputation() throws Exception {
+		Lease lease = new Lease("ai:insight-refresh:1", "ai-single-flight", "owner", 1L, System.nanoTime());
+		when(leaseService.tryAcquire(anyString(), anyString(), any(Duration.class))).thenReturn(Optional.of(lease));
+
+		AtomicInteger computations = new AtomicInteger();
+		CompletableFuture<String> gemini = new CompletableFuture<>();
+
+		CompletableFuture<String> first = coalescer.execute("insight-refresh:1",
+				() -> { computations.incrementAndGet(); return gemini; }, () -> CompletableFuture.completedFuture("stored"));
+		CompletableFuture<String> second = coalescer.execute("insight-refresh:1",
+				() -> { computations.incrementAndGet(); return gemini; }, () -> CompletableFuture.completedFuture("stored"));
+
+		gemini.complete("analyzed");
+
+		assertThat(first.get(1, TimeUnit.SECONDS)).isEqualTo("analyzed");
+		assertThat(second.get(1, TimeUnit.SECONDS)).isEqualTo("analyzed");
+		assertThat(computations).hasValue(1);
+		verify(leaseService).release(lease);
+	}
+
+	@Test
+	void finishedKeyStartsNewComputation() throws Exception {
+		Lease lease = new Lease("ai:report:1:2026-1", "ai-single-flight", "owner", 1L, System.nanoTime());
+		when(leaseService.tryAcquire(anyString(), anyString(), any(Duration.class))).thenReturn(Optional.of(lease));
+
+		AtomicInteger computations = new AtomicInteger();
+		for (int i = 0; i < 2; i++) {
+			coalescer.execute("report:1:2026-1",
+					() -> CompletableFuture.completedFuture("report-" + computations.incrementAndGet()),
+					() -> CompletableFuture.completedFuture("stored")).get(1, TimeUnit.SECONDS);
+		}
+
+		assertThat(computations).hasValue(2);
+	}
+
+	@Test
+	void otherInstanceHoldingLockIsAwaitedAndItsResultRead() throws Exception {
+		when(leaseService.tryAcquire(anyString(), anyString(), any(Duration.class))).thenReturn(Optional.empty());
+		when(leaseService.isHeld("ai:insight-refresh:1")).thenReturn(true, false);
+
+		AtomicInteger computations = new AtomicInteger();
+		String result = coalescer.execute("insight-refresh:1",
+				() -> CompletableFuture.completedFuture("analyzed-" + computations.incrementAndGet()),
+				() -> CompletableFuture.completedFuture("stored")).get(5, TimeUnit.SECONDS);
+
+		assertThat(result).isEqualTo("stored");
+		assertThat(computations).hasValue(0);
+	}
+}
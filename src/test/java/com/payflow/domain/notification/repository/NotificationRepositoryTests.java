@@ -0,0 +1,68 @@
+package com.payflow.domain.notification.repository;
+
+import com.payflow.domain.notification.entity.Notification;
+import com.payflow.domain.notification.entity.Notification.NotificationType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 알림 일괄 등록: Redis 중복 확인 키가 유실돼 이미 저장된 알림을 다시 등록해도
+ * UNIQUE(payment_cycle_id, type) 충돌 행만 건너뛰고 나머지는 저장 (청크 롤백 없음)
+ */
+@SpringBootTest
+class NotificationRepositoryTests {
+
+	private static final long USER_ID = 9_600_001L;
+	private static final long CYCLE_ID = 9_600_000_000L;
+
+	@Autowired
+	private NotificationRepository notificationRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@AfterEach
+	void tearDown() {
+		jdbcTemplate.update("DELETE FROM notifications WHERE user_id = ?", USER_ID);
+	}
+
+	@Test
+	void insertIgnoringDuplicatesSkipsOnlyExistingCycleTypePairs() {
+		jdbcTemplate.update("INSERT INTO notifications (user_id, payment_cycle_id, type, message, sent, created_at, attempt_count) "
+				+ "VALUES (?, ?, 'D1_REMINDER', '기존 알림', 1, NOW(6), 0)", USER_ID, CYCLE_ID);
+
+		Integer inserted = transactionTemplate.execute(status -> notificationRepository.insertIgnoringDuplicates(List.of(
+				reminder(CYCLE_ID, NotificationType.D1_REMINDER, "중복 알림"),
+				reminder(CYCLE_ID, NotificationType.D3_REMINDER, "3일 전 알림"),
+				reminder(CYCLE_ID + 1, NotificationType.D1_REMINDER, "1일 전 알림"))));
+
+		assertThat(inserted).isEqualTo(2);
+		assertThat(jdbcTemplate.queryForList(
+				"SELECT CONCAT(payment_cycle_id, ':', type, ':', message, ':', sent) FROM notifications WHERE user_id = ? ORDER BY notification_id",
+				String.class, USER_ID))
+				.containsExactly(
+						CYCLE_ID + ":D1_REMINDER:기존 알림:1",
+						CYCLE_ID + ":D3_REMINDER:3일 전 알림:0",
+						(CYCLE_ID + 1) + ":D1_REMINDER:1일 전 알림:0");
+	}
+
+	private static Notification reminder(long cycleId, NotificationType type, String message) {
+		return Notification.builder()
+				.userId(USER_ID)
+				.paymentCycleId(cycleId)
+				.type(type)
+				.message(message)
+				.build();
+	}
+}
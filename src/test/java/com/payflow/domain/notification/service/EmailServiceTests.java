@@ -0,0 +1,88 @@
+package com.payflow.domain.notification.service;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.payflow.domain.notification.service.EmailService.HtmlEmail;
+import com.payflow.domain.notification.template.EmailTemplateRenderer;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmailServiceTests {
+
+	@RegisterExtension
+	static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+	private EmailService emailService;
+
+	@BeforeEach
+	void setUp() {
+		JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+		mailSender.setHost("localhost");
+		mailSender.setPort(ServerSetupTest.SMTP.getPort());
+
+		emailService = new EmailService(mailSender, new EmailTemplateRenderer(100));
+		ReflectionTestUtils.setField(emailService, "fromEmail", "noreply@payflow.com");
+	}
+
+	@Test
+	void sendsWholeBatch() {
+		List<HtmlEmail> emails = List.of(
+				new HtmlEmail("a@payflow.com", "제목 A", "<p>A</p>"),
+				new HtmlEmail("b@payflow.com", "제목 B", "<p>B</p>"),
+				new HtmlEmail("c@payflow.com", "제목 C", "<p>C</p>"));
+
+		Map<Integer, Exception> failures = emailService.sendHtmlEmails(emails);
+
+		assertThat(failures).isEmpty();
+		MimeMessage[] received = greenMail.getReceivedMessages();
+		assertThat(Arrays.stream(received).map(this::subjectOf))
+				.containsExactlyInAnyOrder("제목 A", "제목 B", "제목 C");
+	}
+
+	@Test
+	void invalidMessageDoesNotAbortBatch() {
+		List<HtmlEmail> emails = List.of(
+				new HtmlEmail("a@payflow.com", "제목 A", "<p>A</p>"),
+				new HtmlEmail("<not-closed@payflow.com", "제목 B", "<p>B</p>"),
+				new HtmlEmail("c@payflow.com", "제목 C", "<p>C</p>"));
+
+		Map<Integer, Exception> failures = emailService.sendHtmlEmails(emails);
+
+		assertThat(failures).containsOnlyKeys(1);
+		assertThat(Arrays.stream(greenMail.getReceivedMessages()).map(this::subjectOf))
+				.containsExactlyInAnyOrder("제목 A", "제목 C");
+	}
+
+	@Test
+	void connectionFailureMarksEveryMessageFailed() {
+		JavaMailSenderImpl unreachable = new JavaMailSenderImpl();
+		unreachable.setHost("localhost");
+		unreachable.setPort(1);
+		EmailService service = new EmailService(unreachable, new EmailTemplateRenderer(100));
+		ReflectionTestUtils.setField(service, "fromEmail", "noreply@payflow.com");
+
+		Map<Integer, Exception> failures = service.sendHtmlEmails(List.of(
+				new HtmlEmail("a@payflow.com", "제목 A", "<p>A</p>"),
+				new HtmlEmail("b@payflow.com", "제목 B", "<p>B</p>")));
+
+		assertThat(failures).containsOnlyKeys(0, 1);
+	}
+
+	private String subjectOf(MimeMessage message) {
+		try {
+			return message.getSubject();
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
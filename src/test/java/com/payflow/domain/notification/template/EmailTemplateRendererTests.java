@@ -0,0 +1,71 @@
+package com.payflow.domain.notification.template;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EmailTemplateRendererTests {
+
+	private final EmailTemplateRenderer renderer = new EmailTemplateRenderer(100);
+
+	@Test
+	void rendersReminderSlots() {
+		String html = renderer.renderPaymentReminder("Netflix", "2025-03-15", 3, 17000);
+
+		assertThat(html)
+				.contains("<strong>Netflix</strong>")
+				.contains("2025-03-15")
+				.contains("3일")
+				.contains("₩17,000원")
+				.contains("0%, #764ba2 100%")
+				.doesNotContain("{{");
+	}
+
+	@Test
+	void escapesSubscriptionName() {
+		String html = renderer.renderOverdueNotification("<b>Tom & Jerry</b>", "2025-03-15", 5000);
+
+		assertThat(html).contains("&lt;b&gt;Tom &amp; Jerry&lt;/b&gt;");
+	}
+
+	@Test
+	void reusesRenderedBodyForSameInputs() {
+		String first = renderer.renderPaymentReminder("Netflix", "2025-03-15", 1, 17000);
+		String second = renderer.renderPaymentReminder("Netflix", "2025-03-15", 1, 17000);
+
+		assertThat(second).isSameAs(first);
+	}
+
+	@Test
+	void rendersDigestRowsAndTotal() {
+		String html = renderer.renderPaymentReminderDigest(List.of(
+				new ReminderLine("Netflix", "2025-03-13", 1, 17000),
+				new ReminderLine("Spotify", "2025-03-15", 3, 10900)));
+
+		assertThat(html)
+				.contains("<strong>2건</strong>")
+				.contains("<td><strong>Netflix</strong></td><td>2025-03-13</td><td>D-1</td><td>₩17,000원</td>")
+				.contains("<td><strong>Spotify</strong></td><td>2025-03-15</td><td>D-3</td><td>₩10,900원</td>")
+				.contains("₩27,900원")
+				.doesNotContain("{{");
+	}
+
+	@Test
+	void formatsAmountWithGrouping() {
+		assertThat(EmailTemplateRenderer.formatAmount(0)).isEqualTo("0");
+		assertThat(EmailTemplateRenderer.formatAmount(999)).isEqualTo("999");
+		assertThat(EmailTemplateRenderer.formatAmount(1000)).isEqualTo("1,000");
+		assertThat(EmailTemplateRenderer.formatAmount(1234567)).isEqualTo("1,234,567");
+		assertThat(EmailTemplateRenderer.formatAmount(-1234567)).isEqualTo("-1,234,567");
+		assertThat(EmailTemplateRenderer.formatAmount(Integer.MIN_VALUE)).isEqualTo(String.format("%,d", Integer.MIN_VALUE));
+	}
+
+	@Test
+	void rejectsUnknownVariable() {
+		assertThatThrownBy(() -> EmailTemplate.compile("test", "<p>{{unknown}}</p>", List.of("name")))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+}
@@ -0,0 +1,74 @@
+package com.payflow.domain.payment.controller;
+
+import com.payflow.domain.payment.service.PaymentCycleService;
+import com.payflow.global.util.JwtUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 결제 주기 수동/일괄 생성 API는 운영자만 호출할 수 있고, monthsAhead가 상한으로 잘리는지 확인
+ */
+@SpringBootTest(properties = "payflow.security.admin-user-ids=9201")
+@AutoConfigureMockMvc
+class PaymentCycleControllerAdminTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JwtUtil jwtUtil;
+
+	@MockitoBean
+	private PaymentCycleService paymentCycleService;
+
+	@Test
+	void bulkGenerateIsForbiddenForRegularUsers() throws Exception {
+		mockMvc.perform(post("/api/payment-cycles/generate")
+						.header("Authorization", bearer(9202L))
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("[1, 2, 3]"))
+				.andExpect(status().isForbidden());
+
+		verify(paymentCycleService, never()).createPaymentCyclesForSubscriptions(anyList(), anyInt());
+	}
+
+	@Test
+	void singleGenerateIsForbiddenForRegularUsers() throws Exception {
+		mockMvc.perform(post("/api/payment-cycles/generate/1").header("Authorization", bearer(9202L)))
+				.andExpect(status().isForbidden());
+	}
+
+	@Test
+	void bulkGenerateCapsMonthsAheadForAdmins() throws Exception {
+		when(paymentCycleService.createPaymentCyclesForSubscriptions(List.of(1L, 2L), 24)).thenReturn(48);
+
+		mockMvc.perform(post("/api/payment-cycles/generate")
+						.param("monthsAhead", "1200")
+						.header("Authorization", bearer(9201L))
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("[1, 2]"))
+				.andExpect(status().isOk());
+
+		verify(paymentCycleService).createPaymentCyclesForSubscriptions(eq(List.of(1L, 2L)), eq(24));
+	}
+
+	private String bearer(Long userId) {
+		return "Bearer " + jwtUtil.generateAccessToken(userId, "user" + userId + "@payflow.test");
+	}
+}
@@ -0,0 +1,96 @@
+package com.payflow.domain.payment.service;
+
+import com.payflow.domain.payment.repository.MonthlySpendingRollupRepository;
+import com.payflow.domain.subscription.repository.SubscriptionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * 집계 재계산이 호출한 쪽 트랜잭션 안에서 실행되지 않고, 커밋 후 사용자별 새 트랜잭션에서 1번만 실행되는지 확인
+ */
+class MonthlySpendingRollupServiceTests {
+
+	private final MonthlySpendingRollupRepository rollupRepository = mock(MonthlySpendingRollupRepository.class);
+	private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+	private MonthlySpendingRollupService service;
+
+	@BeforeEach
+	void setUp() {
+		when(transactionManager.getTransaction(any(TransactionDefinition.class))).thenReturn(new SimpleTransactionStatus());
+		service = new MonthlySpendingRollupService(rollupRepository, mock(SubscriptionRepository.class), transactionManager);
+		TransactionSynchronizationManager.initSynchronization();
+	}
+
+	@AfterEach
+	void tearDown() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	void refreshesAreMergedAndRunAfterCommit() {
+		service.refreshMonths(1L, YearMonth.of(2026, 3), YearMonth.of(2026, 3));
+		service.refreshMonths(1L, YearMonth.of(2025, 11), YearMonth.of(2025, 12));
+
+		// 호출한 쪽 트랜잭션 안에서는 집계 테이블을 건드리지 않음
+		verifyNoInteractions(rollupRepository, transactionManager);
+
+		complete(TransactionSynchronization.STATUS_COMMITTED);
+
+		InOrder inOrder = inOrder(transactionManager, rollupRepository);
+		inOrder.verify(transactionManager).getTransaction(any(TransactionDefinition.class));
+		inOrder.verify(rollupRepository).lockUser(1L);
+		inOrder.verify(rollupRepository).deleteMonths(1L, 2025, 11, 2026, 3);
+		inOrder.verify(rollupRepository).insertMonths(1L, LocalDate.of(2025, 11, 1), LocalDate.of(2026, 3, 31));
+		inOrder.verify(transactionManager).commit(any());
+		assertThat(TransactionSynchronizationManager.hasResource(service)).isFalse();
+	}
+
+	@Test
+	void rolledBackChangesDoNotTouchRollup() {
+		service.refreshUser(1L);
+
+		complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+		verifyNoInteractions(rollupRepository, transactionManager);
+		assertThat(TransactionSynchronizationManager.hasResource(service)).isFalse();
+	}
+
+	@Test
+	void refreshesRunImmediatelyOutsideTransaction() {
+		TransactionSynchronizationManager.clearSynchronization();
+
+		service.refreshMonths(2L, YearMonth.of(2026, 1), YearMonth.of(2026, 1));
+
+		verify(rollupRepository).deleteMonths(2L, 2026, 1, 2026, 1);
+		verify(rollupRepository).insertMonths(2L, LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 31));
+	}
+
+	private static void complete(int status) {
+		List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+		if (status == TransactionSynchronization.STATUS_COMMITTED) {
+			synchronizations.forEach(TransactionSynchronization::afterCommit);
+		}
+		synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+	}
+}
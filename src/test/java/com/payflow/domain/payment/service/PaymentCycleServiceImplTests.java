@@ -0,0 +1,157 @@
+package com.payflow.domain.payment.service;
+
+import com.payflow.domain.notification.service.NotificationService;
+import com.payflow.domain.payment.dto.PaymentCyclePageResponse;
+import com.payflow.domain.payment.dto.PaymentCycleResponse;
+import com.payflow.domain.payment.entity.PaymentCycle;
+import com.payflow.domain.payment.entity.PaymentCycle.PaymentStatus;
+import com.payflow.domain.payment.repository.PaymentCycleRepository;
+import com.payflow.domain.payment.repository.PaymentCycleRepository.ExistingDueDate;
+import com.payflow.domain.subscription.entity.Subscription;
+import com.payflow.domain.subscription.entity.Subscription.CycleType;
+import com.payflow.domain.subscription.repository.SubscriptionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 구독 결제 이력 페이지에 저장된 결제 주기와 아직 저장되지 않은 미래 결제일(1년 이내)이 함께 나오고,
+ * 커서로 끝까지 넘겨도 빠지거나 겹치는 결제일이 없는지 확인
+ */
+class PaymentCycleServiceImplTests {
+
+	private static final long SUBSCRIPTION_ID = 1L;
+
+	private final PaymentCycleRepository paymentCycleRepository = mock(PaymentCycleRepository.class);
+	private final PaymentRecurrenceEngine recurrenceEngine = new PaymentRecurrenceEngine();
+	private PaymentCycleServiceImpl service;
+
+	private final Subscription subscription = Subscription.builder()
+			.subscriptionId(SUBSCRIPTION_ID)
+			.userId(7L)
+			.subscriptionsName("넷플릭스")
+			.amount(17_000)
+			.cycleType(CycleType.MONTHLY)
+			.billingDay(15)
+			.status(Subscription.Status.ACTIVE)
+			.build();
+
+	private final List<PaymentCycle> stored = new ArrayList<>();
+	private List<LocalDate> upcoming;
+
+	@BeforeEach
+	void setUp() {
+		service = new PaymentCycleServiceImpl(paymentCycleRepository, mock(SubscriptionRepository.class), recurrenceEngine,
+				mock(NotificationService.class), mock(MonthlySpendingRollupService.class), mock(PlatformTransactionManager.class));
+
+		// 다음 결제일 1건만 저장됨 + 지난 2번은 결제 완료
+		LocalDate today = LocalDate.now();
+		upcoming = recurrenceEngine.occurrencesBetween(subscription, today, today.plusYears(1));
+		LocalDate next = upcoming.get(0);
+		stored.add(cycle(30L, next, PaymentStatus.PENDING));
+		stored.add(cycle(20L, next.minusMonths(1), PaymentStatus.PAID));
+		stored.add(cycle(10L, next.minusMonths(2), PaymentStatus.PAID));
+
+		ExistingDueDate saved = mock(ExistingDueDate.class);
+		when(saved.getSubscriptionId()).thenReturn(SUBSCRIPTION_ID);
+		when(saved.getDueDate()).thenReturn(next);
+		when(paymentCycleRepository.findDueDatesFrom(anyList(), any(LocalDate.class))).thenReturn(List.of(saved));
+
+		when(paymentCycleRepository.findPageBySubscription(eq(SUBSCRIPTION_ID), any(), any(Pageable.class)))
+				.thenAnswer(invocation -> page(invocation.getArgument(1), null, null, invocation.getArgument(2)));
+		when(paymentCycleRepository.findPageBySubscriptionAfter(eq(SUBSCRIPTION_ID), any(), any(LocalDate.class), any(), any(Pageable.class)))
+				.thenAnswer(invocation -> page(invocation.getArgument(1), invocation.getArgument(2),
+						invocation.getArgument(3), invocation.getArgument(4)));
+	}
+
+	@Test
+	void pagesIncludeProjectedFutureCyclesNewestFirst() {
+		List<PaymentCycleResponse> all = new ArrayList<>();
+		String cursor = null;
+		do {
+			PaymentCyclePageResponse page = service.getPaymentCyclesBySubscription(subscription, null, cursor, 5);
+			assertThat(page.getPayments()).hasSizeLessThanOrEqualTo(5);
+			all.addAll(page.getPayments());
+			cursor = page.getNextCursor();
+			assertThat(page.isHasNext()).isEqualTo(cursor != null);
+		} while (cursor != null);
+
+		List<LocalDate> expectedDates = Stream.concat(
+						upcoming.stream(),
+						stored.stream().map(PaymentCycle::getDueDate))
+				.distinct()
+				.sorted(Comparator.reverseOrder())
+				.toList();
+		assertThat(all).extracting(PaymentCycleResponse::getDueDate).containsExactlyElementsOf(expectedDates);
+
+		// 저장되지 않은 결제일은 cycleId 없이 PENDING, 저장본은 그대로
+		assertThat(all.subList(0, upcoming.size() - 1))
+				.allSatisfy(response -> {
+					assertThat(response.getCycleId()).isNull();
+					assertThat(response.getStatus()).isEqualTo(PaymentStatus.PENDING);
+					assertThat(response.getSubscriptionName()).isEqualTo("넷플릭스");
+				});
+		assertThat(all.subList(upcoming.size() - 1, all.size()))
+				.extracting(PaymentCycleResponse::getCycleId)
+				.containsExactly(30L, 20L, 10L);
+	}
+
+	@Test
+	void statusFilterOtherThanPendingHasNoProjections() {
+		PaymentCyclePageResponse page = service.getPaymentCyclesBySubscription(subscription, PaymentStatus.PAID, null, 20);
+
+		assertThat(page.getPayments()).extracting(PaymentCycleResponse::getCycleId).containsExactly(20L, 10L);
+		assertThat(page.isHasNext()).isFalse();
+	}
+
+	@Test
+	void pausedSubscriptionHasNoProjections() {
+		Subscription paused = Subscription.builder()
+				.subscriptionId(SUBSCRIPTION_ID)
+				.cycleType(CycleType.MONTHLY)
+				.billingDay(15)
+				.status(Subscription.Status.PAUSED)
+				.build();
+
+		PaymentCyclePageResponse page = service.getPaymentCyclesBySubscription(paused, null, null, 20);
+
+		assertThat(page.getPayments()).extracting(PaymentCycleResponse::getCycleId).containsExactly(30L, 20L, 10L);
+	}
+
+	/**
+	 * findPageBySubscription(After) 쿼리와 같은 조건 (상태 필터, (dueDate, cycleId) 커서 이후, 최신순, limit)
+	 */
+	private List<PaymentCycle> page(PaymentStatus status, LocalDate cursorDueDate, Long cursorCycleId, Pageable pageable) {
+		return stored.stream()
+				.filter(cycle -> status == null || cycle.getStatus() == status)
+				.filter(cycle -> cursorDueDate == null
+						|| cycle.getDueDate().isBefore(cursorDueDate)
+						|| (cycle.getDueDate().equals(cursorDueDate) && cycle.getCycleId() < cursorCycleId))
+				.sorted(Comparator.comparing(PaymentCycle::getDueDate).thenComparing(PaymentCycle::getCycleId).reversed())
+				.limit(pageable.getPageSize())
+				.toList();
+	}
+
+	private static PaymentCycle cycle(Long cycleId, LocalDate dueDate, PaymentStatus status) {
+		return PaymentCycle.builder()
+				.cycleId(cycleId)
+				.subscriptionId(SUBSCRIPTION_ID)
+				.dueDate(dueDate)
+				.status(status)
+				.build();
+	}
+}
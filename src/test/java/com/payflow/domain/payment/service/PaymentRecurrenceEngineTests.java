@@ -0,0 +1,68 @@
+package com.payflow.domain.payment.service;
+
+import com.payflow.domain.subscription.entity.Subscription;
+import com.payflow.domain.subscription.entity.Subscription.CycleType;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PaymentRecurrenceEngineTests {
+
+	private final PaymentRecurrenceEngine engine = new PaymentRecurrenceEngine();
+
+	@Test
+	void monthlyClampsToLastDayOfMonth() {
+		Subscription sub = Subscription.builder().cycleType(CycleType.MONTHLY).billingDay(31).build();
+
+		List<LocalDate> dates = engine.occurrencesBetween(sub, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 4, 30));
+
+		assertThat(dates).containsExactly(
+				LocalDate.of(2024, 1, 31),
+				LocalDate.of(2024, 2, 29),
+				LocalDate.of(2024, 3, 31),
+				LocalDate.of(2024, 4, 30));
+	}
+
+	@Test
+	void monthlyExcludesDatesOutsideRange() {
+		Subscription sub = Subscription.builder().cycleType(CycleType.MONTHLY).billingDay(15).build();
+
+		List<LocalDate> dates = engine.occurrencesBetween(sub, LocalDate.of(2026, 1, 16), LocalDate.of(2026, 3, 14));
+
+		assertThat(dates).containsExactly(LocalDate.of(2026, 2, 15));
+	}
+
+	@Test
+	void weeklyStartsOnFirstMatchingWeekday() {
+		// 2026-01-01은 목요일, billingWeekday=1 (월요일)
+		Subscription sub = Subscription.builder().cycleType(CycleType.WEEKLY).billingWeekday(1).build();
+
+		List<LocalDate> dates = engine.occurrencesBetween(sub, LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 19));
+
+		assertThat(dates).containsExactly(
+				LocalDate.of(2026, 1, 5),
+				LocalDate.of(2026, 1, 12),
+				LocalDate.of(2026, 1, 19));
+	}
+
+	@Test
+	void yearlyFeb29FallsBackInCommonYears() {
+		Subscription sub = Subscription.builder().cycleType(CycleType.YEARLY).billingMonth(2).billingDate(29).build();
+
+		List<LocalDate> dates = engine.occurrencesBetween(sub, LocalDate.of(2027, 1, 1), LocalDate.of(2028, 12, 31));
+
+		assertThat(dates).containsExactly(LocalDate.of(2027, 2, 28), LocalDate.of(2028, 2, 29));
+	}
+
+	@Test
+	void missingBillingDayIsRejected() {
+		Subscription sub = Subscription.builder().cycleType(CycleType.MONTHLY).build();
+
+		assertThatThrownBy(() -> engine.occurrencesBetween(sub, LocalDate.of(2026, 1, 1), LocalDate.of(2026, 2, 1)))
+				.isInstanceOf(IllegalStateException.class);
+	}
+}
@@ -0,0 +1,56 @@
+package com.payflow.global.config;
+
+import com.payflow.global.util.JwtUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Actuator는 health만 공개, 메트릭은 운영자(payflow.security.admin-user-ids) JWT로만 조회되는지 확인
+ */
+@SpringBootTest(properties = "payflow.security.admin-user-ids=9101")
+@AutoConfigureMockMvc
+class ActuatorSecurityTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JwtUtil jwtUtil;
+
+	@Test
+	void healthIsPublic() throws Exception {
+		// 테스트 환경의 Redis/메일 상태에 따라 200 또는 503 → 인증 거부만 아니면 됨
+		int status = mockMvc.perform(get("/actuator/health")).andReturn().getResponse().getStatus();
+
+		assertThat(status).isNotIn(401, 403);
+	}
+
+	@Test
+	void metricsRequireAuthentication() throws Exception {
+		mockMvc.perform(get("/actuator/metrics"))
+				.andExpect(status().isForbidden());
+	}
+
+	@Test
+	void metricsAreForbiddenForRegularUsers() throws Exception {
+		mockMvc.perform(get("/actuator/metrics").header("Authorization", bearer(9102L)))
+				.andExpect(status().isForbidden());
+	}
+
+	@Test
+	void metricsAreAvailableToAdmins() throws Exception {
+		mockMvc.perform(get("/actuator/metrics").header("Authorization", bearer(9101L)))
+				.andExpect(status().isOk());
+	}
+
+	private String bearer(Long userId) {
+		return "Bearer " + jwtUtil.generateAccessToken(userId, "user" + userId + "@payflow.test");
+	}
+}
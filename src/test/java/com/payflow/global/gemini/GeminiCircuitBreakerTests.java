@@ -0,0 +1,63 @@
+package com.payflow.global.gemini;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GeminiCircuitBreakerTests {
+
+	@Test
+	void opensAfterConsecutiveFailures() {
+		GeminiCircuitBreaker breaker = new GeminiCircuitBreaker(3, Duration.ofMinutes(1));
+
+		for (int i = 0; i < 3; i++) {
+			assertThat(breaker.tryAcquirePermission()).isTrue();
+			breaker.onFailure();
+		}
+
+		assertThat(breaker.getState()).isEqualTo(GeminiCircuitBreaker.State.OPEN);
+		assertThat(breaker.tryAcquirePermission()).isFalse();
+	}
+
+	@Test
+	void successResetsFailureCount() {
+		GeminiCircuitBreaker breaker = new GeminiCircuitBreaker(3, Duration.ofMinutes(1));
+
+		breaker.onFailure();
+		breaker.onFailure();
+		breaker.onSuccess();
+		breaker.onFailure();
+
+		assertThat(breaker.getState()).isEqualTo(GeminiCircuitBreaker.State.CLOSED);
+	}
+
+	@Test
+	void halfOpenAllowsSingleTrialAndClosesOnSuccess() throws InterruptedException {
+		GeminiCircuitBreaker breaker = new GeminiCircuitBreaker(1, Duration.ofMillis(50));
+		breaker.onFailure();
+		Thread.sleep(80);
+
+		assertThat(breaker.tryAcquirePermission()).isTrue();
+		assertThat(breaker.getState()).isEqualTo(GeminiCircuitBreaker.State.HALF_OPEN);
+		assertThat(breaker.tryAcquirePermission()).isFalse();
+
+		breaker.onSuccess();
+		assertThat(breaker.getState()).isEqualTo(GeminiCircuitBreaker.State.CLOSED);
+		assertThat(breaker.tryAcquirePermission()).isTrue();
+	}
+
+	@Test
+	void failedTrialReopens() throws InterruptedException {
+		GeminiCircuitBreaker breaker = new GeminiCircuitBreaker(1, Duration.ofMillis(50));
+		breaker.onFailure();
+		Thread.sleep(80);
+
+		assertThat(breaker.tryAcquirePermission()).isTrue();
+		breaker.onFailure();
+
+		assertThat(breaker.getState()).isEqualTo(GeminiCircuitBreaker.State.OPEN);
+		assertThat(breaker.tryAcquirePermission()).isFalse();
+	}
+}
@@ -0,0 +1,90 @@
+package com.payflow.global.gemini;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 스트리밍 호출 전체 타임아웃
+ * 청크가 응답 타임아웃보다 짧은 간격으로 계속 와도(청크 사이 타임아웃이 계속 초기화) totalTimeout에서 끊김
+ */
+class GeminiClientStreamTests {
+
+	private static final String CHUNK = "data: {\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"분석 중\"}]}}]}\n\n";
+
+	private HttpServer server;
+	private ExecutorService serverExecutor;
+
+	@BeforeEach
+	void startServer() throws IOException {
+		serverExecutor = Executors.newCachedThreadPool();
+		server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.setExecutor(serverExecutor);
+		// 100ms마다 청크 1개, 끝나지 않는 스트림
+		server.createContext("/", exchange -> {
+			exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+			exchange.sendResponseHeaders(200, 0);
+			try (OutputStream body = exchange.getResponseBody()) {
+				for (int i = 0; i < 100; i++) {
+					body.write(CHUNK.getBytes(StandardCharsets.UTF_8));
+					body.flush();
+					Thread.sleep(100);
+				}
+			} catch (IOException | InterruptedException e) {
+				// 클라이언트가 끊음
+			}
+		});
+		server.start();
+	}
+
+	@AfterEach
+	void stopServer() {
+		server.stop(0);
+		serverExecutor.shutdownNow();
+	}
+
+	@Test
+	void slowStreamIsCutAtTotalTimeout() {
+		// 응답(청크 사이) 타임아웃 1초, 전체 타임아웃 500ms
+		GeminiClient client = new GeminiClient(
+				"http://localhost:" + server.getAddress().getPort() + "/v1beta/models/test:generateContent",
+				10, 2000, 2000, 1000, 20, 0, 300, 500, 5, 30);
+		ReflectionTestUtils.setField(client, "apiKey", "test-key");
+
+		long start = System.nanoTime();
+		assertThatThrownBy(() -> client.streamGemini("프롬프트").collectList().block(Duration.ofSeconds(5)))
+				.isInstanceOfSatisfying(GeminiException.class,
+						e -> assertThat(e.getReason()).isEqualTo(GeminiException.Reason.TIMEOUT));
+
+		assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+	}
+
+	@Test
+	void streamDeliversChunksBeforeTotalTimeout() {
+		GeminiClient client = new GeminiClient(
+				"http://localhost:" + server.getAddress().getPort() + "/v1beta/models/test:generateContent",
+				10, 2000, 2000, 1000, 20, 0, 300, 500, 5, 30);
+		ReflectionTestUtils.setField(client, "apiKey", "test-key");
+
+		List<String> chunks = client.streamGemini("프롬프트")
+				.onErrorComplete()
+				.collectList()
+				.block(Duration.ofSeconds(5));
+
+		assertThat(chunks).isNotEmpty().allMatch("분석 중"::equals);
+	}
+}
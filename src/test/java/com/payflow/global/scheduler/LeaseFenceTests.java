@@ -0,0 +1,90 @@
+package com.payflow.global.scheduler;
+
+import com.payflow.global.redis.RedisLeaseService.Lease;
+import com.payflow.global.scheduler.LeaseFence.Fence;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 펜싱 토큰 (MySQL lease_fences)
+ * - 새 소유자가 토큰을 받은 뒤 이전 소유자의 청크는 실행/커밋되지 않음
+ * - 이전 소유자의 청크가 진행 중이면 새 토큰 발급은 그 청크가 커밋될 때까지 대기 (쓰기 순서가 토큰 순서와 같음)
+ */
+@SpringBootTest
+class LeaseFenceTests {
+
+	private static final String LEASE_NAME = "test:lease-fence";
+
+	@Autowired
+	private LeaseFence leaseFence;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@AfterEach
+	void tearDown() {
+		jdbcTemplate.update("DELETE FROM lease_fences WHERE lease_name = ?", LEASE_NAME);
+	}
+
+	@Test
+	void staleOwnerCannotCommitAfterNewOwnerAcquires() {
+		Fence stale = leaseFence.acquire(lease("instance-a", 1L));
+		Fence current = leaseFence.acquire(lease("instance-b", 2L));
+		AtomicBoolean staleChunkRan = new AtomicBoolean();
+
+		assertThat(current.token()).isGreaterThan(stale.token());
+		assertThatThrownBy(() -> stale.inTransaction(() -> {
+			staleChunkRan.set(true);
+			return 1;
+		})).isInstanceOf(LeaseLostException.class);
+		assertThat(staleChunkRan).isFalse();
+		assertThat(current.inTransaction(() -> 1)).isEqualTo(1);
+	}
+
+	@Test
+	void newTokenWaitsForInFlightChunkToCommit() throws Exception {
+		Fence first = leaseFence.acquire(lease("instance-a", 1L));
+		CountDownLatch chunkStarted = new CountDownLatch(1);
+		CountDownLatch finishChunk = new CountDownLatch(1);
+
+		CompletableFuture<Integer> chunk = CompletableFuture.supplyAsync(() -> first.inTransaction(() -> {
+			chunkStarted.countDown();
+			await(finishChunk);
+			return 1;
+		}));
+		assertThat(chunkStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+		CompletableFuture<Fence> second = CompletableFuture.supplyAsync(() -> leaseFence.acquire(lease("instance-b", 2L)));
+		Thread.sleep(300);
+		assertThat(second).isNotDone();
+
+		finishChunk.countDown();
+		assertThat(chunk.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+		assertThat(second.get(5, TimeUnit.SECONDS).token()).isEqualTo(first.token() + 1);
+		assertThatThrownBy(() -> first.inTransaction(() -> 1)).isInstanceOf(LeaseLostException.class);
+	}
+
+	private static Lease lease(String owner, long token) {
+		return new Lease(LEASE_NAME, LEASE_NAME, owner, token, System.nanoTime());
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(10, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -0,0 +1,182 @@
+package com.payflow.global.scheduler;
+
+import com.payflow.global.redis.RedisLeaseService;
+import com.payflow.global.redis.RedisLeaseService.Lease;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 인스턴스 여러 개(PartitionedJobRunner 여러 개)가 리스 저장소 하나를 공유할 때
+ * 파티션이 정확히 1번씩 완료되고, 실패한 파티션은 완료 표시 없이 해제되어 다시 처리되는지 확인
+ * (Redis 대신 같은 의미의 메모리 리스 저장소 사용, 실제 파티션 쿼리 성능은 RepositoryIndexUsageTests 참고)
+ */
+class PartitionedJobRunnerTests {
+
+	private static final int PARTITIONS = 16;
+	private static final int THREADS_PER_INSTANCE = 2;
+
+	private final Map<String, String> leases = new ConcurrentHashMap<>();
+	private final AtomicLong token = new AtomicLong();
+	private final List<ExecutorService> executors = new ArrayList<>();
+	private RedisLeaseService leaseService;
+
+	@BeforeEach
+	void setUp() {
+		leaseService = mock(RedisLeaseService.class);
+		when(leaseService.tryAcquire(anyString(), anyString(), any(Duration.class))).thenAnswer(invocation -> {
+			String name = invocation.getArgument(0);
+			String owner = Thread.currentThread().getName();
+			if (leases.putIfAbsent(name, owner) != null) {
+				return Optional.empty();
+			}
+			return Optional.of(new Lease(name, invocation.getArgument(1), owner, token.incrementAndGet(), System.nanoTime()));
+		});
+		when(leaseService.renew(any(Lease.class), any(Duration.class))).thenReturn(true);
+		when(leaseService.isCompleted(anyString())).thenAnswer(invocation -> "done".equals(leases.get(invocation.<String>getArgument(0))));
+		doAnswer(invocation -> leases.put(invocation.<Lease>getArgument(0).name(), "done"))
+				.when(leaseService).complete(any(Lease.class), any(Duration.class));
+		doAnswer(invocation -> leases.remove(invocation.<Lease>getArgument(0).name()))
+				.when(leaseService).release(any(Lease.class));
+	}
+
+	@AfterEach
+	void tearDown() {
+		executors.forEach(ExecutorService::shutdownNow);
+	}
+
+	@Test
+	void everyPartitionIsProcessedOnceAcrossInstances() {
+		Map<Integer, Integer> processedBy = new ConcurrentHashMap<>();
+		List<PartitionedJobRunner> instances = List.of(newInstance(), newInstance(), newInstance());
+
+		List<CompletableFuture<Integer>> runs = new ArrayList<>();
+		for (PartitionedJobRunner instance : instances) {
+			runs.add(CompletableFuture.supplyAsync(() -> instance.run("test-job", LocalDate.of(2026, 1, 1),
+					(partition, partitionCount, keepGoing, fence) -> {
+						processedBy.merge(partition, 1, Integer::sum);
+						sleep(5);
+						return 1;
+					})));
+		}
+		runs.forEach(CompletableFuture::join);
+
+		assertThat(processedBy).hasSize(PARTITIONS);
+		assertThat(processedBy.values()).containsOnly(1);
+	}
+
+	@Test
+	void failedPartitionIsReleasedAndRetriedUntilDone() {
+		Map<Integer, Integer> attempts = new ConcurrentHashMap<>();
+		List<PartitionedJobRunner> instances = List.of(newInstance(), newInstance());
+
+		List<CompletableFuture<Integer>> runs = new ArrayList<>();
+		for (PartitionedJobRunner instance : instances) {
+			runs.add(CompletableFuture.supplyAsync(() -> instance.run("failing-job", LocalDate.of(2026, 1, 1),
+					(partition, partitionCount, keepGoing, fence) -> {
+						// 3번 파티션은 처음 2번 실패 (청크 처리 중 DB 오류 등)
+						if (attempts.merge(partition, 1, Integer::sum) <= 2 && partition == 3) {
+							throw new IllegalStateException("chunk failed");
+						}
+						return 1;
+					})));
+		}
+		int processed = runs.stream().mapToInt(CompletableFuture::join).sum();
+
+		assertThat(processed).isEqualTo(PARTITIONS);
+		assertThat(attempts.get(3)).isEqualTo(3);
+		assertThat(leases).hasSize(PARTITIONS);
+		assertThat(leases.values()).containsOnly("done");
+	}
+
+	@Test
+	void fencedOutPartitionIsReleasedAndRetried() {
+		Map<Integer, Integer> attempts = new ConcurrentHashMap<>();
+
+		int processed = newInstance().run("fenced-job", LocalDate.of(2026, 1, 1),
+				(partition, partitionCount, keepGoing, fence) -> {
+					// 5번 파티션은 처음 한 번 다른 소유자에게 펜싱 토큰을 뺏김 (청크 롤백)
+					if (attempts.merge(partition, 1, Integer::sum) == 1 && partition == 5) {
+						throw new LeaseLostException("partition:fenced-job:2026-01-01:5", 1L);
+					}
+					return 1;
+				});
+
+		assertThat(processed).isEqualTo(PARTITIONS);
+		assertThat(attempts.get(5)).isEqualTo(2);
+		assertThat(leases.values()).containsOnly("done");
+	}
+
+	@Test
+	void jobIsCompletedOnlyWhenEveryPartitionIsDone() {
+		PartitionedJobRunner instance = newInstance();
+		LocalDate runDate = LocalDate.of(2026, 1, 1);
+		for (int partition = 0; partition < PARTITIONS - 1; partition++) {
+			leases.put("partition:daily-reminders:" + runDate + ":" + partition, "done");
+		}
+
+		// 다이제스트 발송은 마지막 파티션이 끝날 때까지 보류되어야 함
+		assertThat(instance.isCompleted("daily-reminders", runDate)).isFalse();
+
+		instance.run("daily-reminders", runDate, (partition, partitionCount, keepGoing, fence) -> 1);
+
+		assertThat(instance.isCompleted("daily-reminders", runDate)).isTrue();
+		assertThat(instance.isCompleted("daily-reminders", runDate.plusDays(1))).isFalse();
+	}
+
+	@Test
+	void stopsRetryingAfterMaxDuration() {
+		PartitionedJobRunner instance = newInstance();
+		ReflectionTestUtils.setField(instance, "maxDurationMinutes", 0L);
+
+		int processed = instance.run("always-failing-job", LocalDate.of(2026, 1, 1),
+				(partition, partitionCount, keepGoing, fence) -> {
+					throw new IllegalStateException("chunk failed");
+				});
+
+		assertThat(processed).isZero();
+		assertThat(leases).isEmpty();
+	}
+
+	private PartitionedJobRunner newInstance() {
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS_PER_INSTANCE);
+		executors.add(executor);
+
+		PartitionedJobRunner runner = new PartitionedJobRunner(leaseService, mock(LeaseFence.class), executor);
+		ReflectionTestUtils.setField(runner, "partitionCount", PARTITIONS);
+		ReflectionTestUtils.setField(runner, "threads", THREADS_PER_INSTANCE);
+		ReflectionTestUtils.setField(runner, "leaseTtlSeconds", 60L);
+		ReflectionTestUtils.setField(runner, "retryIntervalMillis", 10L);
+		ReflectionTestUtils.setField(runner, "maxDurationMinutes", 1L);
+		return runner;
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -0,0 +1,129 @@
+package com.payflow.payflow;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ddl-auto=update로 만들어져 데이터가 들어 있는 기존 DB에 마이그레이션 적용
+ * (application.properties의 baseline-on-migrate + baseline-version=1 → V1은 건너뛰고 V2부터 실행)
+ *
+ * - 기존 스키마: V1과 같은 테이블에서 id_sequences 없음 + cycle_id AUTO_INCREMENT (PaymentCycle이 IDENTITY이던 시절)
+ * - 중복 PENDING 결제 주기/중복 알림이 있어도 UNIQUE 추가 마이그레이션이 정리 후 통과하는지 확인
+ *
+ * 같은 MySQL 서버에 전용 스키마를 만들고 끝나면 삭제
+ */
+@SpringBootTest
+class FlywayBaselineUpgradeTests {
+
+	private static final String SCHEMA = "payflow_baseline_upgrade_test";
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void createLegacySchema() throws Exception {
+		dropSchema();
+		jdbcTemplate.execute("CREATE DATABASE " + SCHEMA);
+
+		try (Connection connection = dataSource.getConnection()) {
+			connection.setCatalog(SCHEMA);
+			ScriptUtils.executeSqlScript(connection, new ByteArrayResource(legacyDdl().getBytes(StandardCharsets.UTF_8)));
+			try (Statement statement = connection.createStatement()) {
+				statement.execute("ALTER TABLE payment_cycles MODIFY cycle_id BIGINT NOT NULL AUTO_INCREMENT");
+
+				statement.execute("INSERT INTO users (user_id, email, password, name, created_at) VALUES "
+						+ "(1, 'legacy-1@payflow.test', 'x', '기존 사용자1', NOW(6)), "
+						+ "(2, 'legacy-2@payflow.test', 'x', '기존 사용자2', NOW(6))");
+				statement.execute("INSERT INTO subscriptions (subscription_id, user_id, subscriptions_name, subscriptions_category, amount, cycle_type, billing_day) VALUES "
+						+ "(10, 1, '넷플릭스', 'OTT', 17000, 'MONTHLY', 15), "
+						+ "(11, 1, '멜론', NULL, 10900, 'MONTHLY', 1), "
+						+ "(20, 2, '유튜브 프리미엄', 'OTT', 14900, 'MONTHLY', 3)");
+				// 1234: 같은 (구독, 결제일)에 뒤늦게 만들어진 PENDING 중복 → V7이 알림과 함께 삭제
+				statement.execute("INSERT INTO payment_cycles (cycle_id, subscription_id, due_date, status, paid_amount) VALUES "
+						+ "(1000, 10, '2026-01-15', 'PAID', 17000), "
+						+ "(1001, 10, '2026-02-15', 'PENDING', 0), "
+						+ "(1002, 11, '2026-02-01', 'OVERDUE', 0), "
+						+ "(1003, 20, '2026-02-03', 'PENDING', 0), "
+						+ "(1234, 10, '2026-02-15', 'PENDING', 0)");
+				// 같은 (결제 주기, 타입) 알림 2건 → V4가 먼저 만들어진 1건만 남김
+				statement.execute("INSERT INTO notifications (user_id, payment_cycle_id, type, message, sent) VALUES "
+						+ "(1, 1001, 'D3_REMINDER', '3일 후 결제', 1), "
+						+ "(1, 1001, 'D3_REMINDER', '3일 후 결제', 1), "
+						+ "(1, 1234, 'D1_REMINDER', '내일 결제', 0), "
+						+ "(1, 1002, 'OVERDUE', '연체', 1)");
+			}
+		}
+	}
+
+	@AfterEach
+	void dropSchema() {
+		jdbcTemplate.execute("DROP DATABASE IF EXISTS " + SCHEMA);
+	}
+
+	@Test
+	void migratesPopulatedDdlAutoSchemaFromBaseline() {
+		Flyway flyway = Flyway.configure()
+				.dataSource(dataSource)
+				.schemas(SCHEMA)
+				.locations("classpath:db/migration")
+				.baselineOnMigrate(true)
+				.baselineVersion("1")
+				.load();
+
+		MigrateResult result = flyway.migrate();
+
+		assertThat(result.success).isTrue();
+		assertThat(flyway.info().pending()).isEmpty();
+		assertThat(jdbcTemplate.queryForObject(
+				"SELECT type FROM " + SCHEMA + ".flyway_schema_history WHERE version = '1'", String.class))
+				.isEqualTo("BASELINE");
+
+		// pooled ID 생성기가 기존 최대 cycle_id 이후부터 할당
+		assertThat(jdbcTemplate.queryForObject(
+				"SELECT next_val FROM " + SCHEMA + ".id_sequences WHERE sequence_name = 'payment_cycles'", Long.class))
+				.isEqualTo(1234L + 100);
+
+		assertThat(jdbcTemplate.queryForList(
+				"SELECT cycle_id FROM " + SCHEMA + ".payment_cycles ORDER BY cycle_id", Long.class))
+				.containsExactly(1000L, 1001L, 1002L, 1003L);
+		assertThat(jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM " + SCHEMA + ".notifications", Integer.class))
+				.isEqualTo(2);
+
+		// 기존 결제 주기로 월별 집계 초기화
+		assertThat(jdbcTemplate.queryForObject(
+				"SELECT scheduled_amount FROM " + SCHEMA + ".monthly_spending_rollup WHERE user_id = 2 AND year = 2026 AND month = 2",
+				Integer.class))
+				.isEqualTo(14900);
+	}
+
+	/**
+	 * V1에서 id_sequences만 뺀 스키마 (ddl-auto=update가 만들던 테이블)
+	 */
+	private static String legacyDdl() throws IOException {
+		String baseline = new ClassPathResource("db/migration/V1__baseline.sql").getContentAsString(StandardCharsets.UTF_8);
+		String legacy = baseline.replaceAll("(?s)CREATE TABLE IF NOT EXISTS id_sequences \\(.*?\\) ENGINE = InnoDB;", "");
+		assertThat(legacy).doesNotContain("id_sequences (");
+		return legacy;
+	}
+}
@@ -0,0 +1,167 @@
+package com.payflow.payflow;
+
+import com.payflow.domain.payment.entity.PaymentCycle;
+import com.payflow.domain.payment.repository.PaymentCycleRepository;
+import com.payflow.domain.payment.repository.PaymentCycleRepository.ReminderTarget;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 리마인더/연체 파티션 쿼리가 파티션 수에 비례해 일을 나누는지 (실제 리포지토리 쿼리 + MySQL Handler_read_* 카운터)
+ *
+ * - 전체를 한 번에 조회(파티션 1개)할 때 읽은 행 수 vs 16개 파티션 각각이 읽은 행 수
+ * - 파티션 하나가 전체의 1/16 근처만 읽어야 인스턴스/스레드를 늘린 만큼 빨라짐 (near-linear speedup)
+ *   MOD(subscription_id, n) 잔여 필터였을 때는 파티션마다 (status, due_date) 범위 전체를 다시 읽었음
+ * - 파티션 결과는 서로 겹치지 않고 합치면 전체 결과와 같음
+ *
+ * 벽시계 시간 대신 읽은 행 수로 비교 (공유 MySQL에서 시간 측정은 흔들림)
+ * 테스트 데이터는 2001년 결제일(다른 테스트 데이터와 겹치지 않음), cycle_id 9_500_000_000번대 → 끝나면 삭제
+ */
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PartitionedQueryScalingTests {
+
+	private static final int PARTITIONS = 16;
+	private static final int SUBSCRIPTIONS = 640;
+	private static final long SEED_CYCLE_ID = 9_500_000_000L;
+	private static final String SEED_EMAIL = "partition-scaling@payflow.test";
+
+	private static final LocalDate D1_DATE = LocalDate.of(2001, 6, 2);
+	private static final LocalDate D3_DATE = LocalDate.of(2001, 6, 4);
+	private static final LocalDate OVERDUE_BEFORE = LocalDate.of(2002, 1, 1);
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private PaymentCycleRepository paymentCycleRepository;
+
+	@BeforeAll
+	void seed() {
+		cleanUp();
+
+		jdbcTemplate.update("INSERT INTO users (email, password, name, created_at) VALUES (?, 'scaling', 'scaling', NOW(6))", SEED_EMAIL);
+		Long userId = jdbcTemplate.queryForObject("SELECT user_id FROM users WHERE email = ?", Long.class, SEED_EMAIL);
+
+		List<Object[]> subscriptions = new ArrayList<>();
+		for (int i = 0; i < SUBSCRIPTIONS; i++) {
+			subscriptions.add(new Object[]{userId, "partition-scaling-" + i});
+		}
+		jdbcTemplate.batchUpdate("INSERT INTO subscriptions (user_id, subscriptions_name, amount, currency, cycle_type, "
+				+ "billing_day, reminder_d3, reminder_d1, status) VALUES (?, ?, 9900, 'KRW', 'MONTHLY', 2, 1, 1, 'ACTIVE')", subscriptions);
+		List<Long> subscriptionIds = jdbcTemplate.queryForList(
+				"SELECT subscription_id FROM subscriptions WHERE user_id = ? ORDER BY subscription_id", Long.class, userId);
+
+		// 구독마다 2001년 PENDING 12건 (1~5월 10건 + D-1/D-3 결제일)
+		List<Object[]> cycles = new ArrayList<>();
+		long cycleId = SEED_CYCLE_ID;
+		for (Long subscriptionId : subscriptionIds) {
+			for (int i = 0; i < 10; i++) {
+				cycles.add(new Object[]{cycleId++, subscriptionId, LocalDate.of(2001, 1 + i / 2, 1 + (i % 2) * 14)});
+			}
+			cycles.add(new Object[]{cycleId++, subscriptionId, D1_DATE});
+			cycles.add(new Object[]{cycleId++, subscriptionId, D3_DATE});
+		}
+		jdbcTemplate.batchUpdate("INSERT INTO payment_cycles (cycle_id, subscription_id, due_date, status, paid_amount) "
+				+ "VALUES (?, ?, ?, 'PENDING', 0)", cycles);
+
+		jdbcTemplate.execute("ANALYZE TABLE users, subscriptions, payment_cycles");
+	}
+
+	@AfterAll
+	void cleanUp() {
+		jdbcTemplate.update("DELETE FROM payment_cycles WHERE cycle_id >= ?", SEED_CYCLE_ID);
+		jdbcTemplate.update("DELETE s FROM subscriptions s JOIN users u ON s.user_id = u.user_id WHERE u.email = ?", SEED_EMAIL);
+		jdbcTemplate.update("DELETE FROM users WHERE email = ?", SEED_EMAIL);
+	}
+
+	@Test
+	void overdueScanSplitsWorkAcrossPartitions() {
+		assertNearLinearSpeedup(keys -> paymentCycleRepository.findPendingIdsDueBefore(
+				OVERDUE_BEFORE, keys, PageRequest.of(0, SUBSCRIPTIONS * 12)));
+	}
+
+	@Test
+	void reminderScanSplitsWorkAcrossPartitions() {
+		assertNearLinearSpeedup(keys -> paymentCycleRepository.findReminderTargets(
+						D1_DATE, D3_DATE, keys, 0L, PageRequest.of(0, SUBSCRIPTIONS * 2)).stream()
+				.map(ReminderTarget::getCycleId)
+				.toList());
+	}
+
+	/**
+	 * 파티션 1개(전체)와 PARTITIONS개 파티션의 읽은 행 수/결과 비교
+	 */
+	private void assertNearLinearSpeedup(Function<List<Integer>, List<Long>> query) {
+		Measured whole = measure(() -> query.apply(PaymentCycle.partitionKeys(0, 1)));
+		assertThat(whole.ids()).isNotEmpty();
+
+		Set<Long> union = new HashSet<>();
+		long totalReads = 0;
+		long maxReads = 0;
+		for (int partition = 0; partition < PARTITIONS; partition++) {
+			List<Integer> keys = PaymentCycle.partitionKeys(partition, PARTITIONS);
+			Measured part = measure(() -> query.apply(keys));
+
+			assertThat(part.ids()).as("파티션 %d 결과가 다른 파티션과 겹침", partition)
+					.doesNotContainAnyElementsOf(union);
+			union.addAll(part.ids());
+			totalReads += part.rowsRead();
+			maxReads = Math.max(maxReads, part.rowsRead());
+		}
+
+		assertThat(union).containsExactlyInAnyOrderElementsOf(whole.ids());
+		// 파티션을 다 합쳐도 전체 조회 1번과 비슷하게 읽음 (파티션마다 같은 범위를 다시 읽지 않음)
+		assertThat(totalReads).as("파티션 합계 %d / 전체 %d", totalReads, whole.rowsRead())
+				.isLessThanOrEqualTo(whole.rowsRead() * 3 / 2);
+		// 가장 무거운 파티션 기준 속도 향상이 파티션 수의 절반 이상
+		assertThat(whole.rowsRead() / Math.max(maxReads, 1)).as("최대 파티션 %d / 전체 %d", maxReads, whole.rowsRead())
+				.isGreaterThanOrEqualTo(PARTITIONS / 2);
+	}
+
+	/**
+	 * 같은 커넥션에서 쿼리 전후 Handler_read_* 합계 차이 (상태 조회 자체의 증가분은 뺌)
+	 */
+	private Measured measure(Supplier<List<Long>> query) {
+		return transactionTemplate.execute(status -> {
+			long overheadStart = handlerReads();
+			long overhead = handlerReads() - overheadStart;
+
+			long before = handlerReads();
+			List<Long> ids = query.get();
+			long rowsRead = handlerReads() - before - overhead;
+			return new Measured(ids, rowsRead);
+		});
+	}
+
+	private long handlerReads() {
+		return jdbcTemplate.query("SHOW SESSION STATUS LIKE 'Handler_read%'",
+						(rs, rowNum) -> rs.getLong("Value"))
+				.stream()
+				.mapToLong(Long::longValue)
+				.sum();
+	}
+
+	private record Measured(List<Long> ids, long rowsRead) {
+	}
+}
@@ -0,0 +1,549 @@
+package com.payflow.payflow;
+
+import com.payflow.domain.ai.repository.AIInsightRepository;
+import com.payflow.domain.notification.entity.Notification.NotificationType;
+import com.payflow.domain.notification.repository.NotificationRepository;
+import com.payflow.domain.payment.entity.PaymentCycle;
+import com.payflow.domain.payment.entity.PaymentCycle.PaymentStatus;
+import com.payflow.domain.payment.repository.MonthlySpendingRollupRepository;
+import com.payflow.domain.payment.repository.PaymentCycleRepository;
+import com.payflow.domain.subscription.entity.Subscription;
+import com.payflow.domain.subscription.repository.SubscriptionRepository;
+import com.payflow.domain.user.repository.UserRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ColumnMapRowMapper;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 리포지토리 쿼리가 실제로 실행하는 SQL(Hibernate 생성 SQL/네이티브 쿼리 + 바인딩 값)의 EXPLAIN key 컬럼 확인
+ *
+ * - DataSource를 감싸서 리포지토리 메서드 호출 시 PreparedStatement SQL과 바인딩 값을 그대로 기록 → 같은 값으로 EXPLAIN
+ * - 빈 테이블에서는 옵티마이저가 풀스캔을 고르므로 인덱스가 유리해지는 양(사용자 40명 × 구독 10개 × 결제 주기 24개 등)을 넣고 ANALYZE
+ * - 같은 subscription_id 범위를 똑같이 좁히는 인덱스가 둘인 경우(uk / idx_subscription_status)만 둘 중 하나를 허용
+ *
+ * 테스트 데이터는 user_id 9_400_000번대(사용자 행은 index-usage-*@payflow.test), cycle_id 9_400_000_000번대 → 끝나면 삭제, 변경 쿼리는 롤백
+ * (고유 키 const 조회는 없는 값이면 EXPLAIN이 테이블을 건너뛰므로 실제로 있는 행으로 호출)
+ */
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class RepositoryIndexUsageTests {
+
+	private static final long SEED_USER_ID = 9_400_001L;
+	private static final int USERS = 40;
+	private static final int SUBSCRIPTIONS_PER_USER = 10;
+	private static final int MONTHS_BEFORE = 12;
+	private static final int MONTHS_AFTER = 12;
+	private static final long SEED_CYCLE_ID = 9_400_000_000L;
+
+	private static final String UK_CYCLE_SUBSCRIPTION_DUE_DATE = "uk_payment_cycles_subscription_due_date";
+	private static final String IDX_CYCLE_SUBSCRIPTION_STATUS = "idx_payment_cycles_subscription_status";
+	private static final String IDX_CYCLE_STATUS_PARTITION_DUE_DATE = "idx_payment_cycles_status_partition_due_date";
+	private static final String IDX_SUBSCRIPTION_USER_STATUS = "idx_subscriptions_user_status";
+
+	private static final ThreadLocal<List<CapturedQuery>> capturing = new ThreadLocal<>();
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private PaymentCycleRepository paymentCycleRepository;
+
+	@Autowired
+	private NotificationRepository notificationRepository;
+
+	@Autowired
+	private SubscriptionRepository subscriptionRepository;
+
+	@Autowired
+	private AIInsightRepository aiInsightRepository;
+
+	@Autowired
+	private MonthlySpendingRollupRepository rollupRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	private final LocalDate today = LocalDate.now();
+	private List<Long> seedUserIds;
+	private List<Long> seedSubscriptionIds;
+	private List<Long> seedCycleIds;
+
+	@BeforeAll
+	void seed() {
+		cleanUp();
+
+		List<Object[]> users = new ArrayList<>();
+		for (int user = 0; user < USERS; user++) {
+			users.add(new Object[]{"index-usage-" + user + "@payflow.test"});
+		}
+		jdbcTemplate.batchUpdate("INSERT INTO users (email, password, name, created_at) VALUES (?, 'index-usage', 'index-usage', NOW(6))", users);
+		seedUserIds = jdbcTemplate.queryForList(
+				"SELECT user_id FROM users WHERE email LIKE 'index-usage-%@payflow.test' ORDER BY user_id", Long.class);
+
+		List<Object[]> subscriptions = new ArrayList<>();
+		for (int user = 0; user < USERS; user++) {
+			for (int i = 0; i < SUBSCRIPTIONS_PER_USER; i++) {
+				subscriptions.add(new Object[]{SEED_USER_ID + user, "index-usage-" + user + "-" + i,
+						i % 2 == 0 ? "OTT" : null, 9_900 + i, 1 + (user * SUBSCRIPTIONS_PER_USER + i) % 28});
+			}
+		}
+		jdbcTemplate.batchUpdate("INSERT INTO subscriptions (user_id, subscriptions_name, subscriptions_category, amount, "
+				+ "currency, cycle_type, billing_day, reminder_d3, reminder_d1, status) "
+				+ "VALUES (?, ?, ?, ?, 'KRW', 'MONTHLY', ?, 1, 1, 'ACTIVE')", subscriptions);
+		seedSubscriptionIds = jdbcTemplate.queryForList(
+				"SELECT subscription_id FROM subscriptions WHERE user_id BETWEEN ? AND ? ORDER BY subscription_id",
+				Long.class, SEED_USER_ID, SEED_USER_ID + USERS - 1);
+
+		List<Object[]> cycles = new ArrayList<>();
+		List<Object[]> notifications = new ArrayList<>();
+		long cycleId = SEED_CYCLE_ID;
+		for (int s = 0; s < seedSubscriptionIds.size(); s++) {
+			long userId = SEED_USER_ID + s / SUBSCRIPTIONS_PER_USER;
+			int billingDay = 1 + s % 28;
+			for (int offset = -MONTHS_BEFORE; offset < MONTHS_AFTER; offset++) {
+				YearMonth month = YearMonth.from(today).plusMonths(offset);
+				LocalDate dueDate = month.atDay(Math.min(billingDay, month.lengthOfMonth()));
+				String status = !dueDate.isBefore(today) ? "PENDING" : (cycleId % 10 == 0 ? "OVERDUE" : "PAID");
+				cycles.add(new Object[]{cycleId, seedSubscriptionIds.get(s), dueDate, status, 9_900});
+				if (dueDate.isBefore(today)) {
+					notifications.add(new Object[]{userId, cycleId, "D1_REMINDER", true, 0, dueDate.minusDays(1).atTime(9, 0)});
+				} else if (offset == 0) {
+					// 미발송 아웃박스 행 (재시도 한도 도달 → 실제 발송 워커는 건드리지 않음)
+					notifications.add(new Object[]{userId, cycleId, "D3_REMINDER", false, 5, today.minusDays(1).atTime(9, 0)});
+				}
+				cycleId++;
+			}
+		}
+		jdbcTemplate.batchUpdate("INSERT INTO payment_cycles (cycle_id, subscription_id, due_date, status, paid_amount) "
+				+ "VALUES (?, ?, ?, ?, ?)", cycles);
+		jdbcTemplate.batchUpdate("INSERT INTO notifications (user_id, payment_cycle_id, type, message, sent, attempt_count, created_at) "
+				+ "VALUES (?, ?, ?, 'index-usage', ?, ?, ?)", notifications);
+		seedCycleIds = jdbcTemplate.queryForList(
+				"SELECT cycle_id FROM payment_cycles WHERE cycle_id >= ? ORDER BY cycle_id LIMIT 50", Long.class, SEED_CYCLE_ID);
+
+		List<Object[]> insights = new ArrayList<>();
+		List<Object[]> rollups = new ArrayList<>();
+		for (int user = 0; user < USERS; user++) {
+			for (int i = 0; i < 25; i++) {
+				insights.add(new Object[]{SEED_USER_ID + user, LocalDateTime.now().minusDays(i)});
+			}
+			for (int offset = -MONTHS_BEFORE; offset < MONTHS_AFTER; offset++) {
+				YearMonth month = YearMonth.from(today).plusMonths(offset);
+				for (String category : List.of("", "OTT")) {
+					rollups.add(new Object[]{SEED_USER_ID + user, month.getYear(), month.getMonthValue(), category});
+				}
+			}
+		}
+		jdbcTemplate.batchUpdate("INSERT INTO ai_insights (user_id, insight_type, title, created_at) "
+				+ "VALUES (?, 'SPENDING', 'index-usage', ?)", insights);
+		jdbcTemplate.batchUpdate("INSERT INTO monthly_spending_rollup (user_id, year, month, category, cycle_count, "
+				+ "scheduled_amount, spent_amount, paid_amount, paid_count, pending_count, overdue_count, updated_at) "
+				+ "VALUES (?, ?, ?, ?, 5, 49500, 49500, 0, 0, 5, 0, NOW(6))", rollups);
+
+		jdbcTemplate.execute("ANALYZE TABLE users, subscriptions, payment_cycles, notifications, ai_insights, monthly_spending_rollup");
+	}
+
+	@AfterAll
+	void cleanUp() {
+		Long lastUserId = SEED_USER_ID + USERS - 1;
+		jdbcTemplate.update("DELETE FROM notifications WHERE user_id BETWEEN ? AND ?", SEED_USER_ID, lastUserId);
+		jdbcTemplate.update("DELETE FROM payment_cycles WHERE cycle_id >= ?", SEED_CYCLE_ID);
+		jdbcTemplate.update("DELETE FROM subscriptions WHERE user_id BETWEEN ? AND ?", SEED_USER_ID, lastUserId);
+		jdbcTemplate.update("DELETE FROM ai_insights WHERE user_id BETWEEN ? AND ?", SEED_USER_ID, lastUserId);
+		jdbcTemplate.update("DELETE FROM monthly_spending_rollup WHERE user_id BETWEEN ? AND ?", SEED_USER_ID, lastUserId);
+		jdbcTemplate.update("DELETE FROM users WHERE email LIKE 'index-usage-%@payflow.test'");
+	}
+
+	// === PaymentCycleRepository ===
+
+	@Test
+	void findReminderTargetsUsesStatusPartitionDueDateIndex() {
+		Explain explain = explain(() -> paymentCycleRepository.findReminderTargets(
+				today.plusDays(1), today.plusDays(3), PaymentCycle.partitionKeys(0, 16), 0L, PageRequest.of(0, 500)));
+
+		explain.assertKey("payment_cycles", IDX_CYCLE_STATUS_PARTITION_DUE_DATE);
+		explain.assertKey("subscriptions", "PRIMARY");
+		explain.assertKey("users", "PRIMARY");
+	}
+
+	@Test
+	void findPendingIdsDueBeforeUsesStatusPartitionDueDateIndex() {
+		// 시드의 PENDING은 오늘 이후 결제일 → 반년 뒤 기준으로 범위에 행이 있게 조회
+		Explain explain = explain(() -> paymentCycleRepository.findPendingIdsDueBefore(
+				today.plusMonths(6), PaymentCycle.partitionKeys(0, 16), PageRequest.of(0, 500)));
+
+		explain.assertKey("payment_cycles", IDX_CYCLE_STATUS_PARTITION_DUE_DATE);
+	}
+
+	@Test
+	void markOverdueByIdsUsesPrimaryKey() {
+		Explain explain = explain(() -> paymentCycleRepository.markOverdueByIds(seedCycleIds, today, LocalDateTime.now()));
+
+		explain.assertKey("payment_cycles", "PRIMARY");
+	}
+
+	@Test
+	void findIdsByIdInAndStatusUsesPrimaryKey() {
+		Explain explain = explain(() -> paymentCycleRepository.findIdsByIdInAndStatus(seedCycleIds, PaymentStatus.OVERDUE));
+
+		explain.assertKey("payment_cycles", "PRIMARY");
+	}
+
+	@Test
+	void findSubscriptionIdsWithStatusUsesSubscriptionStatusIndex() {
+		Explain explain = explain(() -> paymentCycleRepository.findSubscriptionIdsWithStatus(
+				seedSubscriptionIds.subList(0, 3), PaymentStatus.PENDING));
+
+		explain.assertKey("payment_cycles", IDX_CYCLE_SUBSCRIPTION_STATUS);
+	}
+
+	@Test
+	void findDueDatesFromUsesSubscriptionDueDateUniqueKey() {
+		Explain explain = explain(() -> paymentCycleRepository.findDueDatesFrom(seedSubscriptionIds.subList(0, 3), today));
+
+		explain.assertKey("payment_cycles", UK_CYCLE_SUBSCRIPTION_DUE_DATE);
+	}
+
+	@Test
+	void findLatestDueDatesUsesSubscriptionIndex() {
+		Explain explain = explain(() -> paymentCycleRepository.findLatestDueDates(seedSubscriptionIds.subList(0, 3)));
+
+		explain.assertKey("payment_cycles", UK_CYCLE_SUBSCRIPTION_DUE_DATE, IDX_CYCLE_SUBSCRIPTION_STATUS);
+	}
+
+	@Test
+	void findForUpdateUsesSubscriptionDueDateUniqueKey() {
+		LocalDate dueDate = jdbcTemplate.queryForObject(
+				"SELECT due_date FROM payment_cycles WHERE cycle_id = ?", LocalDate.class, SEED_CYCLE_ID);
+		Explain explain = explain(() -> paymentCycleRepository.findForUpdate(seedSubscriptionIds.get(0), dueDate));
+
+		explain.assertKey("payment_cycles", UK_CYCLE_SUBSCRIPTION_DUE_DATE);
+	}
+
+	@Test
+	void findUpcomingPaymentsStartsFromUserSubscriptions() {
+		Explain explain = explain(() -> paymentCycleRepository.findUpcomingPayments(
+				SEED_USER_ID, today, today.plusDays(30)));
+
+		explain.assertKey("subscriptions", IDX_SUBSCRIPTION_USER_STATUS);
+		explain.assertKey("payment_cycles", UK_CYCLE_SUBSCRIPTION_DUE_DATE, IDX_CYCLE_SUBSCRIPTION_STATUS);
+	}
+
+	@Test
+	void findPaymentHistoryByPeriodStartsFromUserSubscriptions() {
+		Explain explain = explain(() -> paymentCycleRepository.findPaymentHistoryByPeriod(
+				SEED_USER_ID, today.minusMonths(6), today));
+
+		explain.assertKey("subscriptions", IDX_SUBSCRIPTION_USER_STATUS);
+		explain.assertKey("payment_cycles", UK_CYCLE_SUBSCRIPTION_DUE_DATE, IDX_CYCLE_SUBSCRIPTION_STATUS);
+	}
+
+	@Test
+	void findPaymentHistoryDetailsStartsFromUserSubscriptions() {
+		Explain explain = explain(() -> paymentCycleRepository.findPaymentHistoryDetails(
+				SEED_USER_ID, today.minusMonths(6), today));
+
+		explain.assertKey("subscriptions", IDX_SUBSCRIPTION_USER_STATUS);
+		explain.assertKey("payment_cycles", UK_CYCLE_SUBSCRIPTION_DUE_DATE, IDX_CYCLE_SUBSCRIPTION_STATUS);
+	}
+
+	@Test
+	void findPageBySubscriptionUsesSubscriptionDueDateUniqueKey() {
+		Explain explain = explain(() -> paymentCycleRepository.findPageBySubscription(
+				seedSubscriptionIds.get(0), null, PageRequest.of(0, 21)));
+
+		explain.assertKey("payment_cycles", UK_CYCLE_SUBSCRIPTION_DUE_DATE);
+	}
+
+	@Test
+	void findPageBySubscriptionAfterUsesSubscriptionDueDateUniqueKey() {
+		Explain explain = explain(() -> paymentCycleRepository.findPageBySubscriptionAfter(
+				seedSubscriptionIds.get(0), null, today, Long.MAX_VALUE, PageRequest.of(0, 21)));
+
+		explain.assertKey("payment_cycles", UK_CYCLE_SUBSCRIPTION_DUE_DATE);
+	}
+
+	// === NotificationRepository ===
+
+	@Test
+	void findPaymentCycleIdsByTypeUsesPaymentCycleTypeUniqueKey() {
+		Explain explain = explain(() -> notificationRepository.findPaymentCycleIdsByTypeAndPaymentCycleIdIn(
+				NotificationType.D1_REMINDER, seedCycleIds));
+
+		explain.assertKey("notifications", "uk_notifications_payment_cycle_type");
+	}
+
+	@Test
+	void findByPaymentCycleIdAndTypeUsesPaymentCycleTypeUniqueKey() {
+		Explain explain = explain(() -> notificationRepository.findByPaymentCycleIdAndType(
+				seedCycleIds.get(0), NotificationType.D1_REMINDER));
+
+		explain.assertKey("notifications", "uk_notifications_payment_cycle_type");
+	}
+
+	@Test
+	void findOutboxBatchReadsKeysetOrderFromSentUserNotificationIndex() {
+		LocalDateTime now = LocalDateTime.now();
+		Explain explain = explain(() -> notificationRepository.findOutboxBatch(
+				now, 5, now, SEED_USER_ID + USERS / 2, 0L, PageRequest.of(0, 200)));
+
+		explain.assertKey("notifications", "idx_notifications_sent_user_notification");
+		explain.assertNoFilesort();
+	}
+
+	// === SubscriptionRepository / UserRepository ===
+
+	@Test
+	void activeSubscriptionsByUserUseUserStatusIndex() {
+		Explain explain = explain(() -> subscriptionRepository.findByUserIdAndStatus(SEED_USER_ID, Subscription.Status.ACTIVE));
+
+		explain.assertKey("subscriptions", IDX_SUBSCRIPTION_USER_STATUS);
+	}
+
+	@Test
+	void findUserIdsAfterUsesPrimaryKey() {
+		Explain explain = explain(() -> userRepository.findUserIdsAfter(0L, PageRequest.of(0, 200)));
+
+		explain.assertKey("users", "PRIMARY");
+	}
+
+	// === AIInsightRepository ===
+
+	@Test
+	void latestInsightLookupUsesUserCreatedAtIndex() {
+		Explain explain = explain(() -> aiInsightRepository.findTopByUserIdOrderByCreatedAtDesc(SEED_USER_ID));
+
+		explain.assertKey("ai_insights", "idx_ai_insights_user_created_at");
+	}
+
+	@Test
+	void staleInsightScanUsesUserIndexes() {
+		Explain explain = explain(() -> aiInsightRepository.findUserIdsWithStaleInsight(seedUserIds.get(0) - 1, 200));
+
+		explain.assertKey("users", "PRIMARY");
+		explain.assertKey("ai_insights", "idx_ai_insights_user_created_at");
+	}
+
+	// === MonthlySpendingRollupRepository ===
+
+	@Test
+	void monthlySpendingLookupUsesRollupUniqueKey() {
+		YearMonth month = YearMonth.from(today);
+		Explain explain = explain(() -> rollupRepository.findByUserIdAndYearAndMonth(
+				SEED_USER_ID, month.getYear(), month.getMonthValue()));
+
+		explain.assertKey("monthly_spending_rollup", "uk_monthly_spending_rollup_user_month_category");
+	}
+
+	@Test
+	void deleteMonthsUsesRollupUniqueKey() {
+		Explain explain = explain(() -> rollupRepository.deleteMonths(SEED_USER_ID, today.getYear(), 1, today.getYear(), 12));
+
+		explain.assertKey("monthly_spending_rollup", "uk_monthly_spending_rollup_user_month_category");
+	}
+
+	@Test
+	void insertMonthsStartsFromUserSubscriptions() {
+		Explain explain = explain(() -> rollupRepository.insertMonths(
+				SEED_USER_ID, today.minusMonths(3).withDayOfMonth(1), today));
+
+		explain.assertKey("subscriptions", IDX_SUBSCRIPTION_USER_STATUS);
+		explain.assertKey("payment_cycles", UK_CYCLE_SUBSCRIPTION_DUE_DATE, IDX_CYCLE_SUBSCRIPTION_STATUS);
+	}
+
+	@Test
+	void lockUserUsesPrimaryKey() {
+		Explain explain = explain(() -> rollupRepository.lockUser(seedUserIds.get(0)));
+
+		explain.assertKey("users", "PRIMARY");
+	}
+
+	/**
+	 * 롤백 트랜잭션 안에서 리포지토리 메서드를 실행하고, 마지막으로 실행된 SQL을 같은 바인딩 값으로 EXPLAIN
+	 */
+	private Explain explain(Runnable repositoryCall) {
+		return transactionTemplate.execute(status -> {
+			status.setRollbackOnly();
+
+			List<CapturedQuery> queries = new ArrayList<>();
+			capturing.set(queries);
+			try {
+				repositoryCall.run();
+			} finally {
+				capturing.remove();
+			}
+			assertThat(queries).as("실행된 SQL").isNotEmpty();
+
+			CapturedQuery query = queries.get(queries.size() - 1);
+			List<Map<String, Object>> plan = jdbcTemplate.execute((ConnectionCallback<List<Map<String, Object>>>) connection -> {
+				try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + query.sql())) {
+					for (Map.Entry<Integer, Object> parameter : query.parameters().entrySet()) {
+						statement.setObject(parameter.getKey(), parameter.getValue());
+					}
+					List<Map<String, Object>> rows = new ArrayList<>();
+					try (ResultSet resultSet = statement.executeQuery()) {
+						ColumnMapRowMapper mapper = new ColumnMapRowMapper();
+						while (resultSet.next()) {
+							rows.add(mapper.mapRow(resultSet, rows.size()));
+						}
+					}
+					return rows;
+				}
+			});
+			return new Explain(query.sql(), plan, tableAliases(query.sql()));
+		});
+	}
+
+	/**
+	 * FROM/JOIN/UPDATE 뒤의 "테이블 별칭" → 테이블 이름 (EXPLAIN의 table 컬럼은 별칭으로 나옴)
+	 */
+	private static Map<String, String> tableAliases(String sql) {
+		Pattern pattern = Pattern.compile(
+				"(?i)\\b(?:from|join|update)\\s+(\\w+)\\s+(?:as\\s+)?(?!(?:where|set|on|join|inner|left|group|order|limit|for)\\b)(\\w+)");
+		Map<String, String> aliases = new HashMap<>();
+		Matcher matcher = pattern.matcher(sql);
+		while (matcher.find()) {
+			aliases.put(matcher.group(2), matcher.group(1));
+		}
+		return aliases;
+	}
+
+	private record Explain(String sql, List<Map<String, Object>> plan, Map<String, String> aliases) {
+
+		/**
+		 * table의 EXPLAIN 행이 acceptableKeys 중 하나를 key로 사용하는지 (possible_keys가 아니라 실제 선택된 인덱스)
+		 */
+		void assertKey(String table, String... acceptableKeys) {
+			Map<String, Object> row = plan.stream()
+					.filter(r -> table.equals(aliases.getOrDefault(String.valueOf(r.get("table")), String.valueOf(r.get("table")))))
+					.findFirst()
+					.orElseThrow(() -> new AssertionError("EXPLAIN 결과에 테이블이 없습니다: " + table + "\n" + sql + "\n" + plan));
+
+			assertThat(String.valueOf(row.get("key")))
+					.as("EXPLAIN %s\n%s", sql, plan)
+					.isIn((Object[]) acceptableKeys);
+		}
+
+		/**
+		 * ORDER BY를 인덱스 순서로 처리하는지 (Extra에 Using filesort 없음)
+		 */
+		void assertNoFilesort() {
+			assertThat(plan)
+					.as("EXPLAIN %s\n%s", sql, plan)
+					.noneMatch(row -> String.valueOf(row.get("Extra")).contains("Using filesort"));
+		}
+	}
+
+	private record CapturedQuery(String sql, Map<Integer, Object> parameters) {
+	}
+
+	/**
+	 * 테스트 스레드에서 capturing이 켜져 있는 동안 PreparedStatement SQL + 바인딩 값을 기록
+	 */
+	@TestConfiguration
+	static class QueryCaptureConfig {
+
+		@Bean
+		static BeanPostProcessor capturingDataSourcePostProcessor() {
+			return new BeanPostProcessor() {
+				@Override
+				public Object postProcessAfterInitialization(Object bean, String beanName) {
+					return bean instanceof DataSource dataSource && !(bean instanceof CapturingDataSource)
+							? new CapturingDataSource(dataSource)
+							: bean;
+				}
+			};
+		}
+	}
+
+	static class CapturingDataSource extends DelegatingDataSource {
+
+		private static final Set<String> EXECUTE_METHODS = Set.of("executeQuery", "executeUpdate", "execute", "executeLargeUpdate");
+
+		CapturingDataSource(DataSource target) {
+			super(target);
+		}
+
+		@Override
+		public Connection getConnection() throws SQLException {
+			return capture(super.getConnection());
+		}
+
+		@Override
+		public Connection getConnection(String username, String password) throws SQLException {
+			return capture(super.getConnection(username, password));
+		}
+
+		private static Connection capture(Connection connection) {
+			return (Connection) Proxy.newProxyInstance(CapturingDataSource.class.getClassLoader(), new Class<?>[]{Connection.class},
+					(proxy, method, args) -> {
+						Object result = invoke(connection, method, args);
+						if (method.getName().equals("prepareStatement") && capturing.get() != null) {
+							return capture((PreparedStatement) result, (String) args[0]);
+						}
+						return result;
+					});
+		}
+
+		private static PreparedStatement capture(PreparedStatement statement, String sql) {
+			Map<Integer, Object> parameters = new TreeMap<>();
+			return (PreparedStatement) Proxy.newProxyInstance(CapturingDataSource.class.getClassLoader(), new Class<?>[]{PreparedStatement.class},
+					(proxy, method, args) -> {
+						if (method.getName().startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+							parameters.put(index, method.getName().equals("setNull") ? null : args[1]);
+						} else if (EXECUTE_METHODS.contains(method.getName()) && (args == null || args.length == 0)) {
+							List<CapturedQuery> queries = capturing.get();
+							if (queries != null) {
+								queries.add(new CapturedQuery(sql, new TreeMap<>(parameters)));
+							}
+						}
+						return invoke(statement, method, args);
+					});
+		}
+
+		private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+			try {
+				return method.invoke(target, args);
+			} catch (InvocationTargetException e) {
+				throw e.getTargetException();
+			}
+		}
+	}
+}
@@ -0,0 +1,111 @@
+package com.payflow.payflow;
+
+import com.payflow.domain.ai.repository.AIInsightRepository;
+import com.payflow.domain.subscription.dto.SubscriptionCreateRequest;
+import com.payflow.domain.subscription.dto.SubscriptionResponse;
+import com.payflow.domain.subscription.dto.SubscriptionUpdateRequest;
+import com.payflow.domain.subscription.entity.Subscription;
+import com.payflow.domain.subscription.service.SubscriptionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * AI 인사이트 사전 계산 대상 선정 (users.subscriptions_changed_at > 최신 인사이트 시각)
+ * - 구독 물리 삭제, 마지막 구독 삭제, 해지 상태 변경 후에도 대상이 됨
+ * - 최신 인사이트가 마지막 변경보다 뒤면 대상 아님
+ */
+@SpringBootTest
+class StaleInsightSelectionTests {
+
+	private static final String EMAIL = "stale-insight@payflow.test";
+
+	@Autowired
+	private SubscriptionService subscriptionService;
+
+	@Autowired
+	private AIInsightRepository aiInsightRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private Long userId;
+
+	@BeforeEach
+	void setUp() {
+		tearDown();
+		jdbcTemplate.update("INSERT INTO users (email, password, name, created_at) VALUES (?, 'x', 'stale-insight', NOW(6))", EMAIL);
+		userId = jdbcTemplate.queryForObject("SELECT user_id FROM users WHERE email = ?", Long.class, EMAIL);
+	}
+
+	@AfterEach
+	void tearDown() {
+		jdbcTemplate.update("DELETE i FROM ai_insights i JOIN users u ON i.user_id = u.user_id WHERE u.email = ?", EMAIL);
+		jdbcTemplate.update("DELETE n FROM notifications n JOIN users u ON n.user_id = u.user_id WHERE u.email = ?", EMAIL);
+		jdbcTemplate.update("DELETE pc FROM payment_cycles pc JOIN subscriptions s ON pc.subscription_id = s.subscription_id "
+				+ "JOIN users u ON s.user_id = u.user_id WHERE u.email = ?", EMAIL);
+		jdbcTemplate.update("DELETE r FROM monthly_spending_rollup r JOIN users u ON r.user_id = u.user_id WHERE u.email = ?", EMAIL);
+		jdbcTemplate.update("DELETE s FROM subscriptions s JOIN users u ON s.user_id = u.user_id WHERE u.email = ?", EMAIL);
+		jdbcTemplate.update("DELETE FROM users WHERE email = ?", EMAIL);
+	}
+
+	@Test
+	void userWithoutSubscriptionsIsNeverSelected() {
+		assertThat(isStale()).isFalse();
+	}
+
+	@Test
+	void deletingLastSubscriptionMakesInsightStale() {
+		SubscriptionResponse subscription = subscriptionService.createSubscription(userId, netflix());
+		insightCoversChangesUntilNow();
+		assertThat(isStale()).isFalse();
+
+		subscriptionService.deleteSubscription(userId, subscription.getSubscriptionId());
+
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM subscriptions WHERE user_id = ?", Integer.class, userId)).isZero();
+		assertThat(isStale()).isTrue();
+	}
+
+	@Test
+	void cancellingSubscriptionMakesInsightStale() {
+		SubscriptionResponse subscription = subscriptionService.createSubscription(userId, netflix());
+		insightCoversChangesUntilNow();
+
+		subscriptionService.updateSubscription(userId, subscription.getSubscriptionId(),
+				SubscriptionUpdateRequest.builder().status(Subscription.Status.CANCELED).build());
+
+		assertThat(isStale()).isTrue();
+	}
+
+	/**
+	 * 지금까지의 구독 변경을 반영한 인사이트가 있는 상태 (변경 시각은 2분 전, 인사이트는 1분 전)
+	 */
+	private void insightCoversChangesUntilNow() {
+		LocalDateTime now = LocalDateTime.now();
+		jdbcTemplate.update("UPDATE users SET subscriptions_changed_at = ? WHERE user_id = ?", now.minusMinutes(2), userId);
+		jdbcTemplate.update("INSERT INTO ai_insights (user_id, insight_type, title, created_at) VALUES (?, 'SPENDING', 'stale-insight', ?)",
+				userId, now.minusMinutes(1));
+	}
+
+	private boolean isStale() {
+		return aiInsightRepository.findUserIdsWithStaleInsight(userId - 1, 1).contains(userId);
+	}
+
+	private static SubscriptionCreateRequest netflix() {
+		return SubscriptionCreateRequest.builder()
+				.subscriptionsName("넷플릭스")
+				.subscriptionsCategory("OTT")
+				.amount(17_000)
+				.currency("KRW")
+				.cycleType(Subscription.CycleType.MONTHLY)
+				.billingDay(15)
+				.build();
+	}
+}